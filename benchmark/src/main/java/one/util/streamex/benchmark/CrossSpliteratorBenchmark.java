@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import one.util.streamex.IntStreamEx;
+import one.util.streamex.StreamEx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@code cartesianPower} (backed by {@code CrossSpliterator}).
+ * The power of ten digits is selected to produce {@code size} tuples.
+ * 
+ * @author Tagir Valeev
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrossSpliteratorBenchmark {
+    private static final List<Integer> DIGITS = IntStreamEx.range(10).boxed().toList();
+
+    private static int power(SizeState state) {
+        return (int) Math.round(Math.log10(state.size));
+    }
+
+    @Benchmark
+    public long cartesianPower(SizeState state) {
+        StreamEx<List<Integer>> stream = StreamEx.cartesianPower(power(state), DIGITS);
+        return (state.parallel ? stream.parallel() : stream).mapToLong(list -> list.get(0)).sum();
+    }
+
+    @Benchmark
+    public long cartesianPowerReducing(SizeState state) {
+        StreamEx<Integer> stream = StreamEx.cartesianPower(power(state), DIGITS, 0, Integer::sum);
+        return (state.parallel ? stream.parallel() : stream).mapToLong(x -> x).sum();
+    }
+}
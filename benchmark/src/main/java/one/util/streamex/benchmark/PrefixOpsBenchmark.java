@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@code prefix} (backed by {@code PrefixOps}).
+ * 
+ * @author Tagir Valeev
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefixOpsBenchmark {
+    @Benchmark
+    public long prefix(SourceState state) {
+        return state.stream().prefix(Integer::max).mapToLong(x -> x).sum();
+    }
+
+    @Benchmark
+    public long prefixUnordered(SourceState state) {
+        return state.stream().unordered().prefix(Integer::max).mapToLong(x -> x).sum();
+    }
+
+    @Benchmark
+    public long prefixInt(SourceState state) {
+        return state.intStream().prefix(Integer::sum).asLongStream().sum();
+    }
+}
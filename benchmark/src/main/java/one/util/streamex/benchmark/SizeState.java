@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state for the operations which build their own source (like
+ * {@code ofTree} or {@code cartesianPower}): only the number of produced
+ * elements and the parallelism are varied.
+ * 
+ * @author Tagir Valeev
+ */
+@State(Scope.Benchmark)
+public class SizeState {
+    @Param({ "1000", "100000", "1000000" })
+    public int size;
+
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    @Setup
+    public void setup() {
+        // nothing to prepare by default
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.benchmark;
+
+import java.util.stream.IntStream;
+
+import one.util.streamex.IntStreamEx;
+import one.util.streamex.StreamEx;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Common benchmark state: the ascending sequence {@code 0..size-1} exposed
+ * either as a SIZED array-based stream or as an UNSIZED stream (the same
+ * array behind a pass-through filter, so it still splits but reports no exact
+ * size), sequential or parallel.
+ * 
+ * @author Tagir Valeev
+ */
+@State(Scope.Benchmark)
+public class SourceState extends SizeState {
+    public enum Source {
+        SIZED, UNSIZED
+    }
+
+    @Param
+    public Source source;
+
+    Integer[] boxed;
+    int[] ints;
+
+    @Override
+    @Setup
+    public void setup() {
+        ints = IntStream.range(0, size).toArray();
+        boxed = IntStreamEx.of(ints).boxed().toArray(Integer[]::new);
+    }
+
+    StreamEx<Integer> stream() {
+        StreamEx<Integer> stream = StreamEx.of(boxed);
+        if (source == Source.UNSIZED)
+            stream = stream.filter(x -> true);
+        return parallel ? stream.parallel() : stream;
+    }
+
+    IntStreamEx intStream() {
+        IntStreamEx stream = IntStreamEx.of(ints);
+        if (source == Source.UNSIZED)
+            stream = stream.filter(x -> true);
+        return parallel ? stream.parallel() : stream;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@code takeWhile}/{@code dropWhile} family (backed by
+ * {@code TakeDrop} on Java 8; {@code takeWhileInclusive} always uses it). The
+ * predicates cut the source in the middle.
+ * 
+ * @author Tagir Valeev
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TakeDropBenchmark {
+    @Benchmark
+    public long takeWhile(SourceState state) {
+        int limit = state.size / 2;
+        return state.stream().takeWhile(x -> x < limit).mapToLong(x -> x).sum();
+    }
+
+    @Benchmark
+    public long takeWhileInclusive(SourceState state) {
+        int limit = state.size / 2;
+        return state.stream().takeWhileInclusive(x -> x < limit).mapToLong(x -> x).sum();
+    }
+
+    @Benchmark
+    public long dropWhile(SourceState state) {
+        int limit = state.size / 2;
+        return state.stream().dropWhile(x -> x < limit).mapToLong(x -> x).sum();
+    }
+
+    @Benchmark
+    public long takeWhileInclusiveInt(SourceState state) {
+        int limit = state.size / 2;
+        return state.intStream().takeWhileInclusive(x -> x < limit).asLongStream().sum();
+    }
+}
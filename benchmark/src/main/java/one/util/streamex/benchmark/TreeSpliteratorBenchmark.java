@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import one.util.streamex.EntryStream;
+import one.util.streamex.StreamEx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@code ofTree} (backed by {@code TreeSpliterator}) over the
+ * complete binary tree of {@code size} nodes where node {@code i} has children
+ * {@code 2i+1} and {@code 2i+2}.
+ * 
+ * @author Tagir Valeev
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeSpliteratorBenchmark {
+    private static Stream<Integer> children(int i, int size) {
+        int left = i * 2 + 1;
+        return left >= size ? null : left + 1 >= size ? Stream.of(left) : Stream.of(left, left + 1);
+    }
+
+    @Benchmark
+    public long ofTree(SizeState state) {
+        int size = state.size;
+        StreamEx<Integer> stream = StreamEx.ofTree(0, i -> children(i, size));
+        return (state.parallel ? stream.parallel() : stream).mapToLong(x -> x).sum();
+    }
+
+    @Benchmark
+    public long ofTreeDepth(SizeState state) {
+        int size = state.size;
+        EntryStream<Integer, Integer> stream = EntryStream.ofTree(0, (depth, i) -> children(i, size));
+        return (state.parallel ? stream.parallel() : stream).mapKeyValue(Integer::sum).mapToLong(x -> x).sum();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import one.util.streamex.IntStreamEx;
+import one.util.streamex.StreamEx;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for iterator-based sources (backed by
+ * {@code UnknownSizeSpliterator}). Iterators never report their size, so the
+ * JDK {@code Spliterators.spliteratorUnknownSize} is measured alongside as a
+ * baseline instead of the SIZED/UNSIZED variation.
+ * 
+ * @author Tagir Valeev
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnknownSizeSpliteratorBenchmark {
+    @State(Scope.Benchmark)
+    public static class IteratorState extends SizeState {
+        List<Integer> list;
+        int[] ints;
+
+        @Override
+        @Setup
+        public void setup() {
+            ints = IntStream.range(0, size).toArray();
+            list = Arrays.asList(IntStreamEx.of(ints).boxed().toArray(Integer[]::new));
+        }
+    }
+
+    @Benchmark
+    public long ofIterator(IteratorState state) {
+        StreamEx<Integer> stream = StreamEx.of(state.list.iterator());
+        return (state.parallel ? stream.parallel() : stream).mapToLong(x -> x).sum();
+    }
+
+    @Benchmark
+    public long ofIteratorInt(IteratorState state) {
+        IntStreamEx stream = IntStreamEx.of(Arrays.stream(state.ints).iterator());
+        return (state.parallel ? stream.parallel() : stream).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long jdkIterator(IteratorState state) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(state.list.iterator(), 0), state.parallel)
+                .mapToLong(x -> x).sum();
+    }
+}
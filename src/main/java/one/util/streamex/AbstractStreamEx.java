@@ -290,6 +290,29 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
         return supply(stream().peek(action));
     }
 
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * recording the statistics of the elements passing this point of the
+     * pipeline into the new {@link PipelineMetrics.Stage} registered in the
+     * supplied {@code PipelineMetrics}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation. The stage records the number of elements, the time spent by
+     * the upstream operations to produce them, the number of splits performed
+     * at this point during the parallel processing and the number of elements
+     * processed by every thread. Instrument several points of the pipeline to
+     * find out which operations between them take the most time.
+     *
+     * @param metrics the metrics object to register the stage in
+     * @param stageName the name of the stage to use in the report
+     * @return the new stream
+     * @since 0.6.8
+     */
+    public S instrument(PipelineMetrics metrics, String stageName) {
+        return supply(new InstrumentedSpliterator.OfRef<>(spliterator(), metrics.stage(stageName)));
+    }
+
     @Override
     public S limit(long maxSize) {
         return supply(stream().limit(maxSize));
@@ -1808,6 +1831,44 @@ public abstract class AbstractStreamEx<T, S extends AbstractStreamEx<T, S>> exte
                 : new PrefixOps.OfUnordRef<T>(spltr, op));
     }
 
+    /**
+     * Returns a stream containing cumulative results of applying the
+     * accumulation function going left to right, computing them in parallel
+     * for the parallel stream.
+     *
+     * <p>
+     * This is a stateful <a
+     * href="package-summary.html#StreamOps">quasi-intermediate</a> operation.
+     *
+     * <p>
+     * Unlike {@link #prefix(BinaryOperator)}, for the parallel stream with an
+     * ordered source of known size all the elements are buffered into an array
+     * when the terminal operation starts, then the prefix is computed by {@link
+     * java.util.Arrays#parallelPrefix(Object[], BinaryOperator)}. Thus the
+     * whole source is consumed and the memory proportional to its size is
+     * allocated even if the terminal operation is short-circuiting. Use this
+     * method only if all the resulting elements are consumed, like {@code
+     * StreamEx.of(list).parallel().parallelPrefix(BigInteger::add).toList()}.
+     * For the sequential stream or the source of unknown size this method
+     * behaves like {@code prefix(op)}.
+     *
+     * @param op an <a
+     *        href="package-summary.html#Associativity">associative</a>, <a
+     *        href="package-summary.html#NonInterference">non-interfering </a>,
+     *        <a href="package-summary.html#Statelessness">stateless</a>
+     *        function for computing the next element based on the previous one
+     * @return the new stream.
+     * @see #prefix(BinaryOperator)
+     * @since 0.6.8
+     */
+    public S parallelPrefix(BinaryOperator<T> op) {
+        Spliterator<T> spltr = spliterator();
+        if (isParallel() && PrefixOps.isParallelizable(spltr))
+            return supply(PrefixOps.parallel(spltr, op));
+        return supply(spltr.hasCharacteristics(Spliterator.ORDERED) ? new PrefixOps.OfRef<>(spltr, op)
+                : new PrefixOps.OfUnordRef<T>(spltr, op));
+    }
+
     // Necessary to generate proper JavaDoc
     @SuppressWarnings("unchecked")
     @Override
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * A spliterator which groups the source elements into chunks of fixed size
+ * (the last chunk may be shorter).
+ *
+ * <p>
+ * When the source is {@code SUBSIZED}, the source is split wherever it likes
+ * and then the prefix is completed up to the chunk boundary with the first
+ * elements of the suffix, which are moved into the prefix tail buffer. Thus
+ * at most {@code size - 1} elements are buffered per split and the chunks are
+ * the same as in sequential traversal. Other sources are split by reading a
+ * batch of chunks into an array, like {@link Spliterators#spliterator(java.util.Iterator, long, int)}
+ * does.
+ *
+ * @author Tagir Valeev
+ */
+/* package */abstract class ChunkedSpliterator<S extends Spliterator<?>, C> implements Spliterator<C> {
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
+    final int size;
+    S source;
+    private int batch;
+
+    ChunkedSpliterator(S source, int size) {
+        this.source = source;
+        this.size = size;
+    }
+
+    /**
+     * @return the next chunk or null if no elements left
+     */
+    abstract C nextChunk();
+
+    abstract ChunkedSpliterator<S, C> create(S prefixSource);
+
+    /**
+     * Moves up to {@code count} next elements of this spliterator into the
+     * tail of the given spliterator.
+     */
+    abstract void transfer(ChunkedSpliterator<S, C> prefix, int count);
+
+    abstract int tailSize();
+
+    /**
+     * @return initial capacity for the next chunk buffer
+     */
+    int chunkCapacity() {
+        long remaining = source.getExactSizeIfKnown();
+        int capacity = remaining >= 0 ? (int) Math.min(size, remaining + tailSize()) : Math.min(size, BATCH_UNIT);
+        return Math.max(1, capacity);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super C> action) {
+        C chunk = nextChunk();
+        if (chunk == null)
+            return false;
+        action.accept(chunk);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Spliterator<C> trySplit() {
+        if (source.hasCharacteristics(SUBSIZED)) {
+            S prefixSource = (S) source.trySplit();
+            if (prefixSource == null)
+                return null;
+            ChunkedSpliterator<S, C> prefix = create(prefixSource);
+            int rem = (int) (prefixSource.getExactSizeIfKnown() % size);
+            if (rem != 0)
+                transfer(prefix, size - rem);
+            return prefix;
+        }
+        int n = Math.min(MAX_BATCH, batch + Math.max(1, BATCH_UNIT / size));
+        Object[] chunks = new Object[n];
+        int count = 0;
+        for (C chunk = nextChunk(); chunk != null; chunk = count < n ? nextChunk() : null) {
+            chunks[count++] = chunk;
+        }
+        if (count == 0)
+            return null;
+        batch = count;
+        return Spliterators.spliterator(chunks, 0, count, characteristics() & ORDERED | NONNULL);
+    }
+
+    @Override
+    public long estimateSize() {
+        long elements = source.estimateSize();
+        if (elements == Long.MAX_VALUE)
+            return elements;
+        elements += tailSize();
+        return elements / size + (elements % size == 0 ? 0 : 1);
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & (ORDERED | SIZED | SUBSIZED) | NONNULL;
+    }
+
+    static final class OfRef<T> extends ChunkedSpliterator<Spliterator<T>, List<T>> implements Consumer<T> {
+        private List<T> tail;
+        private int tailPos;
+        private List<T> target;
+
+        OfRef(Spliterator<T> source, int size) {
+            super(source, size);
+        }
+
+        @Override
+        public void accept(T t) {
+            target.add(t);
+        }
+
+        private void drain(List<T> target, int count) {
+            this.target = target;
+            int limit = target.size() + count;
+            while (target.size() < limit && source.tryAdvance(this)) {
+                // continue
+            }
+            this.target = null;
+            if (tail != null) {
+                while (target.size() < limit && tailPos < tail.size())
+                    target.add(tail.get(tailPos++));
+            }
+        }
+
+        @Override
+        List<T> nextChunk() {
+            List<T> chunk = new ArrayList<>(chunkCapacity());
+            drain(chunk, size);
+            return chunk.isEmpty() ? null : chunk;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super List<T>> action) {
+            if (tail == null) {
+                // the source may report zero size once its bulk traversal
+                // starts, so the capacity is computed only once
+                int capacity = chunkCapacity();
+                target = new ArrayList<>(capacity);
+                source.forEachRemaining(t -> {
+                    target.add(t);
+                    if (target.size() == size) {
+                        action.accept(target);
+                        target = new ArrayList<>(capacity);
+                    }
+                });
+                List<T> last = target;
+                target = null;
+                if (!last.isEmpty())
+                    action.accept(last);
+            } else {
+                super.forEachRemaining(action);
+            }
+        }
+
+        @Override
+        ChunkedSpliterator<Spliterator<T>, List<T>> create(Spliterator<T> prefixSource) {
+            return new OfRef<>(prefixSource, size);
+        }
+
+        @Override
+        void transfer(ChunkedSpliterator<Spliterator<T>, List<T>> prefix, int count) {
+            OfRef<T> other = (OfRef<T>) prefix;
+            other.tail = new ArrayList<>(Math.min(count, BATCH_UNIT));
+            drain(other.tail, count);
+        }
+
+        @Override
+        int tailSize() {
+            return tail == null ? 0 : tail.size() - tailPos;
+        }
+    }
+
+    static final class OfInt extends ChunkedSpliterator<Spliterator.OfInt, int[]> implements IntConsumer {
+        private IntBuffer tail;
+        private int tailPos;
+        private IntBuffer target;
+
+        OfInt(Spliterator.OfInt source, int size) {
+            super(source, size);
+        }
+
+        @Override
+        public void accept(int t) {
+            target.add(t);
+        }
+
+        private void drain(IntBuffer target, int count) {
+            this.target = target;
+            int limit = target.size + count;
+            while (target.size < limit && source.tryAdvance(this)) {
+                // continue
+            }
+            this.target = null;
+            if (tail != null) {
+                while (target.size < limit && tailPos < tail.size)
+                    target.add(tail.data[tailPos++]);
+            }
+        }
+
+        @Override
+        int[] nextChunk() {
+            IntBuffer chunk = new IntBuffer(chunkCapacity());
+            drain(chunk, size);
+            return chunk.size == 0 ? null : chunk.toArray();
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super int[]> action) {
+            if (tail == null) {
+                int capacity = chunkCapacity();
+                target = new IntBuffer(capacity);
+                source.forEachRemaining((int t) -> {
+                    target.add(t);
+                    if (target.size == size) {
+                        action.accept(target.toArray());
+                        target = new IntBuffer(capacity);
+                    }
+                });
+                IntBuffer last = target;
+                target = null;
+                if (last.size > 0)
+                    action.accept(last.toArray());
+            } else {
+                super.forEachRemaining(action);
+            }
+        }
+
+        @Override
+        ChunkedSpliterator<Spliterator.OfInt, int[]> create(Spliterator.OfInt prefixSource) {
+            return new OfInt(prefixSource, size);
+        }
+
+        @Override
+        void transfer(ChunkedSpliterator<Spliterator.OfInt, int[]> prefix, int count) {
+            IntBuffer buf = new IntBuffer(Math.max(1, Math.min(count, BATCH_UNIT)));
+            drain(buf, count);
+            ((OfInt) prefix).tail = buf;
+        }
+
+        @Override
+        int tailSize() {
+            return tail == null ? 0 : tail.size - tailPos;
+        }
+    }
+
+    static final class OfLong extends ChunkedSpliterator<Spliterator.OfLong, long[]> implements LongConsumer {
+        private LongBuffer tail;
+        private int tailPos;
+        private LongBuffer target;
+
+        OfLong(Spliterator.OfLong source, int size) {
+            super(source, size);
+        }
+
+        @Override
+        public void accept(long t) {
+            target.add(t);
+        }
+
+        private void drain(LongBuffer target, int count) {
+            this.target = target;
+            int limit = target.size + count;
+            while (target.size < limit && source.tryAdvance(this)) {
+                // continue
+            }
+            this.target = null;
+            if (tail != null) {
+                while (target.size < limit && tailPos < tail.size)
+                    target.add(tail.data[tailPos++]);
+            }
+        }
+
+        @Override
+        long[] nextChunk() {
+            LongBuffer chunk = new LongBuffer(chunkCapacity());
+            drain(chunk, size);
+            return chunk.size == 0 ? null : chunk.toArray();
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super long[]> action) {
+            if (tail == null) {
+                int capacity = chunkCapacity();
+                target = new LongBuffer(capacity);
+                source.forEachRemaining((long t) -> {
+                    target.add(t);
+                    if (target.size == size) {
+                        action.accept(target.toArray());
+                        target = new LongBuffer(capacity);
+                    }
+                });
+                LongBuffer last = target;
+                target = null;
+                if (last.size > 0)
+                    action.accept(last.toArray());
+            } else {
+                super.forEachRemaining(action);
+            }
+        }
+
+        @Override
+        ChunkedSpliterator<Spliterator.OfLong, long[]> create(Spliterator.OfLong prefixSource) {
+            return new OfLong(prefixSource, size);
+        }
+
+        @Override
+        void transfer(ChunkedSpliterator<Spliterator.OfLong, long[]> prefix, int count) {
+            LongBuffer buf = new LongBuffer(Math.max(1, Math.min(count, BATCH_UNIT)));
+            drain(buf, count);
+            ((OfLong) prefix).tail = buf;
+        }
+
+        @Override
+        int tailSize() {
+            return tail == null ? 0 : tail.size - tailPos;
+        }
+    }
+
+    static final class OfDouble extends ChunkedSpliterator<Spliterator.OfDouble, double[]> implements DoubleConsumer {
+        private DoubleBuffer tail;
+        private int tailPos;
+        private DoubleBuffer target;
+
+        OfDouble(Spliterator.OfDouble source, int size) {
+            super(source, size);
+        }
+
+        @Override
+        public void accept(double t) {
+            target.add(t);
+        }
+
+        private void drain(DoubleBuffer target, int count) {
+            this.target = target;
+            int limit = target.size + count;
+            while (target.size < limit && source.tryAdvance(this)) {
+                // continue
+            }
+            this.target = null;
+            if (tail != null) {
+                while (target.size < limit && tailPos < tail.size)
+                    target.add(tail.data[tailPos++]);
+            }
+        }
+
+        @Override
+        double[] nextChunk() {
+            DoubleBuffer chunk = new DoubleBuffer(chunkCapacity());
+            drain(chunk, size);
+            return chunk.size == 0 ? null : chunk.toArray();
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super double[]> action) {
+            if (tail == null) {
+                int capacity = chunkCapacity();
+                target = new DoubleBuffer(capacity);
+                source.forEachRemaining((double t) -> {
+                    target.add(t);
+                    if (target.size == size) {
+                        action.accept(target.toArray());
+                        target = new DoubleBuffer(capacity);
+                    }
+                });
+                DoubleBuffer last = target;
+                target = null;
+                if (last.size > 0)
+                    action.accept(last.toArray());
+            } else {
+                super.forEachRemaining(action);
+            }
+        }
+
+        @Override
+        ChunkedSpliterator<Spliterator.OfDouble, double[]> create(Spliterator.OfDouble prefixSource) {
+            return new OfDouble(prefixSource, size);
+        }
+
+        @Override
+        void transfer(ChunkedSpliterator<Spliterator.OfDouble, double[]> prefix, int count) {
+            DoubleBuffer buf = new DoubleBuffer(Math.max(1, Math.min(count, BATCH_UNIT)));
+            drain(buf, count);
+            ((OfDouble) prefix).tail = buf;
+        }
+
+        @Override
+        int tailSize() {
+            return tail == null ? 0 : tail.size - tailPos;
+        }
+    }
+}
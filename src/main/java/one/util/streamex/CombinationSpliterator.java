@@ -16,6 +16,7 @@
 
 package one.util.streamex;
 
+import java.math.BigInteger;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
@@ -24,19 +25,72 @@ import java.util.function.Consumer;
     private int[] value;
     private final long fence;
     private final int n;
+    private final boolean reuse;
+    // for the window spliterator: the rank of the combination at position 0, null otherwise
+    private final BigInteger end;
 
     public CombinationSpliterator(int n, long pos, long fence, int[] value) {
+        this(n, pos, fence, value, false);
+    }
+
+    /**
+     * @param reuse if true, the same array is passed to the action every time
+     *        (a separate array per split)
+     */
+    public CombinationSpliterator(int n, long pos, long fence, int[] value, boolean reuse) {
+        this(n, pos, fence, value, reuse, null);
+    }
+
+    private CombinationSpliterator(int n, long pos, long fence, int[] value, boolean reuse, BigInteger end) {
         this.n = n;
         this.pos = pos;
         this.fence = fence;
         this.value = value;
+        this.reuse = reuse;
+        this.end = end;
+    }
+
+    /**
+     * @param n number of possible distinct elements, non-negative
+     * @param k number of elements in each combination, non-negative
+     * @param reuse whether to pass the same array to the action every time
+     * @return the spliterator of all the combinations
+     */
+    static CombinationSpliterator of(int n, int k, boolean reuse) {
+        if (k > n) // no combinations: do not allocate possibly huge array
+            return new CombinationSpliterator(n, 0, 0, new int[0], reuse);
+        long size = cnk(n, k);
+        int[] value = new int[k];
+        for (int i = 0; i < k; i++) {
+            value[i] = i;
+        }
+        return new CombinationSpliterator(n, size, 0, value, reuse);
+    }
+
+    /**
+     * @param n number of possible distinct elements, non-negative
+     * @param k number of elements in each combination, non-negative
+     * @param start the rank of the first combination, non-negative
+     * @param count the maximal number of combinations, non-negative
+     * @param reuse whether to pass the same array to the action every time
+     * @return the spliterator of the window of combinations
+     */
+    static CombinationSpliterator of(int n, int k, BigInteger start, long count, boolean reuse) {
+        BigInteger rest = binomial(n, k).subtract(start);
+        if (rest.signum() < 0)
+            rest = BigInteger.ZERO;
+        if (rest.compareTo(BigInteger.valueOf(count)) < 0)
+            count = rest.longValue();
+        int[] value = count == 0 ? new int[0] : unrank(n, k, start);
+        // the element at position p has rank end - p
+        return new CombinationSpliterator(n, count, 0, value, reuse, start.add(BigInteger.valueOf(count)));
     }
     @Override
     public void forEachRemaining(Consumer<? super int[]> action) {
         long rest = pos - fence;
         pos = fence;
         while (rest > 0) {
-            action.accept(value.clone());
+            action.accept(reuse ? value : value.clone());
             if (--rest > 0) {
                 step(value, n);
             }
@@ -48,8 +102,9 @@ import java.util.function.Consumer;
         if (pos - fence < 2) return null;
         long newPos = (fence + pos) >>> 1;
 
-        CombinationSpliterator result = new CombinationSpliterator(n, pos, newPos, value);
-        value = jump(newPos - 1, value.length, n);
+        CombinationSpliterator result = new CombinationSpliterator(n, pos, newPos, value, reuse, end);
+        value = end == null ? jump(newPos - 1, value.length, n) : unrank(n, value.length, end.subtract(BigInteger
+                .valueOf(newPos)));
         pos = newPos;
         return result;
     }
@@ -61,7 +116,8 @@ import java.util.function.Consumer;
 
     @Override
     public int characteristics() {
-        return DISTINCT | IMMUTABLE | NONNULL | ORDERED | SIZED | SUBSIZED;
+        return reuse ? NONNULL | ORDERED | SIZED | SUBSIZED : DISTINCT | IMMUTABLE | NONNULL | ORDERED | SIZED
+            | SUBSIZED;
     }
 
     static void step(int[] value, int n) {
@@ -94,6 +150,46 @@ import java.util.function.Consumer;
     }
 
 
+    /**
+     * @param n number of possible distinct elements
+     * @param k number of elements in each combination
+     * @param rank the rank of the combination, between 0 (inclusive) and
+     *        {@code CNK(n, k)} (exclusive)
+     * @return the combination having given rank in lexicographic order
+     */
+    static int[] unrank(int n, int k, BigInteger rank) {
+        int[] result = new int[k];
+        int v = 0;
+        for (int i = 0; i < k; i++) {
+            // number of combinations starting with v
+            BigInteger c = binomial(n - v - 1, k - i - 1);
+            while (rank.compareTo(c) >= 0) {
+                rank = rank.subtract(c);
+                // CNK(m-1, r) = CNK(m, r) * (m - r) / m
+                c = c.multiply(BigInteger.valueOf(n - v - 1 - (k - i - 1))).divide(BigInteger.valueOf(n - v - 1));
+                v++;
+            }
+            result[i] = v++;
+        }
+        return result;
+    }
+
+    /**
+     * @param n n >= 0
+     * @param k k >= 0
+     * @return CNK(n, k) or zero if k > n
+     */
+    static BigInteger binomial(int n, int k) {
+        if (k > n)
+            return BigInteger.ZERO;
+        k = Math.min(k, n - k);
+        BigInteger result = BigInteger.ONE;
+        for (int i = 1; i <= k; i++) {
+            result = result.multiply(BigInteger.valueOf(n - k + i)).divide(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
     static long gcd(long a, long b) {
         while (b != 0) {
             long t = a % b;
@@ -131,7 +227,7 @@ import java.util.function.Consumer;
         if (pos <= fence) {
             return false;
         }
-        action.accept(value.clone());
+        action.accept(reuse ? value : value.clone());
         if (--pos > fence) {
             step(value, n);
         }
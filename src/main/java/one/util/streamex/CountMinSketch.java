@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Objects;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * An immutable Count-Min sketch (Cormode, Muthukrishnan, 2005): a compact
+ * summary of a stream which estimates the number of occurrences of any
+ * element using the fixed amount of memory regardless of the number of
+ * distinct elements. The estimated count is never less than the actual one
+ * and with probability at least {@code 1-delta} exceeds it by no more than
+ * {@code epsilon*N}, where N is the total number of elements.
+ * 
+ * <p>
+ * The sketch is created by {@link MoreCollectors#countMinSketch(double, double)}
+ * collector. The elements are hashed using their {@link Object#hashCode()}, so
+ * the elements having equal hash codes are indistinguishable by the sketch.
+ * 
+ * <pre>{@code
+ * CountMinSketch<String> sketch = StreamEx.of(terms).collect(
+ *     MoreCollectors.countMinSketch(0.0001, 0.01));
+ * long count = sketch.estimateCount("java");
+ * }</pre>
+ * 
+ * @param <T> the type of the counted elements
+ * @author Tagir Valeev
+ * @since 0.6.8
+ */
+public final class CountMinSketch<T> {
+    private final int width;
+    private final int depth;
+    // depth rows of width counters followed by the total count
+    private final long[] table;
+
+    private CountMinSketch(int width, int depth, long[] table) {
+        this.width = width;
+        this.depth = depth;
+        this.table = table;
+    }
+
+    static <T> PartialCollector<long[], CountMinSketch<T>> partialCollector(int width, int depth) {
+        int size = width * depth + 1;
+        return new PartialCollector<>(() -> new long[size], (t1, t2) -> {
+            for (int i = 0; i < size; i++) {
+                t1[i] += t2[i];
+            }
+        }, t -> new CountMinSketch<>(width, depth, t), UNORDERED_CHARACTERISTICS);
+    }
+
+    static int width(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1))
+            throw new IllegalArgumentException("epsilon must be between 0 and 1 exclusive: " + epsilon);
+        return (int) Math.ceil(Math.E / epsilon);
+    }
+
+    static int depth(double delta) {
+        if (!(delta > 0 && delta < 1))
+            throw new IllegalArgumentException("delta must be between 0 and 1 exclusive: " + delta);
+        return (int) Math.ceil(Math.log(1 / delta));
+    }
+
+    static void checkSize(int width, int depth) {
+        if ((long) width * depth >= Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Sketch is too big: " + width + "x" + depth);
+    }
+
+    private static long hash(Object t) {
+        // spread the hash code to 64 bits; the halves are used for double
+        // hashing
+        long h = Objects.hashCode(t) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static int index(long hash, int row, int width) {
+        int h1 = (int) hash, h2 = (int) (hash >>> 32) | 1;
+        return row * width + ((h1 + row * h2) & Integer.MAX_VALUE) % width;
+    }
+
+    static void add(long[] table, int width, int depth, Object t) {
+        long hash = hash(t);
+        for (int row = 0; row < depth; row++) {
+            table[index(hash, row, width)]++;
+        }
+        table[table.length - 1]++;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the specified element.
+     * The estimation is never less than the actual count.
+     * 
+     * @param element the element to estimate the count of (may be null)
+     * @return the estimated count
+     */
+    public long estimateCount(T element) {
+        long hash = hash(element);
+        long result = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            result = Math.min(result, table[index(hash, row, width)]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total number of elements added to this sketch.
+     * 
+     * @return the total count
+     */
+    public long totalCount() {
+        return table[table.length - 1];
+    }
+
+    /**
+     * Returns the number of counters in every row of this sketch.
+     * 
+     * @return the sketch width
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Returns the number of rows (hash functions) of this sketch.
+     * 
+     * @return the sketch depth
+     */
+    public int depth() {
+        return depth;
+    }
+
+    @Override
+    public String toString() {
+        return "CountMinSketch{width=" + width + ", depth=" + depth + ", total=" + totalCount() + "}";
+    }
+}
@@ -20,44 +20,67 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import static one.util.streamex.StreamExInternals.*;
 
+/**
+ * Emits the elements which appear at least {@code atLeast} times in the source
+ * (the moment the count reaches {@code atLeast}).
+ * 
+ * <p>
+ * Until the first split the counts are stored in a plain {@code HashMap} as
+ * mutable {@code long[]} cells. After the split they are moved to the shared
+ * concurrent map of {@code AtomicLong} cells, so no boxing occurs per
+ * increment. Counting for the key stops once the threshold is reached, thus
+ * frequent keys become read-only and don't cause the contention.
+ * 
+ * @author Tagir Valeev
+ *
+ * @param <T> type of the elements
+ */
 /* package */final class DistinctSpliterator<T> extends Box<T> implements Spliterator<T> {
     private final Spliterator<T> source;
-    private AtomicLong nullCounter;
-    private Map<T, Long> counts;
     private final long atLeast;
+    private Map<T, long[]> counts;
+    private AtomicLong nullCounter;
+    private ConcurrentMap<T, AtomicLong> concurrentCounts;
 
-    DistinctSpliterator(Spliterator<T> source, long atLeast, AtomicLong nullCounter, Map<T, Long> counts) {
+    private DistinctSpliterator(Spliterator<T> source, long atLeast, AtomicLong nullCounter,
+            ConcurrentMap<T, AtomicLong> concurrentCounts) {
         this.source = source;
         this.atLeast = atLeast;
         this.nullCounter = nullCounter;
-        this.counts = counts;
+        this.concurrentCounts = concurrentCounts;
     }
 
     DistinctSpliterator(Spliterator<T> source, long atLeast) {
-        this(source, atLeast, null, new HashMap<>());
+        this.source = source;
+        this.atLeast = atLeast;
+        this.counts = new HashMap<>();
+    }
+
+    private boolean count(T t) {
+        if (concurrentCounts == null) {
+            long[] counter = counts.computeIfAbsent(t, k -> new long[1]);
+            return counter[0] < atLeast && ++counter[0] == atLeast;
+        }
+        AtomicLong counter = t == null ? nullCounter : concurrentCounts.get(t);
+        if (counter == null) {
+            // get() first as computeIfAbsent locks the bin even if the key exists
+            counter = concurrentCounts.computeIfAbsent(t, k -> new AtomicLong());
+        }
+        return counter.get() < atLeast && counter.incrementAndGet() == atLeast;
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super T> action) {
-        if (nullCounter == null) {
-            while (source.tryAdvance(this)) {
-                if (counts.merge(a, 1L, Long::sum) == atLeast) {
-                    action.accept(a);
-                    return true;
-                }
-            }
-        } else {
-            while (source.tryAdvance(this)) {
-                long count = a == null ? nullCounter.incrementAndGet() : counts.merge(a, 1L, Long::sum);
-                if (count == atLeast) {
-                    action.accept(a);
-                    return true;
-                }
+        while (source.tryAdvance(this)) {
+            if (count(a)) {
+                action.accept(a);
+                return true;
             }
         }
         return false;
@@ -65,20 +88,11 @@ import static one.util.streamex.StreamExInternals.*;
 
     @Override
     public void forEachRemaining(Consumer<? super T> action) {
-        if (nullCounter == null) {
-            source.forEachRemaining(e -> {
-                if (counts.merge(e, 1L, Long::sum) == atLeast) {
-                    action.accept(e);
-                }
-            });
-        } else {
-            source.forEachRemaining(e -> {
-                long count = e == null ? nullCounter.incrementAndGet() : counts.merge(e, 1L, Long::sum);
-                if (count == atLeast) {
-                    action.accept(e);
-                }
-            });
-        }
+        source.forEachRemaining(e -> {
+            if (count(e)) {
+                action.accept(e);
+            }
+        });
     }
 
     @Override
@@ -86,14 +100,14 @@ import static one.util.streamex.StreamExInternals.*;
         Spliterator<T> split = source.trySplit();
         if (split == null)
             return null;
-        if (counts.getClass() == HashMap.class) {
-            if (!source.hasCharacteristics(NONNULL)) {
-                Long current = counts.remove(null);
-                nullCounter = new AtomicLong(current == null ? 0 : current);
-            }
-            counts = new ConcurrentHashMap<>(counts);
+        if (concurrentCounts == null) {
+            long[] nullCount = counts.remove(null);
+            nullCounter = new AtomicLong(nullCount == null ? 0 : nullCount[0]);
+            concurrentCounts = new ConcurrentHashMap<>(Math.max(16, counts.size() * 2));
+            counts.forEach((k, v) -> concurrentCounts.put(k, new AtomicLong(v[0])));
+            counts = null;
         }
-        return new DistinctSpliterator<>(split, atLeast, nullCounter, counts);
+        return new DistinctSpliterator<>(split, atLeast, nullCounter, concurrentCounts);
     }
 
     @Override
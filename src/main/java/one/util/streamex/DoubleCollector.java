@@ -234,6 +234,173 @@ public interface DoubleCollector<A, R> extends MergingCollector<Double, A, R> {
         return reducing(Double::max);
     }
 
+    /**
+     * Returns a {@code DoubleCollector} which collects at most specified number
+     * of the least input elements according to the order of
+     * {@link Double#compare(double, double)} into the sorted array (least element is
+     * the first).
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted().limit(n).toArray()}, but usually performed much
+     * faster and with O(n) memory if {@code n} is much less than the stream
+     * size. The elements are not boxed.
+     *
+     * @param n maximum number of stream elements to preserve
+     * @return a {@code DoubleCollector} which produces an array containing the
+     *         least n input elements or less if the input was shorter
+     * @see #greatest(int)
+     * @see #leastIndices(int)
+     * @see MoreCollectors#least(int)
+     * @since 0.6.8
+     */
+    static DoubleCollector<?, double[]> least(int n) {
+        return PrimitiveLimiter.partialCollector(n, false, l -> l.toDoubleArray(false))
+                .asDouble((l, v) -> l.add(PrimitiveLimiter.doubleKey(v)));
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} which collects at most specified number
+     * of the greatest input elements according to the order of
+     * {@link Double#compare(double, double)} into the array sorted in reverse order
+     * (greatest element is the first).
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted().limit(n).toArray()} applied to the reversed
+     * order, but usually performed much faster and with O(n) memory if
+     * {@code n} is much less than the stream size. The elements are not
+     * boxed.
+     *
+     * @param n maximum number of stream elements to preserve
+     * @return a {@code DoubleCollector} which produces an array containing the
+     *         greatest n input elements or less if the input was shorter
+     * @see #least(int)
+     * @see #greatestIndices(int)
+     * @see MoreCollectors#greatest(int)
+     * @since 0.6.8
+     */
+    static DoubleCollector<?, double[]> greatest(int n) {
+        return PrimitiveLimiter.partialCollector(n, false, l -> l.toDoubleArray(true))
+                .asDouble((l, v) -> l.add(PrimitiveLimiter.reverse(PrimitiveLimiter.doubleKey(v))));
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} which collects the zero-based positions
+     * of at most specified number of the least input elements according to the
+     * order of {@link Double#compare(double, double)}. The positions are sorted
+     * by the corresponding elements (position of the least element is the
+     * first); the positions of equal elements are sorted in ascending order.
+     *
+     * @param n maximum number of positions to return
+     * @return a {@code DoubleCollector} which produces an array containing the
+     *         positions of the least n input elements
+     * @see #least(int)
+     * @see #greatestIndices(int)
+     * @see MoreCollectors#minIndex()
+     * @since 0.6.8
+     */
+    static DoubleCollector<?, long[]> leastIndices(int n) {
+        return PrimitiveLimiter.partialCollector(n, true, PrimitiveLimiter::positions)
+                .asDouble((l, v) -> l.add(PrimitiveLimiter.doubleKey(v)));
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} which collects the zero-based positions
+     * of at most specified number of the greatest input elements according to
+     * the order of {@link Double#compare(double, double)}. The positions are
+     * sorted by the corresponding elements in reverse order (position of the
+     * greatest element is the first); the positions of equal elements are
+     * sorted in ascending order.
+     *
+     * @param n maximum number of positions to return
+     * @return a {@code DoubleCollector} which produces an array containing the
+     *         positions of the greatest n input elements
+     * @see #greatest(int)
+     * @see #leastIndices(int)
+     * @see MoreCollectors#maxIndex()
+     * @since 0.6.8
+     */
+    static DoubleCollector<?, long[]> greatestIndices(int n) {
+        return PrimitiveLimiter.partialCollector(n, true, PrimitiveLimiter::positions)
+                .asDouble((l, v) -> l.add(PrimitiveLimiter.reverse(PrimitiveLimiter.doubleKey(v))));
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} which counts the input elements in the
+     * buckets defined by the specified boundaries and produces the immutable
+     * {@link Histogram}. Every bucket includes its lower boundary and excludes
+     * the upper one. The elements outside of all the buckets are counted as
+     * underflow or overflow; NaN elements are counted as overflow.
+     *
+     * <p>
+     * The elements are not boxed: the bucket is found by binary search and the
+     * counts are accumulated into the {@code long[]} array. The partial results
+     * of parallel stream are merged by array addition.
+     *
+     * @param boundaries the finite bucket boundaries in strictly increasing
+     *        order; at least two boundaries must be specified. The array is
+     *        copied, so it can be modified afterwards.
+     * @return a {@code DoubleCollector} which produces the {@code Histogram} of
+     *         the input elements
+     * @throws IllegalArgumentException if less than two boundaries are
+     *         specified or boundaries are not finite or not strictly increasing
+     * @see Histogram#percentile(double)
+     * @since 0.6.8
+     */
+    static DoubleCollector<?, Histogram> histogram(double[] boundaries) {
+        double[] copy = Histogram.checkBoundaries(boundaries);
+        return Histogram.partialCollector(copy).asDouble((c, v) -> c[Histogram.bucket(copy, v)]++);
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} that estimates the quantiles of the input
+     * elements using a mergeable KLL sketch of the default size (about 1%
+     * rank error). The quantile for fraction {@code q} is the least input
+     * element whose rank is not less than {@code q} times the number of
+     * elements, so fraction 0 gives the minimum and 1 gives the maximum. The
+     * result is exact as long as the number of elements does not exceed the
+     * sketch capacity (several hundred elements).
+     *
+     * <p>
+     * The memory used by the collector grows only logarithmically with the
+     * number of elements, and the partial results of parallel stream are
+     * merged without losing accuracy. If no elements are present, every
+     * quantile is {@code NaN}.
+     *
+     * @param fractions quantile fractions between 0 and 1, like {@code 0.5,
+     *        0.99, 0.999}
+     * @return a {@code DoubleCollector} which produces an array of quantiles in the
+     *         same order as the supplied fractions
+     * @throws IllegalArgumentException if some fraction is not between 0 and
+     *         1
+     * @see #quantiles(double[], int)
+     * @since 0.6.8
+     */
+    static DoubleCollector<?, double[]> quantiles(double... fractions) {
+        return quantiles(fractions, QuantileSketch.DEFAULT_K);
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} that estimates the quantiles of the input
+     * elements using a mergeable KLL sketch of the given size. The normalized
+     * rank error is about {@code 1.65/k}, while the sketch retains about
+     * {@code 3k} elements.
+     *
+     * @param fractions quantile fractions between 0 and 1
+     * @param k sketch size, at least 8
+     * @return a {@code DoubleCollector} which produces an array of quantiles in the
+     *         same order as the supplied fractions
+     * @throws IllegalArgumentException if k is less than 8 or some fraction
+     *         is not between 0 and 1
+     * @see #quantiles(double...)
+     * @since 0.6.8
+     */
+    static DoubleCollector<?, double[]> quantiles(double[] fractions, int k) {
+        double[] qs = QuantileSketch.checkFractions(fractions);
+        return QuantileSketch.partialCollector(k, sketch -> sketch.quantilesOfDoubles(qs)).asDouble(QuantileSketch::addDouble);
+    }
+
     /**
      * Adapts a {@code DoubleCollector} to another one by applying a mapping
      * function to each input element before accumulation.
@@ -458,6 +458,29 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return new DoubleStreamEx(stream().peek(action), context);
     }
 
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * recording the statistics of the elements passing this point of the
+     * pipeline into the new {@link PipelineMetrics.Stage} registered in the
+     * supplied {@code PipelineMetrics}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation. The stage records the number of elements, the time spent by
+     * the upstream operations to produce them, the number of splits performed
+     * at this point during the parallel processing and the number of elements
+     * processed by every thread. Instrument several points of the pipeline to
+     * find out which operations between them take the most time.
+     *
+     * @param metrics the metrics object to register the stage in
+     * @param stageName the name of the stage to use in the report
+     * @return the new stream
+     * @since 0.6.8
+     */
+    public DoubleStreamEx instrument(PipelineMetrics metrics, String stageName) {
+        return delegate(new InstrumentedSpliterator.OfDouble(spliterator(), metrics.stage(stageName)));
+    }
+
     /**
      * Returns a stream consisting of the elements of this stream, additionally
      * performing the provided action on the first stream element when it's
@@ -614,6 +637,8 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
 
     @Override
     public double[] toArray() {
+        if (spliterator instanceof RangeBasedSpliterator.OfDoubleArray)
+            return ((RangeBasedSpliterator.OfDoubleArray) spliterator()).toArray(0);
         if (context.fjp != null)
             return context.terminate(stream()::toArray);
         return stream().toArray();
@@ -783,6 +808,9 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @since 0.5.1
      */
     public double[] scanLeft(DoubleBinaryOperator accumulator) {
+        if (spliterator instanceof RangeBasedSpliterator.OfDoubleArray) {
+            return scanInPlace(((RangeBasedSpliterator.OfDoubleArray) spliterator()).toArray(0), accumulator);
+        }
         Spliterator.OfDouble spliterator = spliterator();
         double size = spliterator.getExactSizeIfKnown();
         DoubleBuffer buf = new DoubleBuffer(size >= 0 && size <= Integer.MAX_VALUE ? (int) size : INITIAL_SIZE);
@@ -819,9 +847,21 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @since 0.5.1
      */
     public double[] scanLeft(double seed, DoubleBinaryOperator accumulator) {
+        if (spliterator instanceof RangeBasedSpliterator.OfDoubleArray) {
+            double[] result = ((RangeBasedSpliterator.OfDoubleArray) spliterator()).toArray(1);
+            result[0] = seed;
+            return scanInPlace(result, accumulator);
+        }
         return prepend(seed).scanLeft(accumulator);
     }
 
+    private static double[] scanInPlace(double[] array, DoubleBinaryOperator accumulator) {
+        for (int i = 1; i < array.length; i++) {
+            array[i] = accumulator.applyAsDouble(array[i - 1], array[i]);
+        }
+        return array;
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -1360,6 +1400,33 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return delegate(new PairSpliterator.PSOfDouble(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
     }
 
+    /**
+     * Returns a stream consisting of arrays of {@code size} consecutive
+     * elements of this stream. The last array may contain fewer elements if
+     * the number of stream elements is not a multiple of {@code size}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation.
+     *
+     * <p>
+     * The resulting stream parallelizes well if this stream has known size and
+     * its spliterator reports {@link Spliterator#SUBSIZED} characteristic (like
+     * streams created from arrays or ranges): the splitting is performed at
+     * chunk boundaries buffering at most {@code size - 1} elements per split.
+     *
+     * @param size the number of elements in every array (except possibly the
+     *        last one), must be positive
+     * @return the new stream
+     * @throws IllegalArgumentException if size is not positive
+     * @since 0.6.8
+     * @see StreamEx#chunked(int)
+     */
+    public StreamEx<double[]> chunked(int size) {
+        checkChunkSize(size);
+        return new StreamEx<>(new ChunkedSpliterator.OfDouble(spliterator(), size), context);
+    }
+
     /**
      * Returns a {@link String} which is the concatenation of the results of
      * calling {@link String#valueOf(double)} on each element of this stream,
@@ -1506,6 +1573,43 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
         return delegate(new PrefixOps.OfDouble(spliterator(), op));
     }
 
+    /**
+     * Returns a stream containing cumulative results of applying the
+     * accumulation function going left to right, computing them in parallel
+     * for the parallel stream.
+     *
+     * <p>
+     * This is a stateful <a
+     * href="package-summary.html#StreamOps">quasi-intermediate</a> operation.
+     *
+     * <p>
+     * Unlike {@link #prefix(DoubleBinaryOperator)}, for the parallel stream
+     * with an ordered source of known size all the elements are buffered into
+     * an array when the terminal operation starts, then the prefix is computed
+     * by {@link java.util.Arrays#parallelPrefix(double[],
+     * DoubleBinaryOperator)}. Thus the whole source is consumed and the memory
+     * proportional to its size is allocated even if the terminal operation is
+     * short-circuiting. Use this method only if all the resulting elements are
+     * consumed, like {@code
+     * DoubleStreamEx.of(array).parallel().parallelPrefix(Double::sum).toArray()}.
+     * For the sequential stream or the source of unknown size this method
+     * behaves like {@code prefix(op)}.
+     *
+     * @param op an <a href="package-summary.html#Associativity">associative</a>
+     *        , <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        function for computing the next element based on the previous one
+     * @return the new stream.
+     * @see #prefix(DoubleBinaryOperator)
+     * @since 0.6.8
+     */
+    public DoubleStreamEx parallelPrefix(DoubleBinaryOperator op) {
+        Spliterator.OfDouble spliterator = spliterator();
+        if (isParallel() && PrefixOps.isParallelizable(spliterator))
+            return new DoubleStreamEx(PrefixOps.parallel(spliterator, op), context);
+        return delegate(new PrefixOps.OfDouble(spliterator, op));
+    }
+
     // Necessary to generate proper JavaDoc
     // does not add overhead as it appears in bytecode anyways as bridge method
     @Override
@@ -1540,7 +1644,7 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @return the new stream
      */
     public static DoubleStreamEx of(double... elements) {
-        return of(Arrays.spliterator(elements));
+        return of(new RangeBasedSpliterator.OfDoubleArray(0, elements.length, elements));
     }
 
     /**
@@ -1559,7 +1663,8 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
      * @see Arrays#stream(double[], int, int)
      */
     public static DoubleStreamEx of(double[] array, int startInclusive, int endExclusive) {
-        return of(Arrays.spliterator(array, startInclusive, endExclusive));
+        rangeCheck(array.length, startInclusive, endExclusive);
+        return of(new RangeBasedSpliterator.OfDoubleArray(startInclusive, endExclusive, array));
     }
 
     /**
@@ -2001,4 +2106,35 @@ public class DoubleStreamEx extends BaseStreamEx<Double, DoubleStream, Spliterat
             return of(spliterator());
         }
     }
+
+    /**
+     * An {@link DoubleEmitter} which can be split into two independent emitters,
+     * allowing the stream created from it to be processed in parallel. This
+     * is useful for generators which produce the elements of some range (like
+     * paginated scans of key ranges), as the range can be divided in halves.
+     * 
+     * @author Tagir Valeev
+     *
+     * @since 0.6.8
+     * @see DoubleStreamEx.DoubleEmitter
+     */
+    public interface SplittableDoubleEmitter extends DoubleEmitter {
+        /**
+         * Tries to split this emitter. If successful, returns the emitter which
+         * emits the prefix of the elements, while this emitter (and the
+         * emitters it returns from {@code next()}) will emit the rest of the
+         * elements only. The emitters returned from {@code next()} may
+         * implement {@code SplittableDoubleEmitter} as well to allow further
+         * splitting.
+         * 
+         * <p>
+         * This method is never called concurrently with {@code next()} and
+         * never called when the elements emitted by the previous
+         * {@code next()} call are not consumed yet.
+         * 
+         * @return the emitter covering the prefix of the elements or null if
+         *         this emitter cannot be split
+         */
+        DoubleEmitter trySplit();
+    }
 }
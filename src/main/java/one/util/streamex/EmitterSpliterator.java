@@ -69,6 +69,16 @@ import java.util.stream.Stream;
             e = e.next(action);
     }
 
+    @Override
+    public Spliterator<T> trySplit() {
+        if (buf == null && e instanceof StreamEx.SplittableEmitter) {
+            StreamEx.Emitter<T> prefix = ((StreamEx.SplittableEmitter<T>) e).trySplit();
+            if (prefix != null)
+                return new EmitterSpliterator<>(prefix);
+        }
+        return super.trySplit();
+    }
+
     @Override
     public void accept(T t) {
         if ((vals += vals < 3 ? 1 : 0) == 2) {
@@ -119,6 +129,16 @@ import java.util.stream.Stream;
                 e = e.next(action);
         }
 
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (buf == null && e instanceof IntStreamEx.SplittableIntEmitter) {
+                IntStreamEx.IntEmitter prefix = ((IntStreamEx.SplittableIntEmitter) e).trySplit();
+                if (prefix != null)
+                    return new EmitterSpliterator.OfInt(prefix);
+            }
+            return super.trySplit();
+        }
+        
         @Override
         public void accept(int t) {
             if ((vals += vals < 3 ? 1 : 0) == 2) {
@@ -170,6 +190,16 @@ import java.util.stream.Stream;
                 e = e.next(action);
         }
 
+        @Override
+        public Spliterator.OfLong trySplit() {
+            if (buf == null && e instanceof LongStreamEx.SplittableLongEmitter) {
+                LongStreamEx.LongEmitter prefix = ((LongStreamEx.SplittableLongEmitter) e).trySplit();
+                if (prefix != null)
+                    return new EmitterSpliterator.OfLong(prefix);
+            }
+            return super.trySplit();
+        }
+        
         @Override
         public void accept(long t) {
             if ((vals += vals < 3 ? 1 : 0) == 2) {
@@ -221,6 +251,16 @@ import java.util.stream.Stream;
                 e = e.next(action);
         }
 
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            if (buf == null && e instanceof DoubleStreamEx.SplittableDoubleEmitter) {
+                DoubleStreamEx.DoubleEmitter prefix = ((DoubleStreamEx.SplittableDoubleEmitter) e).trySplit();
+                if (prefix != null)
+                    return new EmitterSpliterator.OfDouble(prefix);
+            }
+            return super.trySplit();
+        }
+        
         @Override
         public void accept(double t) {
             if ((vals += vals < 3 ? 1 : 0) == 2) {
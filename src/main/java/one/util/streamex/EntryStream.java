@@ -29,6 +29,8 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collector.Characteristics;
 import java.util.stream.Collectors;
@@ -1104,6 +1106,208 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         return prefix((a, b) -> new SimpleImmutableEntry<>(b.getKey(), op.apply(a.getValue(), b.getValue())));
     }
 
+    /**
+     * Returns a new {@code EntryStream} which contains an entry for every pair
+     * of entries of this stream and the supplied other stream having the same
+     * key (inner join of the streams sorted by keys). The keys of the
+     * resulting entries are the join keys and the values are the results of
+     * the mapper function applied to the values of the joined entries. The
+     * entries having no pair in another stream are skipped.
+     *
+     * <p>
+     * Both this stream and the other stream must be sorted by keys according
+     * to the supplied comparator, otherwise the result is unspecified. The
+     * streams are traversed simultaneously: only the entries of the other
+     * stream having the same key as the current entry of this stream are
+     * buffered, so the memory consumption does not depend on the stream
+     * sizes. If several entries of this stream have the same key as several
+     * entries of the other stream, the mapper is applied to every pair of
+     * their values.
+     *
+     * <p>
+     * The resulting stream is ordered if both of the input streams are
+     * ordered, and parallel if either of the input streams is parallel. When
+     * the resulting stream is closed, the close handlers for both input
+     * streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <VV> the type of the other stream values
+     * @param <R> the type of the resulting stream values
+     * @param other the stream of entries to join this stream with
+     * @param comparator a non-interfering, stateless comparator which both
+     *        streams are sorted by keys with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        values of the joined entries
+     * @return the new stream
+     * @since 0.6.8
+     * @see #leftMergeJoin(Stream, Comparator, BiFunction)
+     * @see #outerMergeJoin(Stream, Comparator, BiFunction)
+     * @see StreamEx#mergeJoin(Stream, Function, Function, Comparator, BiFunction)
+     */
+    public <VV, R> EntryStream<K, R> mergeJoin(Stream<? extends Entry<K, VV>> other,
+            Comparator<? super K> comparator, BiFunction<? super V, ? super VV, ? extends R> mapper) {
+        return mergeJoin(other, comparator, mapper, false, false);
+    }
+
+    /**
+     * Returns a new {@code EntryStream} which contains an entry for every pair
+     * of entries of this stream and the supplied other stream having the same
+     * key (left outer join of the streams sorted by keys). The keys of the
+     * resulting entries are the join keys and the values are the results of
+     * the mapper function applied to the values of the joined entries. For
+     * the entries of this stream having no pair in the other stream the mapper
+     * is called with {@code null} second argument. The entries of the other
+     * stream having no pair in this stream are skipped.
+     *
+     * <p>
+     * Both this stream and the other stream must be sorted by keys according
+     * to the supplied comparator, otherwise the result is unspecified. The
+     * streams are traversed simultaneously: only the entries of the other
+     * stream having the same key as the current entry of this stream are
+     * buffered, so the memory consumption does not depend on the stream
+     * sizes. If several entries of this stream have the same key as several
+     * entries of the other stream, the mapper is applied to every pair of
+     * their values.
+     *
+     * <p>
+     * The resulting stream is ordered if both of the input streams are
+     * ordered, and parallel if either of the input streams is parallel. When
+     * the resulting stream is closed, the close handlers for both input
+     * streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <VV> the type of the other stream values
+     * @param <R> the type of the resulting stream values
+     * @param other the stream of entries to join this stream with
+     * @param comparator a non-interfering, stateless comparator which both
+     *        streams are sorted by keys with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        values of the joined entries,
+     *        the second argument is null for unmatched entries
+     * @return the new stream
+     * @since 0.6.8
+     * @see #mergeJoin(Stream, Comparator, BiFunction)
+     * @see #outerMergeJoin(Stream, Comparator, BiFunction)
+     */
+    public <VV, R> EntryStream<K, R> leftMergeJoin(Stream<? extends Entry<K, VV>> other,
+            Comparator<? super K> comparator, BiFunction<? super V, ? super VV, ? extends R> mapper) {
+        return mergeJoin(other, comparator, mapper, true, false);
+    }
+
+    /**
+     * Returns a new {@code EntryStream} which contains an entry for every pair
+     * of entries of this stream and the supplied other stream having the same
+     * key (full outer join of the streams sorted by keys). The keys of the
+     * resulting entries are the join keys and the values are the results of
+     * the mapper function applied to the values of the joined entries. For
+     * the entries having no pair in another stream the mapper is called with
+     * {@code null} in place of the missing value. The resulting entries are
+     * sorted by keys.
+     *
+     * <p>
+     * Both this stream and the other stream must be sorted by keys according
+     * to the supplied comparator, otherwise the result is unspecified. The
+     * streams are traversed simultaneously: only the entries of the other
+     * stream having the same key as the current entry of this stream are
+     * buffered, so the memory consumption does not depend on the stream
+     * sizes. If several entries of this stream have the same key as several
+     * entries of the other stream, the mapper is applied to every pair of
+     * their values.
+     *
+     * <p>
+     * The resulting stream is ordered if both of the input streams are
+     * ordered, and parallel if either of the input streams is parallel. When
+     * the resulting stream is closed, the close handlers for both input
+     * streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <VV> the type of the other stream values
+     * @param <R> the type of the resulting stream values
+     * @param other the stream of entries to join this stream with
+     * @param comparator a non-interfering, stateless comparator which both
+     *        streams are sorted by keys with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        values of the joined entries,
+     *        one of the arguments is null for unmatched entries
+     * @return the new stream
+     * @since 0.6.8
+     * @see #mergeJoin(Stream, Comparator, BiFunction)
+     * @see #leftMergeJoin(Stream, Comparator, BiFunction)
+     */
+    public <VV, R> EntryStream<K, R> outerMergeJoin(Stream<? extends Entry<K, VV>> other,
+            Comparator<? super K> comparator, BiFunction<? super V, ? super VV, ? extends R> mapper) {
+        return mergeJoin(other, comparator, mapper, true, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <VV, R> EntryStream<K, R> mergeJoin(Stream<? extends Entry<K, VV>> other,
+            Comparator<? super K> comparator, BiFunction<? super V, ? super VV, ? extends R> mapper,
+            boolean keepLeft, boolean keepRight) {
+        Spliterator<Entry<K, VV>> otherSpliterator = (Spliterator<Entry<K, VV>>) other.spliterator();
+        return new EntryStream<>(new MergeJoinSpliterator<Entry<K, V>, Entry<K, VV>, Entry<K, R>>(spliterator(),
+                otherSpliterator, (e1, e2) -> comparator.compare(e1.getKey(), e2.getKey()), (e1, e2) -> {
+                    K key = e1 == null ? e2.getKey() : e1.getKey();
+                    return new SimpleImmutableEntry<>(key, mapper.apply(e1 == null ? null : e1.getValue(),
+                        e2 == null ? null : e2.getValue()));
+                }, keepLeft, keepRight), context.combine(other));
+    }
+
+    /**
+     * Returns a new {@code EntryStream} which contains an entry for every pair
+     * of entries of this stream and the supplied other stream having equal
+     * keys (inner hash join). The keys of the resulting entries are the join
+     * keys and the values are the results of the mapper function applied to
+     * the values of the joined entries. The resulting entries follow the
+     * order of this stream; if several entries of the other stream match the
+     * same entry of this stream, they are joined in the other stream
+     * encounter order.
+     *
+     * <p>
+     * Unlike {@link #mergeJoin(Stream, Comparator, BiFunction)} the streams
+     * need not be sorted. When the traversal of the resulting stream starts,
+     * the other stream is fully consumed (in parallel if it's parallel) and
+     * indexed by a compact hash table, thus the smaller of two streams should
+     * be used as the other stream. The entries of this stream are not
+     * buffered and the table is never modified after it's built, so the
+     * parallel lookups do not need any synchronization.
+     *
+     * <p>
+     * The resulting stream is ordered if this stream is ordered, and parallel
+     * if either of the input streams is parallel. When the resulting stream is
+     * closed, the close handlers for both input streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <VV> the type of the other stream values
+     * @param <R> the type of the resulting stream values
+     * @param other the stream of entries to build the hash table from
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        values of the joined entries
+     * @return the new stream
+     * @since 0.6.8
+     * @see StreamEx#hashJoin(Stream, Function, Function)
+     */
+    @SuppressWarnings("unchecked")
+    public <VV, R> EntryStream<K, R> join(Stream<? extends Entry<K, VV>> other,
+            BiFunction<? super V, ? super VV, ? extends R> mapper) {
+        Spliterator<Entry<K, VV>> otherSpliterator = (Spliterator<Entry<K, VV>>) other.spliterator();
+        return new EntryStream<>(new HashJoinSpliterator<Entry<K, V>, Entry<K, VV>, Entry<K, R>>(spliterator(),
+                Entry::getKey, otherSpliterator, other.isParallel(), Entry::getKey,
+                (e1, e2) -> new SimpleImmutableEntry<>(e1.getKey(), mapper.apply(e1.getValue(), e2.getValue()))),
+                context.combine(other));
+    }
+
     /**
      * Returns a {@link Map} containing the elements of this stream. There are
      * no guarantees on the type or serializability of the {@code Map} returned;
@@ -1532,6 +1736,60 @@ public class EntryStream<K, V> extends AbstractStreamEx<Entry<K, V>, EntryStream
         return collect(Collectors.groupingBy(keyMapper, mapSupplier, mapping));
     }
 
+    /**
+     * Returns a {@link Map} where the keys are the keys of this stream entries
+     * and the corresponding values are the sums of the results of the value
+     * mapper function applied to the values of the entries having the same
+     * key.
+     *
+     * <p>
+     * The sums are accumulated in a hash table with primitive {@code long}
+     * values, so no map node and no boxed value is created per key. The
+     * returned {@code Map} is read-only; there are no other guarantees on its
+     * type or serializability.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param valueMapper a function extracting the value to sum
+     * @return a {@code Map} containing the sums
+     * @throws NullPointerException if this stream contains a null key
+     * @see MoreCollectors#summingLongBy(Function, ToLongFunction)
+     * @since 0.6.8
+     */
+    public Map<K, Long> groupingSummingLong(ToLongFunction<? super V> valueMapper) {
+        return collect(MoreCollectors.summingLongBy(Entry::getKey, e -> valueMapper.applyAsLong(e.getValue())));
+    }
+
+    /**
+     * Returns a {@link Map} where the keys are the keys of this stream entries
+     * and the corresponding values are the sums of the results of the value
+     * mapper function applied to the values of the entries having the same
+     * key. The values are summed like
+     * {@link Collectors#summingDouble(ToDoubleFunction)}
+     * does.
+     *
+     * <p>
+     * The sums are accumulated in a hash table with primitive {@code double}
+     * values, so no map node and no boxed value is created per key. The
+     * returned {@code Map} is read-only; there are no other guarantees on its
+     * type or serializability.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param valueMapper a function extracting the value to sum
+     * @return a {@code Map} containing the sums
+     * @throws NullPointerException if this stream contains a null key
+     * @see MoreCollectors#summingDoubleBy(Function, ToDoubleFunction)
+     * @since 0.6.8
+     */
+    public Map<K, Double> groupingSummingDouble(ToDoubleFunction<? super V> valueMapper) {
+        return collect(MoreCollectors.summingDoubleBy(Entry::getKey, e -> valueMapper.applyAsDouble(e.getValue())));
+    }
+
     /**
      * Returns a {@link Map} where elements of this stream with the same key are
      * grouped together. The resulting {@code Map} keys are the keys of this
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import one.util.streamex.StreamEx.Serializer;
+
+/**
+ * A spliterator which sorts the source elements keeping at most the given
+ * number of elements in memory. When the buffer is full, it's sorted and
+ * written into the temporary file (run). When the source is exhausted, the
+ * runs and the last buffer are lazily merged using a priority queue, so only
+ * one element per run is kept in memory during the merge. The equal elements
+ * are ordered by run index, so the sort is stable.
+ * 
+ * <p>
+ * At most {@code maxFanIn} runs are read at once. The runs are organized in
+ * levels: when {@code maxFanIn} adjacent runs of the same level are written,
+ * they are merged into the single run of the next level. As only adjacent runs
+ * are merged, the stability is preserved.
+ * 
+ * <p>
+ * The run files are deleted when they are completely read, when the
+ * spliterator is closed, or, if it's abandoned without closing (e.g. after the
+ * short-circuiting operation), when another external sort creates a file after
+ * the abandoned spliterator is garbage collected. Finally every run file is
+ * registered to be deleted on the JVM exit.
+ * 
+ * @author Tagir Valeev
+ *
+ * @param <T> type of the elements
+ */
+/* package */final class ExternalSortSpliterator<T> extends AbstractSpliterator<T> implements Consumer<T> {
+    static final int MAX_FAN_IN = 256;
+
+    private static final ReferenceQueue<Object> STALE = new ReferenceQueue<>();
+    // keeps the cleanups reachable until their spliterators are collected
+    private static final Set<Cleanup> CLEANUPS = ConcurrentHashMap.newKeySet();
+
+    private Spliterator<T> source;
+    private final Comparator<? super T> comparator;
+    private final Serializer<T> serializer;
+    private final Path tmpDir;
+    private final int maxInMemory;
+    private final int maxFanIn;
+    private final boolean parallel;
+    private final List<Run<T>> runs = new ArrayList<>();
+    private Cleanup cleanup;
+    private Object[] buf;
+    private int size;
+    private PriorityQueue<Run<T>> queue;
+
+    ExternalSortSpliterator(Spliterator<T> source, Comparator<? super T> comparator, Serializer<T> serializer,
+            Path tmpDir, int maxInMemory, boolean parallel) {
+        this(source, comparator, serializer, tmpDir, maxInMemory, MAX_FAN_IN, parallel);
+    }
+
+    ExternalSortSpliterator(Spliterator<T> source, Comparator<? super T> comparator, Serializer<T> serializer,
+            Path tmpDir, int maxInMemory, int maxFanIn, boolean parallel) {
+        super(Long.MAX_VALUE, ORDERED);
+        this.source = source;
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.tmpDir = tmpDir;
+        this.maxInMemory = maxInMemory;
+        this.maxFanIn = maxFanIn;
+        this.parallel = parallel;
+        this.buf = new Object[Math.min(maxInMemory, 16)];
+    }
+
+    @Override
+    public void accept(T t) {
+        if (size == buf.length) {
+            if (size == maxInMemory) {
+                spill();
+            } else {
+                buf = Arrays.copyOf(buf, (int) Math.min(maxInMemory, size * 2L));
+            }
+        }
+        buf[size++] = t;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortBuffer() {
+        // sorted in place, so no more than maxInMemory elements are referenced
+        T[] array = (T[]) buf;
+        if (parallel)
+            Arrays.parallelSort(array, 0, size, comparator);
+        else
+            Arrays.sort(array, 0, size, comparator);
+    }
+
+    private Path createRunFile() {
+        expungeStaleRuns();
+        if (cleanup == null)
+            cleanup = new Cleanup(this, runs);
+        try {
+            Path file = tmpDir == null ? Files.createTempFile("streamex", ".run") : Files.createTempFile(tmpDir,
+                "streamex", ".run");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void spill() {
+        sortBuffer();
+        Path file = createRunFile();
+        runs.add(new Run<>(serializer, file, size, 0));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (int i = 0; i < size; i++) {
+                serializer.write(out, (T) buf[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Arrays.fill(buf, 0, size, null);
+        size = 0;
+        // merge the trailing runs of the same level while there are too many
+        // of them
+        while (true) {
+            int to = runs.size();
+            int level = runs.get(to - 1).level;
+            int from = to - 1;
+            while (from > 0 && runs.get(from - 1).level == level)
+                from--;
+            if (to - from < maxFanIn)
+                break;
+            merge(from, to, level + 1);
+        }
+    }
+
+    private PriorityQueue<Run<T>> mergeQueue(List<Run<T>> group) {
+        PriorityQueue<Run<T>> q = new PriorityQueue<>(Math.max(1, group.size()), (r1, r2) -> {
+            int res = comparator.compare(r1.head, r2.head);
+            return res != 0 ? res : Integer.compare(r1.index, r2.index);
+        });
+        for (int i = 0; i < group.size(); i++) {
+            Run<T> run = group.get(i);
+            run.index = i;
+            if (run.advance())
+                q.add(run);
+        }
+        return q;
+    }
+
+    /**
+     * Merges the runs in the given range into the single run file of the
+     * given level which replaces them.
+     */
+    private void merge(int from, int to, int level) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += runs.get(i).remaining;
+        }
+        Path file = createRunFile();
+        // registered before reading the group, so it's deleted on failure
+        runs.add(to, new Run<>(serializer, file, total, level));
+        List<Run<T>> group = runs.subList(from, to);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            PriorityQueue<Run<T>> q = mergeQueue(group);
+            Run<T> run;
+            while ((run = q.poll()) != null) {
+                serializer.write(out, run.head);
+                if (run.advance())
+                    q.add(run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // exhausted runs are already closed
+        group.clear();
+    }
+
+    private PriorityQueue<Run<T>> queue() {
+        if (queue == null) {
+            // the upstream is drained by the current thread even if the stream
+            // is parallel: only the buffer sorting is parallelized
+            source.forEachRemaining(this);
+            source = null;
+            // merge the smallest trailing runs until at most maxFanIn files
+            // are left to be read at once
+            while (runs.size() > maxFanIn) {
+                int to = runs.size();
+                int from = to - Math.min(maxFanIn, to - maxFanIn + 1);
+                merge(from, to, runs.get(from).level);
+            }
+            sortBuffer();
+            // the last buffer is not added to the runs, so it's not retained
+            // by the cleanup
+            List<Run<T>> all = new ArrayList<>(runs);
+            all.add(new Run<>(buf, size));
+            buf = null;
+            queue = mergeQueue(all);
+        }
+        return queue;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        PriorityQueue<Run<T>> q = queue();
+        Run<T> run = q.poll();
+        if (run == null) {
+            close();
+            return false;
+        }
+        T t = run.head;
+        if (run.advance())
+            q.add(run);
+        action.accept(t);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        try {
+            PriorityQueue<Run<T>> q = queue();
+            while (q.size() > 1) {
+                Run<T> run = q.poll();
+                T t = run.head;
+                if (run.advance())
+                    q.add(run);
+                action.accept(t);
+            }
+            Run<T> run = q.poll();
+            if (run != null) {
+                do {
+                    action.accept(run.head);
+                } while (run.advance());
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Closes the open runs and deletes all the temporary files.
+     */
+    void close() {
+        if (cleanup != null) {
+            Cleanup c = cleanup;
+            cleanup = null;
+            c.clean();
+        }
+    }
+
+    /**
+     * Deletes the run files of the spliterators which were garbage collected
+     * without being closed or completely read.
+     */
+    static void expungeStaleRuns() {
+        Reference<?> ref;
+        while ((ref = STALE.poll()) != null) {
+            try {
+                ((Cleanup) ref).clean();
+            } catch (UncheckedIOException e) {
+                // ignore: the files will be deleted on exit anyway
+            }
+        }
+    }
+
+    /**
+     * Closes the runs of the spliterator when it's closed or becomes phantom
+     * reachable. Must not refer to the spliterator itself.
+     */
+    private static final class Cleanup extends PhantomReference<Object> {
+        private final List<? extends Run<?>> runs;
+
+        Cleanup(Object spliterator, List<? extends Run<?>> runs) {
+            super(spliterator, STALE);
+            this.runs = runs;
+            CLEANUPS.add(this);
+        }
+
+        void clean() {
+            CLEANUPS.remove(this);
+            clear();
+            IOException ex = null;
+            for (Run<?> run : runs) {
+                try {
+                    run.close();
+                } catch (IOException e) {
+                    if (ex == null)
+                        ex = e;
+                    else
+                        ex.addSuppressed(e);
+                }
+            }
+            if (ex != null)
+                throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static final class Run<T> {
+        final Serializer<T> serializer;
+        final Path file;
+        final Object[] array;
+        final int length;
+        final int level;
+        int index;
+        DataInputStream in;
+        long remaining;
+        T head;
+
+        Run(Serializer<T> serializer, Path file, long size, int level) {
+            this.serializer = serializer;
+            this.file = file;
+            this.array = null;
+            this.length = 0;
+            this.level = level;
+            this.remaining = size;
+        }
+
+        Run(Object[] array, int length) {
+            this.serializer = null;
+            this.file = null;
+            this.array = array;
+            this.length = length;
+            this.level = 0;
+            this.remaining = length;
+        }
+
+        boolean advance() {
+            if (remaining == 0) {
+                head = null;
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return false;
+            }
+            if (array != null) {
+                int pos = length - (int) remaining;
+                @SuppressWarnings("unchecked")
+                T t = (T) array[pos];
+                head = t;
+                array[pos] = null;
+            } else {
+                try {
+                    if (in == null)
+                        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+                    head = serializer.read(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            remaining--;
+            return true;
+        }
+
+        void close() throws IOException {
+            remaining = 0;
+            if (file != null) {
+                try {
+                    if (in != null) {
+                        in.close();
+                        in = null;
+                    }
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
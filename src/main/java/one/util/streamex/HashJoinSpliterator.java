@@ -0,0 +1,228 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+/**
+ * A spliterator which joins the source (probe side) elements with the
+ * elements of the build side having equal keys. The build side is collected
+ * into an array (in parallel if the build stream is parallel) and indexed by
+ * an open-addressing hash table when the traversal starts. The elements with
+ * the same key form a chain of array indices, so the table consists of two
+ * {@code int} arrays and two {@code Object} arrays regardless of the number
+ * of duplicates. After the table is built it's never modified, so the parallel
+ * probing requires no synchronization.
+ *
+ * @param <T> type of the probe side elements
+ * @param <U> type of the build side elements
+ * @param <R> type of the result
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class HashJoinSpliterator<T, U, R> implements Spliterator<R>, Consumer<T> {
+    private Spliterator<T> source;
+    private final Function<? super T, ?> keyMapper;
+    private final BiFunction<? super T, ? super U, ? extends R> mapper;
+    private final Build<U> build;
+    private Table<U> table;
+    private T cur;
+    private int pos = -1;
+
+    private HashJoinSpliterator(Spliterator<T> source, Function<? super T, ?> keyMapper,
+            BiFunction<? super T, ? super U, ? extends R> mapper, Build<U> build) {
+        this.source = source;
+        this.keyMapper = keyMapper;
+        this.mapper = mapper;
+        this.build = build;
+    }
+
+    HashJoinSpliterator(Spliterator<T> source, Function<? super T, ?> keyMapper, Spliterator<U> buildSource,
+            boolean parallelBuild, Function<? super U, ?> buildKeyMapper,
+            BiFunction<? super T, ? super U, ? extends R> mapper) {
+        this(source, keyMapper, mapper, new Build<>(buildSource, parallelBuild, buildKeyMapper));
+    }
+
+    private Table<U> table() {
+        Table<U> t = table;
+        if (t == null)
+            table = t = build.get();
+        return t;
+    }
+
+    @Override
+    public void accept(T t) {
+        cur = t;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        Table<U> t = table();
+        while (pos < 0) {
+            if (!source.tryAdvance(this))
+                return false;
+            pos = t.first(keyMapper.apply(cur));
+        }
+        U u = t.element(pos);
+        pos = t.next(pos);
+        action.accept(mapper.apply(cur, u));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        Table<U> t = table();
+        while (pos >= 0) {
+            U u = t.element(pos);
+            pos = t.next(pos);
+            action.accept(mapper.apply(cur, u));
+        }
+        cur = null;
+        source.forEachRemaining(next -> {
+            for (int i = t.first(keyMapper.apply(next)); i >= 0; i = t.next(i)) {
+                action.accept(mapper.apply(next, t.element(i)));
+            }
+        });
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        if (pos >= 0)
+            return null;
+        Spliterator<T> prefix = source.trySplit();
+        return prefix == null ? null : new HashJoinSpliterator<>(prefix, keyMapper, mapper, build);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ORDERED;
+    }
+
+    /**
+     * Builds the table once, when any part of the split spliterator starts
+     * the traversal.
+     */
+    private static final class Build<U> {
+        private Spliterator<U> source;
+        private final boolean parallel;
+        private final Function<? super U, ?> keyMapper;
+        private volatile Table<U> table;
+
+        Build(Spliterator<U> source, boolean parallel, Function<? super U, ?> keyMapper) {
+            this.source = source;
+            this.parallel = parallel;
+            this.keyMapper = keyMapper;
+        }
+
+        Table<U> get() {
+            Table<U> t = table;
+            if (t == null) {
+                synchronized (this) {
+                    t = table;
+                    if (t == null) {
+                        Object[] elements = StreamSupport.stream(source, parallel).toArray();
+                        source = null;
+                        table = t = new Table<>(elements, keyMapper);
+                    }
+                }
+            }
+            return t;
+        }
+    }
+
+    static final class Table<U> {
+        static final int MAX_CAPACITY = 1 << 30;
+
+        private final Object[] elements;
+        private final Object[] keys;
+        private final int[] next;
+        private final int[] heads;
+
+        Table(Object[] elements, Function<? super U, ?> keyMapper) {
+            int n = elements.length;
+            this.elements = elements;
+            this.keys = new Object[n];
+            this.next = new int[n];
+            this.heads = new int[capacity(n)];
+            Arrays.fill(heads, -1);
+            int distinct = 0;
+            // reverse order, so the chains preserve the encounter order
+            for (int i = n - 1; i >= 0; i--) {
+                @SuppressWarnings("unchecked")
+                Object key = keyMapper.apply((U) elements[i]);
+                keys[i] = key;
+                int slot = slot(key);
+                // at least one slot must stay free to terminate the probing
+                if (heads[slot] < 0 && ++distinct == heads.length)
+                    throw new IllegalStateException("Too many distinct keys: " + distinct);
+                next[i] = heads[slot];
+                heads[slot] = i;
+            }
+        }
+
+        /**
+         * @return the power of two which is at least twice as big as the
+         *         number of elements, but not bigger than
+         *         {@link #MAX_CAPACITY}
+         */
+        static int capacity(int n) {
+            long capacity = Long.highestOneBit(Math.max(1L, n) * 2 - 1) * 2;
+            return (int) Math.min(capacity, MAX_CAPACITY);
+        }
+
+        private static int hash(Object key) {
+            int h = Objects.hashCode(key) * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private int slot(Object key) {
+            int mask = heads.length - 1;
+            int pos = hash(key) & mask;
+            while (heads[pos] >= 0 && !Objects.equals(keys[heads[pos]], key)) {
+                pos = (pos + 1) & mask;
+            }
+            return pos;
+        }
+
+        /**
+         * @return index of the first element with given key or -1 if there's
+         *         no such element
+         */
+        int first(Object key) {
+            return heads[slot(key)];
+        }
+
+        int next(int index) {
+            return next[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        U element(int index) {
+            return (U) elements[index];
+        }
+    }
+}
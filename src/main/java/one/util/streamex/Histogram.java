@@ -0,0 +1,294 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * An immutable histogram: the counts of values which fall into the
+ * consecutive buckets. Every bucket includes its lower bound and excludes its
+ * upper bound. The values below the lower bound of the first bucket and the
+ * values not below the upper bound of the last bucket are counted separately
+ * as underflow and overflow.
+ * 
+ * <p>
+ * The histograms are created by collectors like
+ * {@link IntCollector#histogram(int, int, int)},
+ * {@link LongCollector#exponentialHistogram(long, double, int)} or
+ * {@link DoubleCollector#histogram(double[])} which accumulate the counts into
+ * the primitive array without boxing and merge the partial results of parallel
+ * stream by array addition:
+ * 
+ * <pre>{@code
+ * Histogram latencies = LongStreamEx.of(latencyMillis).collect(
+ *     LongCollector.exponentialHistogram(1, 2, 20));
+ * double p99 = latencies.percentile(99);
+ * }</pre>
+ * 
+ * @author Tagir Valeev
+ * @since 0.6.8
+ */
+public final class Histogram {
+    private final double[] boundaries;
+    // counts[0] is underflow, counts[boundaries.length] is overflow
+    private final long[] counts;
+    private final long total;
+
+    private Histogram(double[] boundaries, long[] counts) {
+        this.boundaries = boundaries;
+        this.counts = counts;
+        long sum = 0;
+        for (long count : counts) {
+            sum += count;
+        }
+        this.total = sum;
+    }
+
+    static PartialCollector<long[], Histogram> partialCollector(double[] boundaries) {
+        int size = boundaries.length + 1;
+        return new PartialCollector<>(() -> new long[size], (c1, c2) -> {
+            for (int i = 0; i < size; i++) {
+                c1[i] += c2[i];
+            }
+        }, c -> new Histogram(boundaries, c), NO_CHARACTERISTICS);
+    }
+
+    static double[] checkBoundaries(double[] boundaries) {
+        if (boundaries.length < 2)
+            throw new IllegalArgumentException("At least two boundaries must be specified: " + boundaries.length);
+        double[] result = boundaries.clone();
+        for (int i = 0; i < result.length; i++) {
+            if (Double.isNaN(result[i]) || Double.isInfinite(result[i]))
+                throw new IllegalArgumentException("Boundary must be finite: " + result[i]);
+            if (i > 0 && result[i] <= result[i - 1])
+                throw new IllegalArgumentException("Boundaries must be strictly increasing: " + result[i - 1] + ", "
+                    + result[i]);
+        }
+        return result;
+    }
+
+    static double[] fixedBoundaries(long origin, long width, int buckets) {
+        checkPositive("width", width);
+        checkPositive("buckets", buckets);
+        double[] result = new double[buckets + 1];
+        for (int i = 0; i <= buckets; i++) {
+            result[i] = origin + (double) width * i;
+        }
+        return result;
+    }
+
+    static double[] exponentialBoundaries(long first, double factor, int buckets) {
+        checkPositive("first", first);
+        checkPositive("buckets", buckets);
+        if (!(factor > 1))
+            throw new IllegalArgumentException("factor must be greater than 1: " + factor);
+        double[] result = new double[buckets + 1];
+        for (int i = 0; i <= buckets; i++) {
+            result[i] = first * Math.pow(factor, i);
+        }
+        return checkBoundaries(result);
+    }
+
+    /**
+     * Returns the index in the counts array of the bucket of fixed width
+     * histogram which contains the value.
+     */
+    static int fixedBucket(long value, long origin, long width, int buckets) {
+        if (value < origin)
+            return 0;
+        long offset = value - origin;
+        if (offset < 0) // overflow: the offset exceeds Long.MAX_VALUE
+            return buckets + 1;
+        long bucket = offset / width;
+        return bucket >= buckets ? buckets + 1 : (int) bucket + 1;
+    }
+
+    /**
+     * Returns the index in the counts array of the bucket which contains the
+     * value. NaN is counted as overflow.
+     */
+    static int bucket(double[] boundaries, double value) {
+        // adding zero turns -0.0 into 0.0 which is important for binarySearch
+        int pos = Arrays.binarySearch(boundaries, value + 0.0);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    private void checkBucket(int bucket) {
+        if (bucket < 0 || bucket >= boundaries.length - 1)
+            throw new IndexOutOfBoundsException("Bucket " + bucket + " is out of range [0, " + (boundaries.length - 1)
+                + ")");
+    }
+
+    /**
+     * Returns the number of buckets in this histogram (not including underflow
+     * and overflow).
+     * 
+     * @return the number of buckets
+     */
+    public int bucketCount() {
+        return boundaries.length - 1;
+    }
+
+    /**
+     * Returns the lower bound of the bucket (inclusive).
+     * 
+     * @param bucket zero-based bucket number
+     * @return the lower bound of the bucket
+     * @throws IndexOutOfBoundsException if bucket is negative or not less than
+     *         {@link #bucketCount()}
+     */
+    public double lowerBound(int bucket) {
+        checkBucket(bucket);
+        return boundaries[bucket];
+    }
+
+    /**
+     * Returns the upper bound of the bucket (exclusive).
+     * 
+     * @param bucket zero-based bucket number
+     * @return the upper bound of the bucket
+     * @throws IndexOutOfBoundsException if bucket is negative or not less than
+     *         {@link #bucketCount()}
+     */
+    public double upperBound(int bucket) {
+        checkBucket(bucket);
+        return boundaries[bucket + 1];
+    }
+
+    /**
+     * Returns the number of values which fall into the bucket.
+     * 
+     * @param bucket zero-based bucket number
+     * @return the number of values in the bucket
+     * @throws IndexOutOfBoundsException if bucket is negative or not less than
+     *         {@link #bucketCount()}
+     */
+    public long count(int bucket) {
+        checkBucket(bucket);
+        return counts[bucket + 1];
+    }
+
+    /**
+     * Returns a newly-allocated array which contains the bucket boundaries in
+     * ascending order. Its length is {@code bucketCount()+1}.
+     * 
+     * @return an array of the bucket boundaries
+     */
+    public double[] boundaries() {
+        return boundaries.clone();
+    }
+
+    /**
+     * Returns a newly-allocated array which contains the counts of every
+     * bucket (not including underflow and overflow). Its length is
+     * {@code bucketCount()}.
+     * 
+     * @return an array of the bucket counts
+     */
+    public long[] counts() {
+        return Arrays.copyOfRange(counts, 1, boundaries.length);
+    }
+
+    /**
+     * Returns the number of values which are less than the lower bound of the
+     * first bucket.
+     * 
+     * @return the underflow count
+     */
+    public long underflowCount() {
+        return counts[0];
+    }
+
+    /**
+     * Returns the number of values which are greater than or equal to the
+     * upper bound of the last bucket (including NaN values for the
+     * {@code double} histogram).
+     * 
+     * @return the overflow count
+     */
+    public long overflowCount() {
+        return counts[boundaries.length];
+    }
+
+    /**
+     * Returns the total number of values in this histogram including underflow
+     * and overflow.
+     * 
+     * @return the total count
+     */
+    public long totalCount() {
+        return total;
+    }
+
+    /**
+     * Returns the estimated percentile of the values. The value is linearly
+     * interpolated within the bucket which contains the requested rank. If the
+     * rank falls into the underflow or overflow, the lower bound of the first
+     * bucket or the upper bound of the last bucket is returned respectively.
+     * 
+     * @param percentile the percentile to estimate, between 0 and 100
+     * @return the estimated percentile or NaN if the histogram is empty
+     * @throws IllegalArgumentException if percentile is not between 0 and 100
+     */
+    public double percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100))
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        if (total == 0)
+            return Double.NaN;
+        double rank = percentile / 100 * total;
+        long cumulative = 0;
+        int last = boundaries.length;
+        for (int i = 0; i < last; i++) {
+            long count = counts[i];
+            if (count > 0 && cumulative + count >= rank) {
+                if (i == 0)
+                    return boundaries[0];
+                double lower = boundaries[i - 1];
+                return lower + (boundaries[i] - lower) * (rank - cumulative) / count;
+            }
+            cumulative += count;
+        }
+        return boundaries[last - 1];
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof Histogram))
+            return false;
+        Histogram other = (Histogram) obj;
+        return Arrays.equals(boundaries, other.boundaries) && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(boundaries) * 31 + Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Histogram{<").append(boundaries[0]).append(": ").append(counts[0]);
+        for (int i = 1; i < boundaries.length; i++) {
+            sb.append(", [").append(boundaries[i - 1]).append(", ").append(boundaries[i]).append("): ").append(
+                counts[i]);
+        }
+        return sb.append(", >=").append(boundaries[boundaries.length - 1]).append(": ").append(
+            counts[boundaries.length]).append('}').toString();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Objects;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * HyperLogLog cardinality estimator with {@code 2^precision} single-byte
+ * registers. Uses 64-bit hashes, so no large range correction is necessary;
+ * small cardinalities are estimated via linear counting. Two sketches of the
+ * same precision are merged by taking the maximum of every register, thus the
+ * result does not depend on the way the input was split.
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class HyperLogLog {
+    static final int MIN_PRECISION = 4;
+    static final int MAX_PRECISION = 18;
+    static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog(int precision) {
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    static void checkPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between " + MIN_PRECISION + " and "
+                + MAX_PRECISION + ": " + precision);
+        }
+    }
+
+    /**
+     * Murmur3 64-bit finalizer: a bijection which spreads every input bit over
+     * the whole result.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // the guard bit limits the rank by 64 - precision + 1
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (registers[index] < rank)
+            registers[index] = (byte) rank;
+    }
+
+    void add(Object obj) {
+        addHash(mix(Objects.hashCode(obj)));
+    }
+
+    void addInt(int value) {
+        addHash(mix(value));
+    }
+
+    void addLong(long value) {
+        addHash(mix(value));
+    }
+
+    void merge(HyperLogLog other) {
+        byte[] otherRegisters = other.registers;
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < otherRegisters[i])
+                registers[i] = otherRegisters[i];
+        }
+    }
+
+    long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += Double.longBitsToDouble((1023L - r) << 52); // 2^-r
+            if (r == 0)
+                zeros++;
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    static PartialCollector<HyperLogLog, Long> partialCollector(int precision) {
+        checkPrecision(precision);
+        return new PartialCollector<>(() -> new HyperLogLog(precision), HyperLogLog::merge, HyperLogLog::estimate,
+                UNORDERED_CHARACTERISTICS);
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * A spliterator which passes the source elements through as is recording the
+ * statistics into the {@link PipelineMetrics.Stage}. The time between the
+ * moment when the element is requested from the source and the moment when
+ * it arrives is accounted as the upstream time. The counters are accumulated
+ * locally and flushed to the stage after each {@code tryAdvance} call or after
+ * the bulk traversal.
+ *
+ * @author Tagir Valeev
+ */
+/* package */abstract class InstrumentedSpliterator<T, S extends Spliterator<T>> implements Spliterator<T> {
+    final S source;
+    final PipelineMetrics.Stage stage;
+    private long start, count, nanos;
+
+    InstrumentedSpliterator(S source, PipelineMetrics.Stage stage) {
+        this.source = source;
+        this.stage = stage;
+    }
+
+    abstract Spliterator<T> create(S prefix);
+
+    final void resume() {
+        start = System.nanoTime();
+    }
+
+    final void arrived() {
+        nanos += System.nanoTime() - start;
+        count++;
+    }
+
+    final void flush(boolean finished) {
+        if (finished)
+            nanos += System.nanoTime() - start;
+        stage.record(count, nanos);
+        count = nanos = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Spliterator<T> trySplit() {
+        S prefix = (S) source.trySplit();
+        if (prefix == null)
+            return null;
+        stage.split();
+        return create(prefix);
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics();
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return source.getComparator();
+    }
+
+    static final class OfRef<T> extends InstrumentedSpliterator<T, Spliterator<T>> implements Consumer<T> {
+        private Consumer<? super T> action;
+
+        OfRef(Spliterator<T> source, PipelineMetrics.Stage stage) {
+            super(source, stage);
+        }
+
+        @Override
+        public void accept(T t) {
+            arrived();
+            action.accept(t);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            this.action = action;
+            resume();
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            flush(!result);
+            return result;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            resume();
+            source.forEachRemaining(t -> {
+                arrived();
+                action.accept(t);
+                resume();
+            });
+            flush(true);
+        }
+
+        @Override
+        Spliterator<T> create(Spliterator<T> prefix) {
+            return new OfRef<>(prefix, stage);
+        }
+    }
+
+    static final class OfInt extends InstrumentedSpliterator<Integer, Spliterator.OfInt> implements
+            Spliterator.OfInt, IntConsumer {
+        private IntConsumer action;
+
+        OfInt(Spliterator.OfInt source, PipelineMetrics.Stage stage) {
+            super(source, stage);
+        }
+
+        @Override
+        public void accept(int t) {
+            arrived();
+            action.accept(t);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            this.action = action;
+            resume();
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            flush(!result);
+            return result;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            resume();
+            source.forEachRemaining((int t) -> {
+                arrived();
+                action.accept(t);
+                resume();
+            });
+            flush(true);
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            return (Spliterator.OfInt) super.trySplit();
+        }
+
+        @Override
+        Spliterator.OfInt create(Spliterator.OfInt prefix) {
+            return new InstrumentedSpliterator.OfInt(prefix, stage);
+        }
+    }
+
+    static final class OfLong extends InstrumentedSpliterator<Long, Spliterator.OfLong> implements
+            Spliterator.OfLong, LongConsumer {
+        private LongConsumer action;
+
+        OfLong(Spliterator.OfLong source, PipelineMetrics.Stage stage) {
+            super(source, stage);
+        }
+
+        @Override
+        public void accept(long t) {
+            arrived();
+            action.accept(t);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            this.action = action;
+            resume();
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            flush(!result);
+            return result;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            resume();
+            source.forEachRemaining((long t) -> {
+                arrived();
+                action.accept(t);
+                resume();
+            });
+            flush(true);
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            return (Spliterator.OfLong) super.trySplit();
+        }
+
+        @Override
+        Spliterator.OfLong create(Spliterator.OfLong prefix) {
+            return new InstrumentedSpliterator.OfLong(prefix, stage);
+        }
+    }
+
+    static final class OfDouble extends InstrumentedSpliterator<Double, Spliterator.OfDouble> implements
+            Spliterator.OfDouble, DoubleConsumer {
+        private DoubleConsumer action;
+
+        OfDouble(Spliterator.OfDouble source, PipelineMetrics.Stage stage) {
+            super(source, stage);
+        }
+
+        @Override
+        public void accept(double t) {
+            arrived();
+            action.accept(t);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            this.action = action;
+            resume();
+            boolean result = source.tryAdvance(this);
+            this.action = null;
+            flush(!result);
+            return result;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            resume();
+            source.forEachRemaining((double t) -> {
+                arrived();
+                action.accept(t);
+                resume();
+            });
+            flush(true);
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            return (Spliterator.OfDouble) super.trySplit();
+        }
+
+        @Override
+        Spliterator.OfDouble create(Spliterator.OfDouble prefix) {
+            return new InstrumentedSpliterator.OfDouble(prefix, stage);
+        }
+    }
+}
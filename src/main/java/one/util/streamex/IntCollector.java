@@ -188,6 +188,30 @@ public interface IntCollector<A, R> extends MergingCollector<Integer, A, R> {
         return PartialCollector.intSum().asInt((box, i) -> box[0]++);
     }
 
+    /**
+     * Returns an {@code IntCollector} that estimates the number of distinct input
+     * numbers using the HyperLogLog algorithm with the specified precision.
+     *
+     * <p>
+     * The collector uses {@code 2^precision} bytes of memory regardless of the
+     * number of input elements. The relative standard error of the estimate
+     * is about {@code 1.04/sqrt(2^precision)}, e.g. {@code 0.8%} for the
+     * precision 14 (16Kb of memory). The input numbers are hashed directly
+     * without boxing. The result does not depend on the encounter order or on
+     * the way the parallel stream was split.
+     *
+     * @param precision the number of bits used to select the sketch register,
+     *        must be between 4 and 18 inclusive
+     * @return an {@code IntCollector} that estimates the number of distinct input
+     *         numbers
+     * @throws IllegalArgumentException if the precision is out of bounds
+     * @see MoreCollectors#approximateDistinctCount(Function, int)
+     * @since 0.6.8
+     */
+    static IntCollector<?, Long> approximateDistinctCount(int precision) {
+        return HyperLogLog.partialCollector(precision).asInt(HyperLogLog::addInt);
+    }
+
     /**
      * Returns an {@code IntCollector} that produces the sum of the input
      * elements. If no elements are present, the result is 0.
@@ -239,6 +263,155 @@ public interface IntCollector<A, R> extends MergingCollector<Integer, A, R> {
         return reducing(Integer::max);
     }
 
+    /**
+     * Returns an {@code IntCollector} which collects at most specified number
+     * of the least input elements according to natural order into the sorted
+     * array (least element is the first).
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted().limit(n).toArray()}, but usually performed much
+     * faster and with O(n) memory if {@code n} is much less than the stream
+     * size. The elements are not boxed.
+     *
+     * @param n maximum number of stream elements to preserve
+     * @return an {@code IntCollector} which produces an array containing the
+     *         least n input elements or less if the input was shorter
+     * @see #greatest(int)
+     * @see #leastIndices(int)
+     * @see MoreCollectors#least(int)
+     * @since 0.6.8
+     */
+    static IntCollector<?, int[]> least(int n) {
+        return PrimitiveLimiter.partialCollector(n, false, l -> l.toIntArray(false)).asInt((l, v) -> l.add(v));
+    }
+
+    /**
+     * Returns an {@code IntCollector} which collects at most specified number
+     * of the greatest input elements according to natural order into the array
+     * sorted in reverse order (greatest element is the first).
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted().limit(n).toArray()} applied to the reversed
+     * order, but usually performed much faster and with O(n) memory if
+     * {@code n} is much less than the stream size. The elements are not
+     * boxed.
+     *
+     * @param n maximum number of stream elements to preserve
+     * @return an {@code IntCollector} which produces an array containing the
+     *         greatest n input elements or less if the input was shorter
+     * @see #least(int)
+     * @see #greatestIndices(int)
+     * @see MoreCollectors#greatest(int)
+     * @since 0.6.8
+     */
+    static IntCollector<?, int[]> greatest(int n) {
+        return PrimitiveLimiter.partialCollector(n, false, l -> l.toIntArray(true))
+                .asInt((l, v) -> l.add(PrimitiveLimiter.reverse(v)));
+    }
+
+    /**
+     * Returns an {@code IntCollector} which collects the zero-based positions
+     * of at most specified number of the least input elements according to
+     * natural order. The positions are sorted by the corresponding elements
+     * (position of the least element is the first); the positions of equal
+     * elements are sorted in ascending order.
+     *
+     * <p>
+     * This collector can be used to find the top-ranked items by primitive
+     * score without boxing, like
+     * {@code IntStreamEx.of(scores).collect(IntCollector.greatestIndices(10))}.
+     *
+     * @param n maximum number of positions to return
+     * @return an {@code IntCollector} which produces an array containing the
+     *         positions of the least n input elements
+     * @see #least(int)
+     * @see #greatestIndices(int)
+     * @see MoreCollectors#minIndex()
+     * @since 0.6.8
+     */
+    static IntCollector<?, long[]> leastIndices(int n) {
+        return PrimitiveLimiter.partialCollector(n, true, PrimitiveLimiter::positions).asInt((l, v) -> l.add(v));
+    }
+
+    /**
+     * Returns an {@code IntCollector} which collects the zero-based positions
+     * of at most specified number of the greatest input elements according to
+     * natural order. The positions are sorted by the corresponding elements in
+     * reverse order (position of the greatest element is the first); the
+     * positions of equal elements are sorted in ascending order.
+     *
+     * @param n maximum number of positions to return
+     * @return an {@code IntCollector} which produces an array containing the
+     *         positions of the greatest n input elements
+     * @see #greatest(int)
+     * @see #leastIndices(int)
+     * @see MoreCollectors#maxIndex()
+     * @since 0.6.8
+     */
+    static IntCollector<?, long[]> greatestIndices(int n) {
+        return PrimitiveLimiter.partialCollector(n, true, PrimitiveLimiter::positions)
+                .asInt((l, v) -> l.add(PrimitiveLimiter.reverse(v)));
+    }
+
+    /**
+     * Returns an {@code IntCollector} which counts the input elements in the
+     * consecutive buckets of the same width and produces the immutable
+     * {@link Histogram}. The first bucket starts at {@code origin}; the
+     * elements outside of all the buckets are counted as underflow or overflow.
+     *
+     * <p>
+     * The elements are not boxed: the bucket is found by integer arithmetic and
+     * the counts are accumulated into the {@code long[]} array. The partial
+     * results of parallel stream are merged by array addition.
+     *
+     * @param origin the lower bound of the first bucket (inclusive)
+     * @param width the width of every bucket
+     * @param buckets the number of buckets
+     * @return a {@code IntCollector} which produces the {@code Histogram} of
+     *         the input elements
+     * @throws IllegalArgumentException if width or buckets is not positive
+     * @see #exponentialHistogram(int, double, int)
+     * @see Histogram#percentile(double)
+     * @since 0.6.8
+     */
+    static IntCollector<?, Histogram> histogram(int origin, int width, int buckets) {
+        double[] boundaries = Histogram.fixedBoundaries(origin, width, buckets);
+        return Histogram.partialCollector(boundaries).asInt(
+            (c, v) -> c[Histogram.fixedBucket(v, origin, width, buckets)]++);
+    }
+
+    /**
+     * Returns an {@code IntCollector} which counts the input elements in the
+     * buckets of exponentially growing width and produces the immutable
+     * {@link Histogram}. The bucket boundaries are
+     * {@code first, first*factor, first*factor^2, ..., first*factor^buckets}.
+     * The elements outside of all the buckets are counted as underflow or
+     * overflow.
+     *
+     * <p>
+     * The elements are not boxed: the counts are accumulated into the
+     * {@code long[]} array and the partial results of parallel stream are
+     * merged by array addition.
+     *
+     * @param first the lower bound of the first bucket (inclusive)
+     * @param factor the ratio between the upper and the lower bound of every
+     *        bucket
+     * @param buckets the number of buckets
+     * @return a {@code IntCollector} which produces the {@code Histogram} of
+     *         the input elements
+     * @throws IllegalArgumentException if first or buckets is not positive,
+     *         factor is not greater than 1 or the last boundary is not finite
+     * @see #histogram(int, int, int)
+     * @see Histogram#percentile(double)
+     * @since 0.6.8
+     */
+    static IntCollector<?, Histogram> exponentialHistogram(int first, double factor, int buckets) {
+        double[] boundaries = Histogram.exponentialBoundaries(first, factor, buckets);
+        return Histogram.partialCollector(boundaries).asInt((c, v) -> c[Histogram.bucket(boundaries, v)]++);
+    }
+
     /**
      * Adapts an {@code IntCollector} to another one by applying a mapping
      * function to each input element before accumulation.
@@ -467,6 +640,68 @@ public interface IntCollector<A, R> extends MergingCollector<Integer, A, R> {
         return PartialCollector.grouping(mapFactory, downstream).asInt(accumulator);
     }
 
+    /**
+     * Returns an {@code IntCollector} implementing a "group by" operation on
+     * input numbers, grouping them according to an {@code int}-valued
+     * classification function, and returning the results in a {@code Map}.
+     *
+     * <p>
+     * Unlike {@link #groupingBy(IntFunction)} this collector does not box the
+     * keys during the accumulation: the groups are stored in a hash table with
+     * primitive {@code int} keys. The resulting map is a read-only view of this
+     * table which boxes the keys only when they are requested via iteration.
+     *
+     * <p>
+     * There are no guarantees on the iteration order, serializability, or
+     * thread-safety of the {@code Map} returned.
+     *
+     * @param classifier the classifier function mapping input elements to keys
+     * @return an {@code IntCollector} implementing the group-by operation
+     * @see #groupingBy(IntFunction)
+     * @since 0.6.8
+     */
+    static IntCollector<?, Map<Integer, int[]>> groupingByInt(IntUnaryOperator classifier) {
+        return groupingByInt(classifier, toArray());
+    }
+
+    /**
+     * Returns an {@code IntCollector} implementing a cascaded "group by"
+     * operation on input numbers, grouping them according to an
+     * {@code int}-valued classification function, and then performing a
+     * reduction operation on the values associated with a given key using the
+     * specified downstream {@code IntCollector}.
+     *
+     * <p>
+     * Unlike {@link #groupingBy(IntFunction, IntCollector)} this collector does
+     * not box the keys during the accumulation: the groups are stored in a hash
+     * table with primitive {@code int} keys. The resulting map is a read-only
+     * view of this table which boxes the keys only when they are requested via
+     * iteration.
+     *
+     * <p>
+     * There are no guarantees on the iteration order, serializability, or
+     * thread-safety of the {@code Map} returned.
+     *
+     * @param <A> the intermediate accumulation type of the downstream collector
+     * @param <D> the result type of the downstream reduction
+     * @param classifier a classifier function mapping input elements to keys
+     * @param downstream an {@code IntCollector} implementing the downstream
+     *        reduction
+     * @return an {@code IntCollector} implementing the cascaded group-by
+     *         operation
+     * @see #groupingBy(IntFunction, IntCollector)
+     * @since 0.6.8
+     */
+    static <A, D> IntCollector<?, Map<Integer, D>> groupingByInt(IntUnaryOperator classifier,
+            IntCollector<A, D> downstream) {
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        IntFunction<A> supplier = k -> downstreamSupplier.get();
+        ObjIntConsumer<A> downstreamAccumulator = downstream.intAccumulator();
+        ObjIntConsumer<IntKeyMap<A>> accumulator = (m, t) -> downstreamAccumulator.accept(m.getOrCreate(classifier
+                .applyAsInt(t), supplier), t);
+        return PartialCollector.intKeyGrouping(downstream).asInt(accumulator);
+    }
+
     /**
      * Returns an {@code IntCollector} that produces the {@link BitSet} of the
      * input elements.
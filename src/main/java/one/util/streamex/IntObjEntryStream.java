@@ -0,0 +1,476 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * A {@link Stream} of entries with primitive {@code int} keys and object
+ * values. Unlike {@code EntryStream<Integer, V>} the keys are stored and
+ * passed to the key-value functions without boxing and every entry is
+ * represented by a single object.
+ *
+ * <p>
+ * The key-specific operations like {@link #filterKeys(IntPredicate)},
+ * {@link #mapValues(Function)} or {@link #grouping()} mirror the
+ * corresponding {@link EntryStream} operations. Use {@link #boxed()} to
+ * convert to the {@code EntryStream} if some operation is missing.
+ *
+ * @author Tagir Valeev
+ *
+ * @param <V> the type of the entry values
+ * @since 0.6.8
+ */
+public class IntObjEntryStream<V> extends AbstractStreamEx<IntObjEntryStream.IntObjEntry<V>, IntObjEntryStream<V>> {
+    IntObjEntryStream(Stream<? extends IntObjEntry<V>> stream, StreamContext context) {
+        super(stream, context);
+    }
+
+    IntObjEntryStream(Spliterator<? extends IntObjEntry<V>> spliterator, StreamContext context) {
+        super(spliterator, context);
+    }
+
+    @Override
+    IntObjEntryStream<V> supply(Stream<IntObjEntry<V>> stream) {
+        return new IntObjEntryStream<>(stream, context);
+    }
+
+    @Override
+    IntObjEntryStream<V> supply(Spliterator<IntObjEntry<V>> spliterator) {
+        return new IntObjEntryStream<>(spliterator, context);
+    }
+
+    static <V> IntObjEntry<V> entry(int key, V value) {
+        return new ObjIntBox<>(value, key);
+    }
+
+    /**
+     * Returns a stream consisting of the keys of this stream.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @return the new stream
+     */
+    public IntStreamEx keys() {
+        return new IntStreamEx(stream().mapToInt(IntObjEntry::getIntKey), context);
+    }
+
+    /**
+     * Returns a stream consisting of the values of this stream.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @return the new stream
+     */
+    public StreamEx<V> values() {
+        return new StreamEx<>(stream().map(Entry::getValue), context);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream which keys
+     * match the given predicate.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param keyPredicate a non-interfering, stateless predicate to apply to
+     *        the key of each element to determine if it should be included
+     * @return the new stream
+     */
+    public IntObjEntryStream<V> filterKeys(IntPredicate keyPredicate) {
+        return filter(e -> keyPredicate.test(e.getIntKey()));
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream which values
+     * match the given predicate.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param valuePredicate a non-interfering, stateless predicate to apply to
+     *        the value of each element to determine if it should be included
+     * @return the new stream
+     */
+    public IntObjEntryStream<V> filterValues(Predicate<? super V> valuePredicate) {
+        return filter(e -> valuePredicate.test(e.getValue()));
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream which
+     * elements match the given predicate.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param predicate a non-interfering, stateless predicate to apply to the
+     *        key-value pairs of each element to determine if it should be
+     *        included
+     * @return the new stream
+     */
+    public IntObjEntryStream<V> filterKeyValue(IntObjPredicate<? super V> predicate) {
+        return filter(e -> predicate.test(e.getIntKey(), e.getValue()));
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream which values
+     * are not null.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @return the new stream
+     */
+    public IntObjEntryStream<V> nonNullValues() {
+        return filter(e -> e.getValue() != null);
+    }
+
+    /**
+     * Returns an {@code IntObjEntryStream} consisting of the entries whose
+     * keys are modified by applying the given function and values are left
+     * unchanged.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param keyMapper a non-interfering, stateless function to apply to each
+     *        key
+     * @return the new stream
+     */
+    public IntObjEntryStream<V> mapKeys(IntUnaryOperator keyMapper) {
+        return new IntObjEntryStream<>(stream().map(e -> entry(keyMapper.applyAsInt(e.getIntKey()), e.getValue())),
+                context);
+    }
+
+    /**
+     * Returns an {@code IntObjEntryStream} consisting of the entries whose
+     * keys are left unchanged and values are modified by applying the given
+     * function.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param <R> The type of new values
+     * @param valueMapper a non-interfering, stateless function to apply to
+     *        each value
+     * @return the new stream
+     */
+    public <R> IntObjEntryStream<R> mapValues(Function<? super V, ? extends R> valueMapper) {
+        return new IntObjEntryStream<>(stream().map(e -> entry(e.getIntKey(), valueMapper.apply(e.getValue()))),
+                context);
+    }
+
+    /**
+     * Returns an {@code IntObjEntryStream} consisting of the entries whose
+     * keys are left unchanged and values are modified by applying the given
+     * function to the key-value pairs.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param <R> The type of new values
+     * @param valueMapper a non-interfering, stateless function to apply to
+     *        each key-value pair which returns the updated value
+     * @return the new stream
+     */
+    public <R> IntObjEntryStream<R> mapToValue(IntObjFunction<? super V, ? extends R> valueMapper) {
+        return new IntObjEntryStream<>(stream().map(
+            e -> entry(e.getIntKey(), valueMapper.apply(e.getIntKey(), e.getValue()))), context);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the keys and values of this stream.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @param <R> The element type of the new stream
+     * @param mapper a non-interfering, stateless function to apply to key and
+     *        value of each entry
+     * @return the new stream
+     */
+    public <R> StreamEx<R> mapKeyValue(IntObjFunction<? super V, ? extends R> mapper) {
+        return new StreamEx<>(stream().map(e -> mapper.apply(e.getIntKey(), e.getValue())), context);
+    }
+
+    /**
+     * Returns an {@link EntryStream} consisting of the entries of this stream
+     * with boxed keys.
+     *
+     * <p>
+     * This is an <a href="package-summary.html#StreamOps">intermediate</a>
+     * operation.
+     *
+     * @return the new stream
+     */
+    public EntryStream<Integer, V> boxed() {
+        return new EntryStream<>(stream(), context);
+    }
+
+    /**
+     * Performs an action for each key-value pair of this stream.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param action a non-interfering action to perform on the key and value
+     * @see #forEach(java.util.function.Consumer)
+     */
+    public void forKeyValue(IntObjConsumer<? super V> action) {
+        forEach(e -> action.accept(e.getIntKey(), e.getValue()));
+    }
+
+    /**
+     * Returns a {@link Map} containing the elements of this stream. The map
+     * stores the keys as primitives, so the boxing occurs only when the keys
+     * are retrieved from its key set or entry set. The returned {@code Map} is
+     * unmodifiable; there are no guarantees on its type or serializability.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @return a {@code Map} containing the elements of this stream
+     * @throws IllegalStateException if this stream contains duplicate keys
+     * @throws NullPointerException if this stream contains null values
+     * @see EntryStream#toMap()
+     */
+    public Map<Integer, V> toMap() {
+        return collect(IntKeyMap<V>::new, (map, e) -> putUnique(map, e.getIntKey(), e.getValue()), (m1, m2) -> m2
+                .forEachInt((k, v) -> putUnique(m1, k, v)));
+    }
+
+    private static <V> void putUnique(IntKeyMap<V> map, int key, V value) {
+        V oldValue = map.putIfAbsent(key, Objects.requireNonNull(value));
+        if (oldValue != null) {
+            throw new IllegalStateException("Duplicate entry for key '" + key + "' (attempt to merge values '"
+                + oldValue + "' and '" + value + "')");
+        }
+    }
+
+    /**
+     * Returns a {@link Map} containing the elements of this stream. The map
+     * stores the keys as primitives, so the boxing occurs only when the keys
+     * are retrieved from its key set or entry set. The returned {@code Map} is
+     * unmodifiable; there are no guarantees on its type or serializability.
+     *
+     * <p>
+     * If this stream contains duplicate keys, the values are merged using
+     * the provided merging function.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param mergeFunction a merge function, used to resolve collisions
+     *        between values associated with the same key
+     * @return a {@code Map} containing the elements of this stream
+     * @throws NullPointerException if this stream contains null values
+     * @see EntryStream#toMap(BinaryOperator)
+     */
+    public Map<Integer, V> toMap(BinaryOperator<V> mergeFunction) {
+        return collect(IntKeyMap<V>::new, (map, e) -> map.merge(e.getIntKey(), Objects.requireNonNull(e.getValue()),
+            mergeFunction), (m1, m2) -> m1.mergeAll(m2, mergeFunction));
+    }
+
+    /**
+     * Returns a {@link Map} where elements of this stream with the same key are
+     * grouped together. The resulting {@code Map} keys are the keys of this
+     * stream entries and the values are the lists of the corresponding values.
+     * The map stores the keys as primitives.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code Map} or {@code List} objects returned.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @return a {@code Map} containing the elements of this stream
+     * @see EntryStream#grouping()
+     */
+    public Map<Integer, List<V>> grouping() {
+        return grouping(Collectors.toList());
+    }
+
+    /**
+     * Returns a {@link Map} where elements of this stream with the same key are
+     * grouped together. The resulting {@code Map} keys are the keys of this
+     * stream entries and the corresponding values are combined using the
+     * provided downstream collector. The map stores the keys as primitives.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code Map} object returned.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param <A> the intermediate accumulation type of the downstream collector
+     * @param <D> the result type of the downstream reduction
+     * @param downstream a {@code Collector} implementing the downstream
+     *        reduction
+     * @return a {@code Map} containing the elements of this stream
+     * @see EntryStream#grouping(Collector)
+     */
+    public <A, D> Map<Integer, D> grouping(Collector<? super V, A, D> downstream) {
+        Supplier<A> supplier = downstream.supplier();
+        BiConsumer<A, ? super V> accumulator = downstream.accumulator();
+        return collect(PartialCollector.intKeyGrouping(downstream).asRef(
+            (IntKeyMap<A> map, IntObjEntry<V> e) -> accumulator.accept(map.getOrCreate(e.getIntKey(),
+                k -> supplier.get()), e.getValue())));
+    }
+
+    /**
+     * Returns an empty sequential {@code IntObjEntryStream}.
+     *
+     * @param <V> the type of stream element values
+     * @return an empty sequential stream
+     */
+    public static <V> IntObjEntryStream<V> empty() {
+        return of(Arrays.<V>asList());
+    }
+
+    /**
+     * Returns a sequential {@code IntObjEntryStream} whose keys are indices of
+     * given list and the values are the corresponding list elements.
+     *
+     * <p>
+     * The list elements are accessed using {@link List#get(int)}, so the list
+     * should provide fast random access. The list is assumed to be unmodifiable
+     * during the stream operations.
+     *
+     * @param <V> list element type
+     * @param list list to create the stream from
+     * @return a new {@code IntObjEntryStream}
+     * @see EntryStream#of(List)
+     */
+    public static <V> IntObjEntryStream<V> of(List<V> list) {
+        return new IntObjEntryStream<>(new RangeBasedSpliterator.AsEntry<>(list), StreamContext.SEQUENTIAL);
+    }
+
+    /**
+     * Returns a sequential {@code IntObjEntryStream} whose keys are indices of
+     * given array and the values are the corresponding array elements.
+     *
+     * @param <V> array element type
+     * @param array array to create the stream from
+     * @return a new {@code IntObjEntryStream}
+     * @see EntryStream#of(Object[])
+     */
+    public static <V> IntObjEntryStream<V> of(V[] array) {
+        return of(Arrays.asList(array));
+    }
+
+    /**
+     * An entry with primitive {@code int} key. The {@link #getKey()} method
+     * boxes the key, use {@link #getIntKey()} to avoid this.
+     *
+     * @param <V> the type of the value
+     */
+    public interface IntObjEntry<V> extends Entry<Integer, V> {
+        /**
+         * @return the key of this entry
+         */
+        int getIntKey();
+    }
+
+    /**
+     * Represents a function that accepts an {@code int} key and an object
+     * value and produces a result.
+     *
+     * @param <V> the type of the value
+     * @param <R> the type of the result
+     */
+    @FunctionalInterface
+    public interface IntObjFunction<V, R> {
+        /**
+         * Applies this function to the given arguments.
+         *
+         * @param key the key
+         * @param value the value
+         * @return the function result
+         */
+        R apply(int key, V value);
+    }
+
+    /**
+     * Represents a predicate of an {@code int} key and an object value.
+     *
+     * @param <V> the type of the value
+     */
+    @FunctionalInterface
+    public interface IntObjPredicate<V> {
+        /**
+         * Evaluates this predicate on the given arguments.
+         *
+         * @param key the key
+         * @param value the value
+         * @return true if the arguments match the predicate
+         */
+        boolean test(int key, V value);
+    }
+
+    /**
+     * Represents an operation that accepts an {@code int} key and an object
+     * value and returns no result.
+     *
+     * @param <V> the type of the value
+     */
+    @FunctionalInterface
+    public interface IntObjConsumer<V> {
+        /**
+         * Performs this operation on the given arguments.
+         *
+         * @param key the key
+         * @param value the value
+         */
+        void accept(int key, V value);
+    }
+}
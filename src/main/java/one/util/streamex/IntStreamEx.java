@@ -251,6 +251,26 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return new DoubleStreamEx(stream().mapToDouble(mapper), context);
     }
 
+    /**
+     * Returns an {@link IntObjEntryStream} consisting of the entries which
+     * keys are the elements of this stream and the values are results of
+     * applying the given function to the elements of this stream. The keys
+     * are not boxed.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param <V> The entry value type
+     * @param valueMapper a non-interfering, stateless function to apply to each
+     *        element
+     * @return the new stream
+     * @since 0.6.8
+     */
+    public <V> IntObjEntryStream<V> mapToEntry(IntFunction<? extends V> valueMapper) {
+        return new IntObjEntryStream<>(stream().mapToObj(t -> IntObjEntryStream.entry(t, valueMapper.apply(t))),
+                context);
+    }
+
     /**
      * Returns an {@link EntryStream} consisting of the {@link Entry} objects
      * which keys and values are results of applying the given functions to the
@@ -499,6 +519,29 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return new IntStreamEx(stream().peek(action), context);
     }
 
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * recording the statistics of the elements passing this point of the
+     * pipeline into the new {@link PipelineMetrics.Stage} registered in the
+     * supplied {@code PipelineMetrics}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation. The stage records the number of elements, the time spent by
+     * the upstream operations to produce them, the number of splits performed
+     * at this point during the parallel processing and the number of elements
+     * processed by every thread. Instrument several points of the pipeline to
+     * find out which operations between them take the most time.
+     *
+     * @param metrics the metrics object to register the stage in
+     * @param stageName the name of the stage to use in the report
+     * @return the new stream
+     * @since 0.6.8
+     */
+    public IntStreamEx instrument(PipelineMetrics metrics, String stageName) {
+        return delegate(new InstrumentedSpliterator.OfInt(spliterator(), metrics.stage(stageName)));
+    }
+
     /**
      * Returns a stream consisting of the elements of this stream, additionally
      * performing the provided action on the first stream element when it's
@@ -654,6 +697,8 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
 
     @Override
     public int[] toArray() {
+        if (spliterator instanceof RangeBasedSpliterator.OfIntArray)
+            return ((RangeBasedSpliterator.OfIntArray) spliterator()).toArray(0);
         if (context.fjp != null)
             return context.terminate(stream()::toArray);
         return stream().toArray();
@@ -894,6 +939,9 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.5.1
      */
     public int[] scanLeft(IntBinaryOperator accumulator) {
+        if (spliterator instanceof RangeBasedSpliterator.OfIntArray) {
+            return scanInPlace(((RangeBasedSpliterator.OfIntArray) spliterator()).toArray(0), accumulator);
+        }
         Spliterator.OfInt spliterator = spliterator();
         long size = spliterator.getExactSizeIfKnown();
         IntBuffer buf = new IntBuffer(size >= 0 && size <= Integer.MAX_VALUE ? (int) size : INITIAL_SIZE);
@@ -930,9 +978,21 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @since 0.5.1
      */
     public int[] scanLeft(int seed, IntBinaryOperator accumulator) {
+        if (spliterator instanceof RangeBasedSpliterator.OfIntArray) {
+            int[] result = ((RangeBasedSpliterator.OfIntArray) spliterator()).toArray(1);
+            result[0] = seed;
+            return scanInPlace(result, accumulator);
+        }
         return prepend(seed).scanLeft(accumulator);
     }
 
+    private static int[] scanInPlace(int[] array, IntBinaryOperator accumulator) {
+        for (int i = 1; i < array.length; i++) {
+            array[i] = accumulator.applyAsInt(array[i - 1], array[i]);
+        }
+        return array;
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -1609,6 +1669,33 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return delegate(new PairSpliterator.PSOfInt(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
     }
 
+    /**
+     * Returns a stream consisting of arrays of {@code size} consecutive
+     * elements of this stream. The last array may contain fewer elements if
+     * the number of stream elements is not a multiple of {@code size}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation.
+     *
+     * <p>
+     * The resulting stream parallelizes well if this stream has known size and
+     * its spliterator reports {@link Spliterator#SUBSIZED} characteristic (like
+     * streams created from arrays or ranges): the splitting is performed at
+     * chunk boundaries buffering at most {@code size - 1} elements per split.
+     *
+     * @param size the number of elements in every array (except possibly the
+     *        last one), must be positive
+     * @return the new stream
+     * @throws IllegalArgumentException if size is not positive
+     * @since 0.6.8
+     * @see StreamEx#chunked(int)
+     */
+    public StreamEx<int[]> chunked(int size) {
+        checkChunkSize(size);
+        return new StreamEx<>(new ChunkedSpliterator.OfInt(spliterator(), size), context);
+    }
+
     /**
      * Returns a {@link String} which is the concatenation of the results of
      * calling {@link String#valueOf(int)} on each element of this stream,
@@ -1798,6 +1885,42 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
         return delegate(new PrefixOps.OfInt(spliterator(), op));
     }
 
+    /**
+     * Returns a stream containing cumulative results of applying the
+     * accumulation function going left to right, computing them in parallel
+     * for the parallel stream.
+     *
+     * <p>
+     * This is a stateful <a
+     * href="package-summary.html#StreamOps">quasi-intermediate</a> operation.
+     *
+     * <p>
+     * Unlike {@link #prefix(IntBinaryOperator)}, for the parallel stream with
+     * an ordered source of known size all the elements are buffered into an
+     * array when the terminal operation starts, then the prefix is computed by
+     * {@link java.util.Arrays#parallelPrefix(int[], IntBinaryOperator)}. Thus
+     * the whole source is consumed and the memory proportional to its size is
+     * allocated even if the terminal operation is short-circuiting. Use this
+     * method only if all the resulting elements are consumed, like {@code
+     * IntStreamEx.of(array).parallel().parallelPrefix(Integer::sum).toArray()}.
+     * For the sequential stream or the source of unknown size this method
+     * behaves like {@code prefix(op)}.
+     *
+     * @param op an <a href="package-summary.html#Associativity">associative</a>
+     *        , <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        function for computing the next element based on the previous one
+     * @return the new stream.
+     * @see #prefix(IntBinaryOperator)
+     * @since 0.6.8
+     */
+    public IntStreamEx parallelPrefix(IntBinaryOperator op) {
+        Spliterator.OfInt spliterator = spliterator();
+        if (isParallel() && PrefixOps.isParallelizable(spliterator))
+            return new IntStreamEx(PrefixOps.parallel(spliterator, op), context);
+        return delegate(new PrefixOps.OfInt(spliterator, op));
+    }
+
     // Necessary to generate proper JavaDoc
     // does not add overhead as it appears in bytecode anyways as bridge method
     @Override
@@ -1832,7 +1955,7 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @return the new stream
      */
     public static IntStreamEx of(int... elements) {
-        return of(Arrays.spliterator(elements));
+        return of(new RangeBasedSpliterator.OfIntArray(0, elements.length, elements));
     }
 
     /**
@@ -1851,7 +1974,8 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
      * @see Arrays#stream(int[], int, int)
      */
     public static IntStreamEx of(int[] array, int startInclusive, int endExclusive) {
-        return of(Arrays.spliterator(array, startInclusive, endExclusive));
+        rangeCheck(array.length, startInclusive, endExclusive);
+        return of(new RangeBasedSpliterator.OfIntArray(startInclusive, endExclusive, array));
     }
 
     /**
@@ -2731,4 +2855,35 @@ public class IntStreamEx extends BaseStreamEx<Integer, IntStream, Spliterator.Of
             return of(spliterator());
         }
     }
+
+    /**
+     * An {@link IntEmitter} which can be split into two independent emitters,
+     * allowing the stream created from it to be processed in parallel. This
+     * is useful for generators which produce the elements of some range (like
+     * paginated scans of key ranges), as the range can be divided in halves.
+     * 
+     * @author Tagir Valeev
+     *
+     * @since 0.6.8
+     * @see IntStreamEx.IntEmitter
+     */
+    public interface SplittableIntEmitter extends IntEmitter {
+        /**
+         * Tries to split this emitter. If successful, returns the emitter which
+         * emits the prefix of the elements, while this emitter (and the
+         * emitters it returns from {@code next()}) will emit the rest of the
+         * elements only. The emitters returned from {@code next()} may
+         * implement {@code SplittableIntEmitter} as well to allow further
+         * splitting.
+         * 
+         * <p>
+         * This method is never called concurrently with {@code next()} and
+         * never called when the elements emitted by the previous
+         * {@code next()} call are not consumed yet.
+         * 
+         * @return the emitter covering the prefix of the elements or null if
+         *         this emitter cannot be split
+         */
+        IntEmitter trySplit();
+    }
 }
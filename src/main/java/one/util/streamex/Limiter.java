@@ -83,26 +83,51 @@ import java.util.Iterator;
 
     /**
      * Merge other {@code Limiter} object into this (other object becomes unusable after that).
+     * Both objects are sorted, then merged in O(limit) time. For equal elements
+     * the elements of this object go first.
      * 
      * @param ls other object to merge
      * @return this object
      */
     public Limiter<T> putAll(Limiter<T> ls) {
-        int i = 0;
-        if (!ls.initial) {
-            // sorted part
-            for (; i < limit; i++) {
-                if (!put(ls.data[i]))
-                    break;
-            }
-            i = limit;
+        sort();
+        ls.sort();
+        int a = size(), b = ls.size();
+        if (b == 0)
+            return this;
+        int m = Math.min(limit, a + b);
+        @SuppressWarnings("unchecked")
+        T[] res = (T[]) new Object[m == limit ? limit * 2 : Math.max(data.length, m)];
+        T[] d1 = data, d2 = ls.data;
+        Comparator<? super T> cmp = comparator;
+        int i = 0, j = 0, k = 0;
+        while (k < m && i < a && j < b) {
+            res[k++] = cmp.compare(d1[i], d2[j]) <= 0 ? d1[i++] : d2[j++];
         }
-        for (; i < ls.size; i++) {
-            put(ls.data[i]);
+        if (k < m) {
+            if (i < a)
+                System.arraycopy(d1, i, res, k, m - k);
+            else
+                System.arraycopy(d2, j, res, k, m - k);
         }
+        data = res;
+        size = m;
+        initial = m < limit;
         return this;
     }
 
+    /**
+     * Returns the current upper bound of the result: any element which is
+     * bigger than the bound is definitely not included into the result. The
+     * bound is the worst of the limit elements accumulated so far, so it's
+     * known only after at least limit elements were accumulated.
+     * 
+     * @return the current upper bound or {@code NONE} if it's not known yet
+     */
+    public Object bound() {
+        return initial ? StreamExInternals.NONE : data[limit - 1];
+    }
+
     private void sortTail() {
         // size > limit here
         T[] d = data;
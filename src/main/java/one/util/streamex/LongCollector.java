@@ -187,6 +187,30 @@ public interface LongCollector<A, R> extends MergingCollector<Long, A, R> {
         return PartialCollector.intSum().asLong((box, i) -> box[0]++);
     }
 
+    /**
+     * Returns a {@code LongCollector} that estimates the number of distinct input
+     * numbers using the HyperLogLog algorithm with the specified precision.
+     *
+     * <p>
+     * The collector uses {@code 2^precision} bytes of memory regardless of the
+     * number of input elements. The relative standard error of the estimate
+     * is about {@code 1.04/sqrt(2^precision)}, e.g. {@code 0.8%} for the
+     * precision 14 (16Kb of memory). The input numbers are hashed directly
+     * without boxing. The result does not depend on the encounter order or on
+     * the way the parallel stream was split.
+     *
+     * @param precision the number of bits used to select the sketch register,
+     *        must be between 4 and 18 inclusive
+     * @return a {@code LongCollector} that estimates the number of distinct input
+     *         numbers
+     * @throws IllegalArgumentException if the precision is out of bounds
+     * @see MoreCollectors#approximateDistinctCount(Function, int)
+     * @since 0.6.8
+     */
+    static LongCollector<?, Long> approximateDistinctCount(int precision) {
+        return HyperLogLog.partialCollector(precision).asLong(HyperLogLog::addLong);
+    }
+
     /**
      * Returns a {@code LongCollector} that produces the sum of the input
      * elements. If no elements are present, the result is 0.
@@ -238,6 +262,201 @@ public interface LongCollector<A, R> extends MergingCollector<Long, A, R> {
         return reducing(Long::max);
     }
 
+    /**
+     * Returns a {@code LongCollector} which collects at most specified number
+     * of the least input elements according to natural order into the sorted
+     * array (least element is the first).
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted().limit(n).toArray()}, but usually performed much
+     * faster and with O(n) memory if {@code n} is much less than the stream
+     * size. The elements are not boxed.
+     *
+     * @param n maximum number of stream elements to preserve
+     * @return a {@code LongCollector} which produces an array containing the
+     *         least n input elements or less if the input was shorter
+     * @see #greatest(int)
+     * @see #leastIndices(int)
+     * @see MoreCollectors#least(int)
+     * @since 0.6.8
+     */
+    static LongCollector<?, long[]> least(int n) {
+        return PrimitiveLimiter.partialCollector(n, false, l -> l.toLongArray(false)).asLong(PrimitiveLimiter::add);
+    }
+
+    /**
+     * Returns a {@code LongCollector} which collects at most specified number
+     * of the greatest input elements according to natural order into the array
+     * sorted in reverse order (greatest element is the first).
+     *
+     * <p>
+     * The operation performed by the returned collector is equivalent to
+     * {@code stream.sorted().limit(n).toArray()} applied to the reversed
+     * order, but usually performed much faster and with O(n) memory if
+     * {@code n} is much less than the stream size. The elements are not
+     * boxed.
+     *
+     * @param n maximum number of stream elements to preserve
+     * @return a {@code LongCollector} which produces an array containing the
+     *         greatest n input elements or less if the input was shorter
+     * @see #least(int)
+     * @see #greatestIndices(int)
+     * @see MoreCollectors#greatest(int)
+     * @since 0.6.8
+     */
+    static LongCollector<?, long[]> greatest(int n) {
+        return PrimitiveLimiter.partialCollector(n, false, l -> l.toLongArray(true))
+                .asLong((l, v) -> l.add(PrimitiveLimiter.reverse(v)));
+    }
+
+    /**
+     * Returns a {@code LongCollector} which collects the zero-based positions
+     * of at most specified number of the least input elements according to
+     * natural order. The positions are sorted by the corresponding elements
+     * (position of the least element is the first); the positions of equal
+     * elements are sorted in ascending order.
+     *
+     * @param n maximum number of positions to return
+     * @return a {@code LongCollector} which produces an array containing the
+     *         positions of the least n input elements
+     * @see #least(int)
+     * @see #greatestIndices(int)
+     * @see MoreCollectors#minIndex()
+     * @since 0.6.8
+     */
+    static LongCollector<?, long[]> leastIndices(int n) {
+        return PrimitiveLimiter.partialCollector(n, true, PrimitiveLimiter::positions).asLong(PrimitiveLimiter::add);
+    }
+
+    /**
+     * Returns a {@code LongCollector} which collects the zero-based positions
+     * of at most specified number of the greatest input elements according to
+     * natural order. The positions are sorted by the corresponding elements in
+     * reverse order (position of the greatest element is the first); the
+     * positions of equal elements are sorted in ascending order.
+     *
+     * @param n maximum number of positions to return
+     * @return a {@code LongCollector} which produces an array containing the
+     *         positions of the greatest n input elements
+     * @see #greatest(int)
+     * @see #leastIndices(int)
+     * @see MoreCollectors#maxIndex()
+     * @since 0.6.8
+     */
+    static LongCollector<?, long[]> greatestIndices(int n) {
+        return PrimitiveLimiter.partialCollector(n, true, PrimitiveLimiter::positions)
+                .asLong((l, v) -> l.add(PrimitiveLimiter.reverse(v)));
+    }
+
+    /**
+     * Returns a {@code LongCollector} which counts the input elements in the
+     * consecutive buckets of the same width and produces the immutable
+     * {@link Histogram}. The first bucket starts at {@code origin}; the
+     * elements outside of all the buckets are counted as underflow or overflow.
+     *
+     * <p>
+     * The elements are not boxed: the bucket is found by integer arithmetic and
+     * the counts are accumulated into the {@code long[]} array. The partial
+     * results of parallel stream are merged by array addition.
+     *
+     * @param origin the lower bound of the first bucket (inclusive)
+     * @param width the width of every bucket
+     * @param buckets the number of buckets
+     * @return a {@code LongCollector} which produces the {@code Histogram} of
+     *         the input elements
+     * @throws IllegalArgumentException if width or buckets is not positive
+     * @see #exponentialHistogram(long, double, int)
+     * @see Histogram#percentile(double)
+     * @since 0.6.8
+     */
+    static LongCollector<?, Histogram> histogram(long origin, long width, int buckets) {
+        double[] boundaries = Histogram.fixedBoundaries(origin, width, buckets);
+        return Histogram.partialCollector(boundaries).asLong(
+            (c, v) -> c[Histogram.fixedBucket(v, origin, width, buckets)]++);
+    }
+
+    /**
+     * Returns a {@code LongCollector} which counts the input elements in the
+     * buckets of exponentially growing width and produces the immutable
+     * {@link Histogram}. The bucket boundaries are
+     * {@code first, first*factor, first*factor^2, ..., first*factor^buckets}.
+     * The elements outside of all the buckets are counted as underflow or
+     * overflow.
+     *
+     * <p>
+     * The elements are not boxed: the counts are accumulated into the
+     * {@code long[]} array and the partial results of parallel stream are
+     * merged by array addition.
+     *
+     * @param first the lower bound of the first bucket (inclusive)
+     * @param factor the ratio between the upper and the lower bound of every
+     *        bucket
+     * @param buckets the number of buckets
+     * @return a {@code LongCollector} which produces the {@code Histogram} of
+     *         the input elements
+     * @throws IllegalArgumentException if first or buckets is not positive,
+     *         factor is not greater than 1 or the last boundary is not finite
+     * @see #histogram(long, long, int)
+     * @see Histogram#percentile(double)
+     * @since 0.6.8
+     */
+    static LongCollector<?, Histogram> exponentialHistogram(long first, double factor, int buckets) {
+        double[] boundaries = Histogram.exponentialBoundaries(first, factor, buckets);
+        return Histogram.partialCollector(boundaries).asLong((c, v) -> c[Histogram.bucket(boundaries, v)]++);
+    }
+
+    /**
+     * Returns a {@code LongCollector} that estimates the quantiles of the input
+     * elements using a mergeable KLL sketch of the default size (about 1%
+     * rank error). The quantile for fraction {@code q} is the least input
+     * element whose rank is not less than {@code q} times the number of
+     * elements, so fraction 0 gives the minimum and 1 gives the maximum. Every
+     * returned quantile is one of the input elements. The result is exact as
+     * long as the number of elements does not exceed the sketch capacity
+     * (several hundred elements).
+     *
+     * <p>
+     * The memory used by the collector grows only logarithmically with the
+     * number of elements, and the partial results of parallel stream are
+     * merged without losing accuracy. If no elements are present, an empty
+     * array is returned.
+     *
+     * @param fractions quantile fractions between 0 and 1, like {@code 0.5,
+     *        0.99, 0.999}
+     * @return a {@code LongCollector} which produces an array of quantiles in
+     *         the same order as the supplied fractions or an empty array if the
+     *         input is empty
+     * @throws IllegalArgumentException if some fraction is not between 0 and
+     *         1
+     * @see #quantiles(double[], int)
+     * @since 0.6.8
+     */
+    static LongCollector<?, long[]> quantiles(double... fractions) {
+        return quantiles(fractions, QuantileSketch.DEFAULT_K);
+    }
+
+    /**
+     * Returns a {@code LongCollector} that estimates the quantiles of the input
+     * elements using a mergeable KLL sketch of the given size. The normalized
+     * rank error is about {@code 1.65/k}, while the sketch retains about
+     * {@code 3k} elements.
+     *
+     * @param fractions quantile fractions between 0 and 1
+     * @param k sketch size, at least 8
+     * @return a {@code LongCollector} which produces an array of quantiles in
+     *         the same order as the supplied fractions or an empty array if the
+     *         input is empty
+     * @throws IllegalArgumentException if k is less than 8 or some fraction
+     *         is not between 0 and 1
+     * @see #quantiles(double...)
+     * @since 0.6.8
+     */
+    static LongCollector<?, long[]> quantiles(double[] fractions, int k) {
+        double[] qs = QuantileSketch.checkFractions(fractions);
+        return QuantileSketch.partialCollector(k, sketch -> sketch.quantilesOfLongs(qs)).asLong(QuantileSketch::add);
+    }
+
     /**
      * Adapts a {@code LongCollector} to another one by applying a mapping
      * function to each input element before accumulation.
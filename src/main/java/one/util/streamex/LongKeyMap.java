@@ -0,0 +1,263 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import one.util.streamex.LongObjEntryStream.LongObjConsumer;
+
+/**
+ * Open-addressing hash table with primitive {@code long} keys. The null value
+ * marks an empty slot, so the accumulated values must be non-null; the null
+ * results of {@link #mapValues(Function)} are stored as a sentinel. Keys are
+ * never boxed during accumulation; the {@code Map} view is read-only and
+ * boxes keys only when they are requested via iteration.
+ *
+ * @param <V> type of the values
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class LongKeyMap<V> extends AbstractMap<Long, V> {
+    private static final int INITIAL_CAPACITY = 16;
+    // stands for the null value produced by mapValues
+    private static final Object NULL = new Object();
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    LongKeyMap() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int pos = hash(key) & mask;
+        while (values[pos] != null && keys[pos] != key) {
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    V get(long key) {
+        return unmask(values[slot(key)]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V unmask(Object value) {
+        return value == NULL ? null : (V) value;
+    }
+
+    /**
+     * Returns the value associated with the key creating it via the supplied
+     * function if absent.
+     *
+     * @param key key to look up
+     * @param factory function to create the value for the absent key; must
+     *        not return null
+     * @return the value associated with the key
+     */
+    @SuppressWarnings("unchecked")
+    V getOrCreate(long key, LongFunction<? extends V> factory) {
+        int pos = slot(key);
+        Object value = values[pos];
+        if (value == null) {
+            value = factory.apply(key);
+            insert(pos, key, value);
+        }
+        return (V) value;
+    }
+
+    /**
+     * Associates the value with the key if the key is absent.
+     *
+     * @param key key to associate the value with
+     * @param value non-null value
+     * @return the previous value or null if the value was associated
+     */
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(long key, V value) {
+        int pos = slot(key);
+        Object oldValue = values[pos];
+        if (oldValue == null)
+            insert(pos, key, value);
+        return (V) oldValue;
+    }
+
+    /**
+     * Associates the value with the key combining it with the previous value
+     * if the key is present.
+     *
+     * @param key key to associate the value with
+     * @param value non-null value
+     * @param combiner function to combine the previous and the new values
+     */
+    @SuppressWarnings("unchecked")
+    void merge(long key, V value, BinaryOperator<V> combiner) {
+        int pos = slot(key);
+        if (values[pos] == null) {
+            insert(pos, key, value);
+        } else {
+            values[pos] = combiner.apply((V) values[pos], value);
+        }
+    }
+
+    private void insert(int pos, long key, Object value) {
+        keys[pos] = key;
+        values[pos] = value;
+        if (++size * 2 > keys.length)
+            rehash();
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int pos = slot(oldKeys[i]);
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Merges all the mappings of other map into this one combining the values
+     * for equal keys with the supplied combiner.
+     *
+     * @param other map to merge from
+     * @param combiner function to combine two values
+     */
+    @SuppressWarnings("unchecked")
+    void mergeAll(LongKeyMap<V> other, BinaryOperator<V> combiner) {
+        for (int i = 0; i < other.keys.length; i++) {
+            Object otherValue = other.values[i];
+            if (otherValue != null) {
+                long key = other.keys[i];
+                int pos = slot(key);
+                if (values[pos] == null) {
+                    insert(pos, key, otherValue);
+                } else {
+                    values[pos] = combiner.apply((V) values[pos], (V) otherValue);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces every value with the result of the given function in-place.
+     *
+     * @param <R> new type of the values
+     * @param mapper function to apply; may return null
+     * @return this map with the new value type
+     */
+    @SuppressWarnings("unchecked")
+    <R> LongKeyMap<R> mapValues(Function<? super V, ? extends R> mapper) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                R value = mapper.apply((V) values[i]);
+                values[i] = value == null ? NULL : value;
+            }
+        }
+        return (LongKeyMap<R>) this;
+    }
+
+    /**
+     * Performs the given action on every mapping without boxing the keys.
+     *
+     * @param action action to perform
+     */
+    void forEachLong(LongObjConsumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null)
+                action.accept(keys[i], unmask(values[i]));
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Long ? get(((Long) key).longValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Long && values[slot(((Long) key).longValue())] != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super Long, ? super V> action) {
+        forEachLong(action::accept);
+    }
+
+    @Override
+    public Set<Map.Entry<Long, V>> entrySet() {
+        return new AbstractSet<Map.Entry<Long, V>>() {
+            @Override
+            public Iterator<Map.Entry<Long, V>> iterator() {
+                return new Iterator<Map.Entry<Long, V>>() {
+                    int pos = advance(0);
+
+                    private int advance(int from) {
+                        while (from < values.length && values[from] == null)
+                            from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return pos < values.length;
+                    }
+
+                    @Override
+                    public Map.Entry<Long, V> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+                        Map.Entry<Long, V> entry = new SimpleImmutableEntry<>(keys[pos], unmask(values[pos]));
+                        pos = advance(pos + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -275,6 +275,26 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return new DoubleStreamEx(stream().mapToDouble(mapper), context);
     }
 
+    /**
+     * Returns an {@link LongObjEntryStream} consisting of the entries which
+     * keys are the elements of this stream and the values are results of
+     * applying the given function to the elements of this stream. The keys
+     * are not boxed.
+     *
+     * <p>
+     * This is an intermediate operation.
+     *
+     * @param <V> The entry value type
+     * @param valueMapper a non-interfering, stateless function to apply to each
+     *        element
+     * @return the new stream
+     * @since 0.6.8
+     */
+    public <V> LongObjEntryStream<V> mapToEntry(LongFunction<? extends V> valueMapper) {
+        return new LongObjEntryStream<>(stream().mapToObj(t -> LongObjEntryStream.entry(t, valueMapper.apply(t))),
+                context);
+    }
+
     /**
      * Returns an {@link EntryStream} consisting of the {@link Entry} objects
      * which keys and values are results of applying the given functions to the
@@ -523,6 +543,29 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return new LongStreamEx(stream().peek(action), context);
     }
 
+    /**
+     * Returns a stream consisting of the elements of this stream, additionally
+     * recording the statistics of the elements passing this point of the
+     * pipeline into the new {@link PipelineMetrics.Stage} registered in the
+     * supplied {@code PipelineMetrics}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation. The stage records the number of elements, the time spent by
+     * the upstream operations to produce them, the number of splits performed
+     * at this point during the parallel processing and the number of elements
+     * processed by every thread. Instrument several points of the pipeline to
+     * find out which operations between them take the most time.
+     *
+     * @param metrics the metrics object to register the stage in
+     * @param stageName the name of the stage to use in the report
+     * @return the new stream
+     * @since 0.6.8
+     */
+    public LongStreamEx instrument(PipelineMetrics metrics, String stageName) {
+        return delegate(new InstrumentedSpliterator.OfLong(spliterator(), metrics.stage(stageName)));
+    }
+
     /**
      * Returns a stream consisting of the elements of this stream, additionally
      * performing the provided action on the first stream element when it's
@@ -679,6 +722,8 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
 
     @Override
     public long[] toArray() {
+        if (spliterator instanceof RangeBasedSpliterator.OfLongArray)
+            return ((RangeBasedSpliterator.OfLongArray) spliterator()).toArray(0);
         if (context.fjp != null)
             return context.terminate(stream()::toArray);
         return stream().toArray();
@@ -822,6 +867,9 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @since 0.5.1
      */
     public long[] scanLeft(LongBinaryOperator accumulator) {
+        if (spliterator instanceof RangeBasedSpliterator.OfLongArray) {
+            return scanInPlace(((RangeBasedSpliterator.OfLongArray) spliterator()).toArray(0), accumulator);
+        }
         Spliterator.OfLong spliterator = spliterator();
         long size = spliterator.getExactSizeIfKnown();
         LongBuffer buf = new LongBuffer(size >= 0 && size <= Integer.MAX_VALUE ? (int) size : INITIAL_SIZE);
@@ -858,9 +906,21 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @since 0.5.1
      */
     public long[] scanLeft(long seed, LongBinaryOperator accumulator) {
+        if (spliterator instanceof RangeBasedSpliterator.OfLongArray) {
+            long[] result = ((RangeBasedSpliterator.OfLongArray) spliterator()).toArray(1);
+            result[0] = seed;
+            return scanInPlace(result, accumulator);
+        }
         return prepend(seed).scanLeft(accumulator);
     }
 
+    private static long[] scanInPlace(long[] array, LongBinaryOperator accumulator) {
+        for (int i = 1; i < array.length; i++) {
+            array[i] = accumulator.applyAsLong(array[i - 1], array[i]);
+        }
+        return array;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1422,6 +1482,33 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return delegate(new PairSpliterator.PSOfLong(mapper, null, spliterator(), PairSpliterator.MODE_PAIRS));
     }
 
+    /**
+     * Returns a stream consisting of arrays of {@code size} consecutive
+     * elements of this stream. The last array may contain fewer elements if
+     * the number of stream elements is not a multiple of {@code size}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation.
+     *
+     * <p>
+     * The resulting stream parallelizes well if this stream has known size and
+     * its spliterator reports {@link Spliterator#SUBSIZED} characteristic (like
+     * streams created from arrays or ranges): the splitting is performed at
+     * chunk boundaries buffering at most {@code size - 1} elements per split.
+     *
+     * @param size the number of elements in every array (except possibly the
+     *        last one), must be positive
+     * @return the new stream
+     * @throws IllegalArgumentException if size is not positive
+     * @since 0.6.8
+     * @see StreamEx#chunked(int)
+     */
+    public StreamEx<long[]> chunked(int size) {
+        checkChunkSize(size);
+        return new StreamEx<>(new ChunkedSpliterator.OfLong(spliterator(), size), context);
+    }
+
     /**
      * Returns a {@link String} which is the concatenation of the results of
      * calling {@link String#valueOf(long)} on each element of this stream,
@@ -1568,6 +1655,42 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
         return delegate(new PrefixOps.OfLong(spliterator(), op));
     }
 
+    /**
+     * Returns a stream containing cumulative results of applying the
+     * accumulation function going left to right, computing them in parallel
+     * for the parallel stream.
+     *
+     * <p>
+     * This is a stateful <a
+     * href="package-summary.html#StreamOps">quasi-intermediate</a> operation.
+     *
+     * <p>
+     * Unlike {@link #prefix(LongBinaryOperator)}, for the parallel stream with
+     * an ordered source of known size all the elements are buffered into an
+     * array when the terminal operation starts, then the prefix is computed by
+     * {@link java.util.Arrays#parallelPrefix(long[], LongBinaryOperator)}. Thus
+     * the whole source is consumed and the memory proportional to its size is
+     * allocated even if the terminal operation is short-circuiting. Use this
+     * method only if all the resulting elements are consumed, like {@code
+     * LongStreamEx.of(array).parallel().parallelPrefix(Long::sum).toArray()}.
+     * For the sequential stream or the source of unknown size this method
+     * behaves like {@code prefix(op)}.
+     *
+     * @param op an <a href="package-summary.html#Associativity">associative</a>
+     *        , <a href="package-summary.html#NonInterference">non-interfering
+     *        </a>, <a href="package-summary.html#Statelessness">stateless</a>
+     *        function for computing the next element based on the previous one
+     * @return the new stream.
+     * @see #prefix(LongBinaryOperator)
+     * @since 0.6.8
+     */
+    public LongStreamEx parallelPrefix(LongBinaryOperator op) {
+        Spliterator.OfLong spliterator = spliterator();
+        if (isParallel() && PrefixOps.isParallelizable(spliterator))
+            return new LongStreamEx(PrefixOps.parallel(spliterator, op), context);
+        return delegate(new PrefixOps.OfLong(spliterator, op));
+    }
+
     // Necessary to generate proper JavaDoc
     // does not add overhead as it appears in bytecode anyways as bridge method
     @Override
@@ -1602,7 +1725,7 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @return the new stream
      */
     public static LongStreamEx of(long... elements) {
-        return of(Arrays.spliterator(elements));
+        return of(new RangeBasedSpliterator.OfLongArray(0, elements.length, elements));
     }
 
     /**
@@ -1621,7 +1744,8 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
      * @see Arrays#stream(long[], int, int)
      */
     public static LongStreamEx of(long[] array, int startInclusive, int endExclusive) {
-        return of(Arrays.spliterator(array, startInclusive, endExclusive));
+        rangeCheck(array.length, startInclusive, endExclusive);
+        return of(new RangeBasedSpliterator.OfLongArray(startInclusive, endExclusive, array));
     }
 
     /**
@@ -2160,4 +2284,35 @@ public class LongStreamEx extends BaseStreamEx<Long, LongStream, Spliterator.OfL
             return of(spliterator());
         }
     }
+
+    /**
+     * An {@link LongEmitter} which can be split into two independent emitters,
+     * allowing the stream created from it to be processed in parallel. This
+     * is useful for generators which produce the elements of some range (like
+     * paginated scans of key ranges), as the range can be divided in halves.
+     * 
+     * @author Tagir Valeev
+     *
+     * @since 0.6.8
+     * @see LongStreamEx.LongEmitter
+     */
+    public interface SplittableLongEmitter extends LongEmitter {
+        /**
+         * Tries to split this emitter. If successful, returns the emitter which
+         * emits the prefix of the elements, while this emitter (and the
+         * emitters it returns from {@code next()}) will emit the rest of the
+         * elements only. The emitters returned from {@code next()} may
+         * implement {@code SplittableLongEmitter} as well to allow further
+         * splitting.
+         * 
+         * <p>
+         * This method is never called concurrently with {@code next()} and
+         * never called when the elements emitted by the previous
+         * {@code next()} call are not consumed yet.
+         * 
+         * @return the emitter covering the prefix of the elements or null if
+         *         this emitter cannot be split
+         */
+        LongEmitter trySplit();
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A spliterator which applies the mapper function to the source elements
+ * asynchronously, keeping at most {@code maxConcurrency} tasks in flight. The
+ * source is read lazily: new elements are requested only when the consumer
+ * asks for the next result and the window is not full. In ordered mode the
+ * results are delivered in the source order, otherwise in the order of
+ * completion.
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class MapConcurrentSpliterator<T, R> implements Spliterator<R>, Consumer<T> {
+    /**
+     * Executor which starts a new daemon thread for every task. The number of
+     * threads is bounded by the window size anyway.
+     */
+    static final Executor THREAD_PER_TASK = task -> {
+        Thread thread = new Thread(task, "StreamEx-mapConcurrent");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private final Spliterator<T> source;
+    private final Function<? super T, ? extends R> mapper;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final boolean ordered;
+    // tasks in submission order
+    private final ArrayDeque<Future<R>> inFlight = new ArrayDeque<>();
+    // completed tasks in completion order; used in unordered mode only
+    private final BlockingQueue<Future<R>> completed;
+
+    MapConcurrentSpliterator(Spliterator<T> source, int maxConcurrency, Executor executor,
+            Function<? super T, ? extends R> mapper, boolean ordered) {
+        this.source = source;
+        this.mapper = mapper;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.ordered = ordered;
+        this.completed = ordered ? null : new LinkedBlockingQueue<>();
+    }
+
+    @Override
+    public void accept(T t) {
+        FutureTask<R> task = ordered ? new FutureTask<>(() -> mapper.apply(t)) : new FutureTask<R>(() -> mapper
+                .apply(t)) {
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+        };
+        inFlight.add(task);
+        executor.execute(task);
+    }
+
+    private Future<R> next() {
+        while (inFlight.size() < maxConcurrency && source.tryAdvance(this)) {
+            // fill the window
+        }
+        if (inFlight.isEmpty())
+            return null;
+        if (ordered)
+            return inFlight.poll();
+        try {
+            Future<R> future = completed.take();
+            inFlight.remove(future);
+            return future;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new CancellationException("Interrupted while waiting for the mapper");
+        }
+    }
+
+    private R get(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            close();
+            throw new CancellationException("Interrupted while waiting for the mapper");
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Cancels all the tasks which are still in flight.
+     */
+    void close() {
+        for (Future<R> future = inFlight.poll(); future != null; future = inFlight.poll()) {
+            future.cancel(true);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        Future<R> future = next();
+        if (future == null)
+            return false;
+        action.accept(get(future));
+        return true;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = source.estimateSize();
+        return size == Long.MAX_VALUE ? size : size + inFlight.size();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ((ordered ? ORDERED : 0) | SIZED);
+    }
+}
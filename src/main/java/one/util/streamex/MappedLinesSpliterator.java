@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the lines of the byte range of a file which maps the file
+ * into memory window by window. Splits at the byte offset in the middle of the
+ * range, moving the split point forward to the next line feed, so every part
+ * contains whole lines only. Lines are decoded only when they are consumed.
+ *
+ * <p>
+ * Only the charsets which encode {@code '\n'} and {@code '\r'} as single bytes
+ * never appearing inside other characters are supported (see
+ * {@link #isSupported(Charset)}).
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class MappedLinesSpliterator implements Spliterator<String> {
+    static final int DEFAULT_WINDOW = 1 << 26;
+    private static final int MIN_SPLIT = 1 << 13;
+    private static final int SCAN_CHUNK = 1 << 13;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final int window;
+    private final int minSplit;
+    private long pos;
+    private final long fence;
+    private CharsetDecoder decoder;
+    private ByteBuffer buf;
+    private long bufStart;
+
+    MappedLinesSpliterator(FileChannel channel, Charset charset, long pos, long fence, int window, int minSplit) {
+        this.channel = channel;
+        this.charset = charset;
+        this.pos = pos;
+        this.fence = fence;
+        this.window = window;
+        this.minSplit = minSplit;
+    }
+
+    MappedLinesSpliterator(FileChannel channel, Charset charset, long fence) {
+        this(channel, charset, 0, fence, DEFAULT_WINDOW, MIN_SPLIT);
+    }
+
+    static boolean isSupported(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+            || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Maps the region starting at given file position which is at least
+     * {@code minLength} bytes long (unless fence is reached).
+     */
+    private void map(long from, long minLength) {
+        long length = Math.min(fence - from, Math.min(Integer.MAX_VALUE, Math.max(window, minLength)));
+        try {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+            buf = mapped;
+            bufStart = from;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String decode(int from, int to) {
+        if (decoder == null) {
+            decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(
+                CodingErrorAction.REPORT);
+        }
+        ByteBuffer line = buf.duplicate();
+        line.limit(to).position(from);
+        try {
+            return decoder.decode(line).toString();
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the next line and advances the position.
+     *
+     * @return the line or null if there are no more lines
+     */
+    private String nextLine() {
+        if (pos >= fence)
+            return null;
+        if (buf == null || pos < bufStart || pos >= bufStart + buf.limit())
+            map(pos, 0);
+        while (true) {
+            int start = (int) (pos - bufStart);
+            int limit = buf.limit();
+            boolean atFence = bufStart + limit == fence;
+            for (int i = start; i < limit; i++) {
+                byte b = buf.get(i);
+                if (b == '\n' || b == '\r') {
+                    int next = i + 1;
+                    if (b == '\r') {
+                        if (next == limit && !atFence)
+                            break; // cannot check for "\r\n": remap
+                        if (next < limit && buf.get(next) == '\n')
+                            next++;
+                    }
+                    pos = bufStart + next;
+                    return decode(start, i);
+                }
+            }
+            if (atFence) {
+                pos = fence;
+                return decode(start, limit);
+            }
+            // the line does not fit into the current window
+            map(pos, (bufStart + limit - pos) * 2);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        String line = nextLine();
+        if (line == null)
+            return false;
+        action.accept(line);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super String> action) {
+        for (String line = nextLine(); line != null; line = nextLine()) {
+            action.accept(line);
+        }
+    }
+
+    /**
+     * Returns the position right after the first line feed found at or after
+     * given position, or fence if there's no line feed.
+     */
+    private long lineStartAfter(long from) {
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK);
+        while (from < fence) {
+            chunk.clear();
+            if (fence - from < chunk.capacity())
+                chunk.limit((int) (fence - from));
+            int read;
+            try {
+                read = channel.read(chunk, from);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (read <= 0)
+                break;
+            for (int i = 0; i < read; i++) {
+                if (chunk.get(i) == '\n')
+                    return from + i + 1;
+            }
+            from += read;
+        }
+        return fence;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        if (fence - pos < minSplit)
+            return null;
+        long mid = lineStartAfter(pos + (fence - pos) / 2);
+        if (mid >= fence)
+            return null;
+        MappedLinesSpliterator prefix = new MappedLinesSpliterator(channel, charset, pos, mid, window, minSplit);
+        pos = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // the number of bytes is the upper bound for the number of lines
+        return fence - pos;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
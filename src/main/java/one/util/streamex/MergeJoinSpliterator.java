@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A spliterator which joins two sources sorted by the join key. The left
+ * source is streamed; the right elements having the same key as the current
+ * left element are buffered (only one such run at a time) and paired with
+ * every left element having that key. The unmatched elements are either
+ * skipped or paired with null depending on join type.
+ *
+ * @param <T> type of the left elements
+ * @param <U> type of the right elements
+ * @param <R> type of the result
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class MergeJoinSpliterator<T, U, R> extends AbstractSpliterator<R> {
+    private final Spliterator<T> leftSource;
+    private final Spliterator<U> rightSource;
+    private final ToIntBiFunction<? super T, ? super U> comparator;
+    private final BiFunction<? super T, ? super U, ? extends R> mapper;
+    private final boolean keepLeft, keepRight;
+    private final Consumer<T> leftSetter = t -> left = t;
+    private final Consumer<U> rightSetter = u -> right = u;
+    private boolean started, hasLeft, hasRight;
+    private T left;
+    private U right;
+    private final List<U> run = new ArrayList<>();
+    private int runPos = -1;
+
+    MergeJoinSpliterator(Spliterator<T> leftSource, Spliterator<U> rightSource,
+            ToIntBiFunction<? super T, ? super U> comparator, BiFunction<? super T, ? super U, ? extends R> mapper,
+            boolean keepLeft, boolean keepRight) {
+        super(Long.MAX_VALUE, leftSource.characteristics() & rightSource.characteristics() & ORDERED);
+        this.leftSource = leftSource;
+        this.rightSource = rightSource;
+        this.comparator = comparator;
+        this.mapper = mapper;
+        this.keepLeft = keepLeft;
+        this.keepRight = keepRight;
+    }
+
+    private void advanceLeft() {
+        hasLeft = leftSource.tryAdvance(leftSetter);
+        if (!hasLeft)
+            left = null;
+    }
+
+    private void advanceRight() {
+        hasRight = rightSource.tryAdvance(rightSetter);
+        if (!hasRight)
+            right = null;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        if (!started) {
+            started = true;
+            advanceLeft();
+            advanceRight();
+        }
+        while (true) {
+            if (runPos >= 0) {
+                if (runPos < run.size()) {
+                    action.accept(mapper.apply(left, run.get(runPos++)));
+                    return true;
+                }
+                advanceLeft();
+                if (hasLeft && comparator.applyAsInt(left, run.get(0)) == 0) {
+                    runPos = 0;
+                    continue;
+                }
+                run.clear();
+                runPos = -1;
+            }
+            if (!hasLeft) {
+                if (!keepRight || !hasRight)
+                    return false;
+                R result = mapper.apply(null, right);
+                advanceRight();
+                action.accept(result);
+                return true;
+            }
+            int cmp = hasRight ? comparator.applyAsInt(left, right) : -1;
+            if (cmp < 0) {
+                if (!hasRight && !keepLeft)
+                    return false;
+                T t = left;
+                advanceLeft();
+                if (keepLeft) {
+                    action.accept(mapper.apply(t, null));
+                    return true;
+                }
+            } else if (cmp > 0) {
+                U u = right;
+                advanceRight();
+                if (keepRight) {
+                    action.accept(mapper.apply(null, u));
+                    return true;
+                }
+            } else {
+                do {
+                    run.add(right);
+                    advanceRight();
+                } while (hasRight && comparator.applyAsInt(left, right) == 0);
+                runPos = 0;
+            }
+        }
+    }
+}
@@ -34,6 +34,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
@@ -42,6 +43,7 @@ import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
@@ -165,6 +167,183 @@ public final class MoreCollectors {
         return Collectors.collectingAndThen(Collectors.mapping(mapper, Collectors.toSet()), Set::size);
     }
 
+    /**
+     * Returns a {@code Collector} which estimates the number of distinct values
+     * the mapper function returns for the stream elements using the
+     * HyperLogLog algorithm with the specified precision.
+     *
+     * <p>
+     * Unlike {@link #distinctCount(Function)} this collector does not store the
+     * values: it uses {@code 2^precision} bytes of memory regardless of the
+     * stream size and the number of distinct values. The relative standard
+     * error of the estimate is about {@code 1.04/sqrt(2^precision)}, e.g.
+     * {@code 0.8%} for the precision 14 (16Kb of memory). The values are
+     * distinguished by their {@link Object#hashCode() hash codes} only, so the
+     * values having equal hash codes are counted once. The result does not
+     * depend on the encounter order or on the way the parallel stream was
+     * split.
+     *
+     * <p>
+     * As hash codes have only 32 bits, their collisions make the estimate
+     * lower for big cardinalities even if the hash codes are perfectly
+     * distributed: it's about 1% lower for 10^8 distinct values and about
+     * 11% lower for 10^9 distinct values. Use
+     * {@link #approximateDistinctCountByHash(ToLongFunction, int)} with a
+     * 64-bit hash function to count that many values.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper a function which classifies input elements.
+     * @param precision the number of hash bits used to select the sketch
+     *        register, must be between 4 and 18 inclusive
+     * @return a collector which estimates the number of distinct classes the
+     *         mapper function returns for the stream elements.
+     * @throws IllegalArgumentException if the precision is out of bounds
+     * @see #distinctCount(Function)
+     * @see #approximateDistinctCount(Function)
+     * @see #approximateDistinctCountByHash(ToLongFunction, int)
+     * @since 0.6.8
+     */
+    public static <T> Collector<T, ?, Long> approximateDistinctCount(Function<? super T, ?> mapper, int precision) {
+        return HyperLogLog.partialCollector(precision).asRef((hll, t) -> hll.add(mapper.apply(t)));
+    }
+
+    /**
+     * Returns a {@code Collector} which estimates the number of distinct values
+     * the mapper function returns for the stream elements using the
+     * HyperLogLog algorithm.
+     *
+     * <p>
+     * This is equivalent to {@code approximateDistinctCount(mapper, 14)}: it
+     * uses 16Kb of memory and the relative standard error of the estimate is
+     * about {@code 0.8%}. Only 32-bit hash codes of the values are used, see
+     * {@link #approximateDistinctCount(Function, int)} for the consequences.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper a function which classifies input elements.
+     * @return a collector which estimates the number of distinct classes the
+     *         mapper function returns for the stream elements.
+     * @see #approximateDistinctCount(Function, int)
+     * @since 0.6.8
+     */
+    public static <T> Collector<T, ?, Long> approximateDistinctCount(Function<? super T, ?> mapper) {
+        return approximateDistinctCount(mapper, HyperLogLog.DEFAULT_PRECISION);
+    }
+
+    /**
+     * Returns a {@code Collector} which estimates the number of distinct
+     * 64-bit hashes the hasher function returns for the stream elements using
+     * the HyperLogLog algorithm with the specified precision.
+     *
+     * <p>
+     * This collector works like
+     * {@link #approximateDistinctCount(Function, int)}, but the elements are
+     * distinguished by the 64-bit hashes, so the hash collisions do not bias
+     * the estimate for any practical cardinality. The hasher may return
+     * {@code long} keys (like database identifiers) directly: the hashes are
+     * additionally mixed before use.
+     *
+     * @param <T> the type of the input elements
+     * @param hasher a function which returns the 64-bit hash of the input
+     *        element.
+     * @param precision the number of hash bits used to select the sketch
+     *        register, must be between 4 and 18 inclusive
+     * @return a collector which estimates the number of distinct hashes the
+     *         hasher function returns for the stream elements.
+     * @throws IllegalArgumentException if the precision is out of bounds
+     * @see #approximateDistinctCount(Function, int)
+     * @since 0.6.8
+     */
+    public static <T> Collector<T, ?, Long> approximateDistinctCountByHash(ToLongFunction<? super T> hasher,
+            int precision) {
+        return HyperLogLog.partialCollector(precision).asRef((hll, t) -> hll.addLong(hasher.applyAsLong(t)));
+    }
+
+    /**
+     * Returns a {@code Collector} which counts the input elements for every
+     * key the classifier function returns.
+     *
+     * <p>
+     * The result is equivalent to
+     * {@code Collectors.groupingBy(classifier, Collectors.counting())}, but
+     * the counts are accumulated in an open-addressing hash table with
+     * primitive {@code long} values, so no map node and no boxed counter is
+     * created per key. This makes a big difference when the number of
+     * distinct keys is large (e.g. counting word frequencies over a big
+     * corpus). The resulting {@code Map} is read-only; there are no other
+     * guarantees on its type or serializability. The values are boxed only
+     * when they are requested from the resulting map.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to
+     *        non-null keys
+     * @return a {@code Collector} implementing the counting group-by
+     *         operation
+     * @see #summingLongBy(Function, ToLongFunction)
+     * @since 0.6.8
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> countingBy(Function<? super T, ? extends K> classifier) {
+        return summingLongBy(classifier, t -> 1L);
+    }
+
+    /**
+     * Returns a {@code Collector} which sums the values the mapper function
+     * returns for the input elements for every key the classifier function
+     * returns.
+     *
+     * <p>
+     * The result is equivalent to
+     * {@code Collectors.groupingBy(classifier, Collectors.summingLong(mapper))}
+     * , but the sums are accumulated in an open-addressing hash table with
+     * primitive {@code long} values, so no map node and no boxed value is
+     * created per key. The resulting {@code Map} is read-only; there are no
+     * other guarantees on its type or serializability.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to
+     *        non-null keys
+     * @param mapper a function extracting the value to sum
+     * @return a {@code Collector} implementing the summing group-by operation
+     * @see #countingBy(Function)
+     * @see #summingDoubleBy(Function, ToDoubleFunction)
+     * @since 0.6.8
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> summingLongBy(Function<? super T, ? extends K> classifier,
+            ToLongFunction<? super T> mapper) {
+        return ObjLongMap.<K> partialCollector().asRef(
+            (map, t) -> map.add(classifier.apply(t), mapper.applyAsLong(t)));
+    }
+
+    /**
+     * Returns a {@code Collector} which sums the values the mapper function
+     * returns for the input elements for every key the classifier function
+     * returns.
+     *
+     * <p>
+     * The result is equivalent to
+     * {@code Collectors.groupingBy(classifier, Collectors.summingDouble(mapper))}
+     * (including the compensated summation), but the sums are accumulated in
+     * an open-addressing hash table with primitive {@code double} values, so
+     * no map node and no boxed value is created per key. The resulting
+     * {@code Map} is read-only; there are no other guarantees on its type or
+     * serializability.
+     *
+     * @param <T> the type of the input elements
+     * @param <K> the type of the keys
+     * @param classifier a classifier function mapping input elements to
+     *        non-null keys
+     * @param mapper a function extracting the value to sum
+     * @return a {@code Collector} implementing the summing group-by operation
+     * @see #summingLongBy(Function, ToLongFunction)
+     * @since 0.6.8
+     */
+    public static <T, K> Collector<T, ?, Map<K, Double>> summingDoubleBy(
+            Function<? super T, ? extends K> classifier, ToDoubleFunction<? super T> mapper) {
+        return ObjDoubleMap.<K> partialCollector().asRef(
+            (map, t) -> map.add(classifier.apply(t), mapper.applyAsDouble(t)));
+    }
+
     /**
      * Returns a {@code Collector} which collects into the {@link List} the
      * input elements for which given mapper function returns distinct results.
@@ -635,6 +814,173 @@ public final class MoreCollectors {
         }, ArrayList::new);
     }
 
+    /**
+     * Returns a {@code Collector} which collects a uniform random sample of at
+     * most {@code k} stream elements into the {@link List}: every
+     * {@code k}-element subset of the stream elements is equally likely to be
+     * selected. If the stream has no more than {@code k} elements, all of them
+     * are collected.
+     *
+     * <p>
+     * The memory used by the collector is O(k) regardless of the stream size.
+     * The random generator is not called for every element: after {@code k}
+     * elements are collected, the number of elements to skip before the next
+     * replacement is drawn at once (Algorithm L). The partial samples of the
+     * parallel stream are merged preserving the uniformity. Every partial
+     * sample uses a generator split from the supplied one, so for sequential
+     * stream the result is reproducible for the same seed.
+     *
+     * <p>
+     * There are no guarantees on the order of the elements, type, mutability,
+     * serializability, or thread-safety of the {@code List} returned.
+     *
+     * @param <T> the type of the input elements
+     * @param k maximum number of stream elements to sample
+     * @param random the source of randomness
+     * @return a collector which returns a {@code List} containing the random
+     *         sample of the stream elements
+     * @throws IllegalArgumentException if k is negative
+     * @see #weightedSample(int, ToDoubleFunction, SplittableRandom)
+     * @see StreamEx#sample(double, SplittableRandom)
+     * @since 0.6.8
+     */
+    public static <T> Collector<T, ?, List<T>> reservoirSample(int k, SplittableRandom random) {
+        checkNonNegative("k", k);
+        Objects.requireNonNull(random);
+        if (k == 0)
+            return empty();
+        return ReservoirSampler.<T> partialCollector(k, random).asRef(ReservoirSampler::add);
+    }
+
+    /**
+     * Returns a {@code Collector} which collects a weighted random sample of at
+     * most {@code k} stream elements into the {@link List} without
+     * replacement. Every next element of the sample is selected from the rest
+     * elements with the probability proportional to its weight. The elements
+     * having zero weight are never selected. If the stream has no more than
+     * {@code k} elements having positive weight, all of them are collected.
+     *
+     * <p>
+     * The memory used by the collector is O(k) regardless of the stream size.
+     * The random generator is not called for every element: after {@code k}
+     * elements are collected, the total weight of elements to skip before the
+     * next replacement is drawn at once (A-ExpJ algorithm). The partial
+     * samples of the parallel stream are merged preserving the distribution.
+     *
+     * <p>
+     * There are no guarantees on the order of the elements, type, mutability,
+     * serializability, or thread-safety of the {@code List} returned.
+     *
+     * @param <T> the type of the input elements
+     * @param k maximum number of stream elements to sample
+     * @param weightFunction a function which returns the non-negative finite
+     *        weight of the element
+     * @param random the source of randomness
+     * @return a collector which returns a {@code List} containing the random
+     *         sample of the stream elements
+     * @throws IllegalArgumentException if k is negative; the collector throws
+     *         {@code IllegalArgumentException} if the weight of some element is
+     *         negative, infinite or NaN
+     * @see #reservoirSample(int, SplittableRandom)
+     * @since 0.6.8
+     */
+    public static <T> Collector<T, ?, List<T>> weightedSample(int k, ToDoubleFunction<? super T> weightFunction,
+            SplittableRandom random) {
+        checkNonNegative("k", k);
+        Objects.requireNonNull(weightFunction);
+        Objects.requireNonNull(random);
+        if (k == 0)
+            return empty();
+        return WeightedSampler.<T> partialCollector(k, weightFunction, random).asRef(WeightedSampler::add);
+    }
+
+    /**
+     * Returns a {@code Collector} which finds at most {@code k} most frequent
+     * input elements (heavy hitters) using the fixed amount of memory
+     * regardless of the number of distinct elements. The resulting
+     * {@code Map} maps the found elements to their estimated counts and
+     * iterates in the descending order of counts.
+     *
+     * <p>
+     * The collector uses the Space-Saving algorithm tracking at most
+     * {@code max(k, ceil(1/epsilon))} elements. The estimated count is never
+     * less than the actual one and exceeds it by no more than
+     * {@code epsilon*N}, where N is the number of input elements. Every
+     * element occurring more than {@code epsilon*N} times is tracked, so it's
+     * present in the result unless there are {@code k} elements with greater
+     * estimated counts. If the number of distinct elements does not exceed
+     * the number of tracked elements, the counts are exact. The partial
+     * results of parallel stream are merged preserving the error bound.
+     *
+     * <p>
+     * The collector can be used as downstream to find the heavy hitters per
+     * group, like {@code EntryStream.grouping(heavyHitters(10, 0.001))}.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code Map} returned.
+     *
+     * @param <T> the type of the input elements
+     * @param k maximum number of elements to return
+     * @param epsilon the maximal error of the estimated count relative to the
+     *        number of input elements, between 0 and 1 exclusive
+     * @return a collector which returns a {@code Map} from the most frequent
+     *         input elements to their estimated counts
+     * @throws IllegalArgumentException if k is negative or epsilon is not
+     *         between 0 and 1 exclusive
+     * @see #countMinSketch(double, double)
+     * @since 0.6.8
+     */
+    public static <T> Collector<T, ?, Map<T, Long>> heavyHitters(int k, double epsilon) {
+        checkNonNegative("k", k);
+        if (!(epsilon > 0 && epsilon < 1))
+            throw new IllegalArgumentException("epsilon must be between 0 and 1 exclusive: " + epsilon);
+        double counters = Math.ceil(1 / epsilon);
+        if (counters > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("epsilon is too small: " + epsilon);
+        if (k == 0)
+            return empty(LinkedHashMap::new);
+        return SpaceSaving.<T> partialCollector(k, Math.max(k, (int) counters)).asRef(SpaceSaving::add);
+    }
+
+    /**
+     * Returns a {@code Collector} which builds the {@link CountMinSketch} of
+     * the input elements: a summary which estimates the number of occurrences
+     * of any element using the fixed amount of memory regardless of the number
+     * of distinct elements.
+     *
+     * <p>
+     * The sketch has {@code ceil(e/epsilon)} counters in each of
+     * {@code ceil(ln(1/delta))} rows. The estimated count is never less than
+     * the actual one and with probability at least {@code 1-delta} exceeds it
+     * by no more than {@code epsilon*N}, where N is the number of input
+     * elements. The partial results of parallel stream are merged by adding
+     * the counters.
+     *
+     * <p>
+     * The collector can be used as downstream to build the sketch per group,
+     * like {@code EntryStream.grouping(countMinSketch(0.001, 0.01))}.
+     *
+     * @param <T> the type of the input elements
+     * @param epsilon the maximal error of the estimated count relative to the
+     *        number of input elements, between 0 and 1 exclusive
+     * @param delta the probability to exceed the error, between 0 and 1
+     *        exclusive
+     * @return a collector which returns the {@code CountMinSketch} of the input
+     *         elements
+     * @throws IllegalArgumentException if epsilon or delta is not between 0
+     *         and 1 exclusive or the resulting sketch is too big
+     * @see #heavyHitters(int, double)
+     * @since 0.6.8
+     */
+    public static <T> Collector<T, ?, CountMinSketch<T>> countMinSketch(double epsilon, double delta) {
+        int width = CountMinSketch.width(epsilon);
+        int depth = CountMinSketch.depth(delta);
+        CountMinSketch.checkSize(width, depth);
+        return CountMinSketch.<T> partialCollector(width, depth).asRef(
+            (table, t) -> CountMinSketch.add(table, width, depth, t));
+    }
+
     /**
      * Returns a {@code Collector} which collects at most specified number of
      * the greatest stream elements according to the specified
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * Open-addressing hash table with non-null object keys and primitive
+ * {@code double} values which are summed up for equal keys using the Kahan
+ * summation (like {@link java.util.stream.Collectors#summingDouble}). Every
+ * mapping occupies a single reference and two {@code double} slots (the sum
+ * and the compensation). The {@code Map} view is read-only and boxes values
+ * only when they are requested.
+ *
+ * @param <K> type of the keys
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class ObjDoubleMap<K> extends AbstractMap<K, Double> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] keys;
+    private double[] sums;
+    private double[] compensations;
+    private int size;
+
+    ObjDoubleMap() {
+        keys = new Object[INITIAL_CAPACITY];
+        sums = new double[INITIAL_CAPACITY];
+        compensations = new double[INITIAL_CAPACITY];
+    }
+
+    private int slot(Object key) {
+        int mask = keys.length - 1;
+        int pos = ObjLongMap.hash(key) & mask;
+        while (keys[pos] != null && !keys[pos].equals(key)) {
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    private void sum(int pos, double value) {
+        double y = value - compensations[pos];
+        double sum = sums[pos];
+        double t = sum + y;
+        // once the sum is not finite the compensation makes no sense and
+        // would turn the result into NaN
+        compensations[pos] = Double.isFinite(t) ? (t - sum) - y : 0.0;
+        sums[pos] = t;
+    }
+
+    /**
+     * Adds the value to the one associated with the key (zero if absent).
+     *
+     * @param key non-null key
+     * @param value value to add
+     */
+    void add(K key, double value) {
+        Objects.requireNonNull(key, "element cannot be mapped to a null key");
+        int pos = slot(key);
+        if (keys[pos] == null) {
+            keys[pos] = key;
+            sums[pos] = value;
+            if (++size * 2 > keys.length)
+                rehash();
+        } else {
+            sum(pos, value);
+        }
+    }
+
+    private void rehash() {
+        Object[] oldKeys = keys;
+        double[] oldSums = sums;
+        double[] oldCompensations = compensations;
+        keys = new Object[oldKeys.length * 2];
+        sums = new double[oldKeys.length * 2];
+        compensations = new double[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int pos = slot(oldKeys[i]);
+                keys[pos] = oldKeys[i];
+                sums[pos] = oldSums[i];
+                compensations[pos] = oldCompensations[i];
+            }
+        }
+    }
+
+    /**
+     * Adds all the mappings of other map to this one.
+     *
+     * @param other map to merge from
+     */
+    @SuppressWarnings("unchecked")
+    void addAll(ObjDoubleMap<K> other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != null) {
+                K key = (K) other.keys[i];
+                add(key, other.sums[i]);
+                sum(slot(key), -other.compensations[i]);
+            }
+        }
+    }
+
+    private double value(int pos) {
+        return sums[pos] - compensations[pos];
+    }
+
+    @Override
+    public Double get(Object key) {
+        if (key == null)
+            return null;
+        int pos = slot(key);
+        return keys[pos] == null ? null : value(pos);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && keys[slot(key)] != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super K, ? super Double> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null)
+                action.accept((K) keys[i], value(i));
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, Double>> entrySet() {
+        return new AbstractSet<Map.Entry<K, Double>>() {
+            @Override
+            public Iterator<Map.Entry<K, Double>> iterator() {
+                return new Iterator<Map.Entry<K, Double>>() {
+                    int pos = advance(0);
+
+                    private int advance(int from) {
+                        while (from < keys.length && keys[from] == null)
+                            from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return pos < keys.length;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public Map.Entry<K, Double> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+                        Map.Entry<K, Double> entry = new SimpleImmutableEntry<>((K) keys[pos], value(pos));
+                        pos = advance(pos + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    static <K> PartialCollector<ObjDoubleMap<K>, Map<K, Double>> partialCollector() {
+        return new PartialCollector<>(ObjDoubleMap::new, ObjDoubleMap::addAll, map -> map,
+                ID_CHARACTERISTICS);
+    }
+}
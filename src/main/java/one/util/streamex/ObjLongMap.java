@@ -0,0 +1,182 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * Open-addressing hash table with non-null object keys and primitive
+ * {@code long} values which are summed up for equal keys. Unlike
+ * {@code HashMap<K, Long>} no node and no boxed value is allocated per key:
+ * every mapping occupies a single reference and a single {@code long} slot.
+ * The {@code Map} view is read-only and boxes values only when they are
+ * requested.
+ *
+ * @param <K> type of the keys
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class ObjLongMap<K> extends AbstractMap<K, Long> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] keys;
+    private long[] values;
+    private int size;
+
+    ObjLongMap() {
+        keys = new Object[INITIAL_CAPACITY];
+        values = new long[INITIAL_CAPACITY];
+    }
+
+    static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int slot(Object key) {
+        int mask = keys.length - 1;
+        int pos = hash(key) & mask;
+        while (keys[pos] != null && !keys[pos].equals(key)) {
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    /**
+     * Adds the value to the one associated with the key (zero if absent).
+     *
+     * @param key non-null key
+     * @param value value to add
+     */
+    void add(K key, long value) {
+        Objects.requireNonNull(key, "element cannot be mapped to a null key");
+        int pos = slot(key);
+        if (keys[pos] == null) {
+            keys[pos] = key;
+            values[pos] = value;
+            if (++size * 2 > keys.length)
+                rehash();
+        } else {
+            values[pos] += value;
+        }
+    }
+
+    private void rehash() {
+        Object[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new Object[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int pos = slot(oldKeys[i]);
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Adds all the mappings of other map to this one.
+     *
+     * @param other map to merge from
+     */
+    @SuppressWarnings("unchecked")
+    void addAll(ObjLongMap<K> other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != null)
+                add((K) other.keys[i], other.values[i]);
+        }
+    }
+
+    @Override
+    public Long get(Object key) {
+        if (key == null)
+            return null;
+        int pos = slot(key);
+        return keys[pos] == null ? null : values[pos];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && keys[slot(key)] != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super K, ? super Long> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null)
+                action.accept((K) keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, Long>> entrySet() {
+        return new AbstractSet<Map.Entry<K, Long>>() {
+            @Override
+            public Iterator<Map.Entry<K, Long>> iterator() {
+                return new Iterator<Map.Entry<K, Long>>() {
+                    int pos = advance(0);
+
+                    private int advance(int from) {
+                        while (from < keys.length && keys[from] == null)
+                            from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return pos < keys.length;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public Map.Entry<K, Long> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+                        Map.Entry<K, Long> entry = new SimpleImmutableEntry<>((K) keys[pos], values[pos]);
+                        pos = advance(pos + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    static <K> PartialCollector<ObjLongMap<K>, Map<K, Long>> partialCollector() {
+        return new PartialCollector<>(ObjLongMap::new, ObjLongMap::addAll, map -> map,
+                UNORDERED_ID_CHARACTERISTICS);
+    }
+}
@@ -16,6 +16,9 @@
 
 package one.util.streamex;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
@@ -27,8 +30,20 @@ import java.util.function.Consumer;
     private final int[] value;
     private long remainingSize;
     private final long fence;
+    private final boolean reuse;
+    // rank of the permutation at position 0 for the window spliterator, null otherwise
+    private final BigInteger origin;
 
     public PermutationSpliterator(int length) {
+        this(length, false);
+    }
+
+    /**
+     * @param length length of permutations array
+     * @param reuse if true, the same array is passed to the action every time
+     *        (a separate array per split)
+     */
+    public PermutationSpliterator(int length, boolean reuse) {
         StreamExInternals.checkNonNegative("Length", length);
         if (length >= factorials.length)
             throw new IllegalArgumentException("Length " + length + " is bigger than " + factorials.length
@@ -37,12 +52,66 @@ import java.util.function.Consumer;
         for (int i = 0; i < length; i++)
             this.value[i] = i;
         this.fence = this.remainingSize = factorials[length];
+        this.reuse = reuse;
+        this.origin = null;
+    }
+
+    /**
+     * Creates the spliterator over the window of permutations of any length.
+     * 
+     * @param length length of permutations array, non-negative
+     * @param start the rank of the first permutation, non-negative
+     * @param count the maximal number of permutations, non-negative
+     * @param reuse if true, the same array is passed to the action every time
+     */
+    PermutationSpliterator(int length, BigInteger start, long count, boolean reuse) {
+        BigInteger rest = factorial(length).subtract(start);
+        if (rest.signum() < 0)
+            rest = BigInteger.ZERO;
+        if (rest.compareTo(BigInteger.valueOf(count)) < 0)
+            count = rest.longValue();
+        this.value = count == 0 ? new int[length] : unrank(length, start);
+        this.fence = this.remainingSize = count;
+        this.reuse = reuse;
+        this.origin = start;
     }
 
-    private PermutationSpliterator(int[] startValue, long fence, long remainingSize) {
+    private PermutationSpliterator(int[] startValue, long fence, long remainingSize, boolean reuse,
+            BigInteger origin) {
         this.value = startValue;
         this.fence = fence;
         this.remainingSize = remainingSize;
+        this.reuse = reuse;
+        this.origin = origin;
+    }
+
+    static BigInteger factorial(int n) {
+        if (n < factorials.length)
+            return BigInteger.valueOf(factorials[n]);
+        BigInteger result = BigInteger.valueOf(factorials[factorials.length - 1]);
+        for (int i = factorials.length; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    /**
+     * @param length length of permutations array
+     * @param rank the rank of the permutation, between 0 (inclusive) and
+     *        {@code length!} (exclusive)
+     * @return the permutation having given rank in lexicographic order
+     */
+    static int[] unrank(int length, BigInteger rank) {
+        List<Integer> rest = new ArrayList<>(IntStreamEx.range(length).boxed().toList());
+        int[] result = new int[length];
+        BigInteger f = factorial(length);
+        for (int i = 0; i < length; i++) {
+            f = f.divide(BigInteger.valueOf(length - i));
+            BigInteger[] qr = rank.divideAndRemainder(f);
+            result[i] = rest.remove(qr[0].intValue());
+            rank = qr[1];
+        }
+        return result;
     }
 
     @Override
@@ -50,7 +119,7 @@ import java.util.function.Consumer;
         if (remainingSize == 0)
             return false;
         int[] value = this.value;
-        action.accept(value.clone());
+        action.accept(reuse ? value : value.clone());
         if (--remainingSize > 0) {
             step(value);
         }
@@ -64,10 +133,18 @@ import java.util.function.Consumer;
             return;
         remainingSize = 0;
         int[] value = this.value;
-        action.accept(value.clone());
-        while (--rs > 0) {
-            step(value);
+        if (reuse) {
+            action.accept(value);
+            while (--rs > 0) {
+                step(value);
+                action.accept(value);
+            }
+        } else {
             action.accept(value.clone());
+            while (--rs > 0) {
+                step(value);
+                action.accept(value.clone());
+            }
         }
     }
 
@@ -95,6 +172,11 @@ import java.util.function.Consumer;
         long used = -1L; // clear bit = used position
         long newRemainingSize = remainingSize / 2;
         long newPos = fence - (remainingSize -= newRemainingSize);
+        if (origin != null) {
+            int[] v = unrank(value.length, origin.add(BigInteger.valueOf(newPos)));
+            System.arraycopy(v, 0, value, 0, v.length);
+            return new PermutationSpliterator(newValue, newPos, newRemainingSize, reuse, origin);
+        }
         long s = newPos;
         for (int i = 0; i < value.length; i++) {
             long f = factorials[value.length - i - 1];
@@ -108,7 +190,7 @@ import java.util.function.Consumer;
             used &= ~(1 << idx);
             value[i] = idx;
         }
-        return new PermutationSpliterator(newValue, newPos, newRemainingSize);
+        return new PermutationSpliterator(newValue, newPos, newRemainingSize, reuse, null);
     }
 
     @Override
@@ -118,6 +200,7 @@ import java.util.function.Consumer;
 
     @Override
     public int characteristics() {
-        return ORDERED | DISTINCT | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+        return reuse ? ORDERED | NONNULL | SIZED | SUBSIZED : ORDERED | DISTINCT | NONNULL | IMMUTABLE | SIZED
+            | SUBSIZED;
     }
 }
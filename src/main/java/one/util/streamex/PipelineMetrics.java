@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe collection of the per-stage statistics gathered by the
+ * {@code instrument} operations like
+ * {@link AbstractStreamEx#instrument(PipelineMetrics, String)}.
+ *
+ * <p>
+ * Every {@code instrument} call registers a new {@link Stage} which records
+ * the number of elements which passed through the given point of the
+ * pipeline, the time spent to produce them (by all the upstream operations
+ * including the source), the number of times the pipeline was split at this
+ * point during the parallel processing and the number of elements processed
+ * by every thread. The difference of upstream times of the adjacent stages is
+ * the time spent by the operations between them, so instrumenting several
+ * points of the long pipeline allows to find which operations are the
+ * bottleneck:
+ *
+ * <pre>{@code
+ * PipelineMetrics metrics = new PipelineMetrics();
+ * List<Result> results = StreamEx.of(requests).instrument(metrics, "source")
+ *     .map(this::parse).instrument(metrics, "parse")
+ *     .filter(this::isValid).instrument(metrics, "validate")
+ *     .map(this::enrich).instrument(metrics, "enrich")
+ *     .toList();
+ * System.out.println(metrics);
+ * }</pre>
+ *
+ * <p>
+ * The statistics are updated while the stream is being traversed and can be
+ * read at any time. Instrumentation calls {@link System#nanoTime()} twice per
+ * element at every instrumented point, so it's intended for diagnostics rather
+ * than for permanent use in hot pipelines.
+ *
+ * @author Tagir Valeev
+ * @since 0.6.8
+ */
+public final class PipelineMetrics {
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    /**
+     * Statistics of single instrumented point of the pipeline.
+     */
+    public static final class Stage {
+        private final String name;
+        private final LongAdder elements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder splits = new LongAdder();
+        private final Map<String, LongAdder> perThread = new ConcurrentHashMap<>();
+
+        Stage(String name) {
+            this.name = name;
+        }
+
+        void record(long count, long time) {
+            elements.add(count);
+            nanos.add(time);
+            if (count > 0)
+                perThread.computeIfAbsent(Thread.currentThread().getName(), k -> new LongAdder()).add(count);
+        }
+
+        void split() {
+            splits.increment();
+        }
+
+        /**
+         * @return the name of this stage as specified in the {@code instrument}
+         *         call
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the number of elements which passed this stage
+         */
+        public long getElementCount() {
+            return elements.sum();
+        }
+
+        /**
+         * @return the total time in nanoseconds spent by all the upstream
+         *         operations to produce the elements of this stage (summed
+         *         over all the threads)
+         */
+        public long getUpstreamNanos() {
+            return nanos.sum();
+        }
+
+        /**
+         * @return the number of times the stream was split at this stage
+         */
+        public long getSplitCount() {
+            return splits.sum();
+        }
+
+        /**
+         * @return a map where keys are thread names and values are the numbers
+         *         of elements of this stage processed by given thread
+         */
+        public Map<String, Long> getElementsPerThread() {
+            Map<String, Long> result = new TreeMap<>();
+            perThread.forEach((thread, count) -> result.put(thread, count.sum()));
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": elements=" + getElementCount() + ", upstream=" + getUpstreamNanos() / 1000
+                + "us, splits=" + getSplitCount() + ", threads=" + perThread.size();
+        }
+    }
+
+    Stage stage(String name) {
+        Stage stage = new Stage(name);
+        stages.add(stage);
+        return stage;
+    }
+
+    /**
+     * Returns the stages registered in this object in the order they were
+     * created (for a single pipeline it's from upstream to downstream).
+     *
+     * @return an unmodifiable list of stages
+     */
+    public List<Stage> getStages() {
+        return Collections.unmodifiableList(new ArrayList<>(stages));
+    }
+
+    /**
+     * Returns the multi-line report containing one line per stage. Every line
+     * includes the time spent between the previous stage and the current one.
+     *
+     * @return the report
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        long prev = 0;
+        for (Stage stage : stages) {
+            long nanos = stage.getUpstreamNanos();
+            sb.append(stage).append(", self=").append(Math.max(0, nanos - prev) / 1000).append("us\n");
+            prev = nanos;
+        }
+        return sb.toString();
+    }
+}
@@ -17,7 +17,9 @@ package one.util.streamex;
 
 import static one.util.streamex.StreamExInternals.*;
 
+import java.util.Arrays;
 import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Spliterators.AbstractDoubleSpliterator;
 import java.util.Spliterators.AbstractIntSpliterator;
 import java.util.Spliterators.AbstractLongSpliterator;
@@ -31,12 +33,19 @@ import java.util.function.IntBinaryOperator;
 import java.util.function.IntConsumer;
 import java.util.function.LongBinaryOperator;
 import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Tagir Valeev
  */
 /* package */ abstract class PrefixOps<T, S extends Spliterator<T>> extends CloneableSpliterator<T, PrefixOps<T, S>>{
     private static final int BUF_SIZE = 128;
+    private static final long MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int ARRAY_CHARACTERISTICS = ORDERED | IMMUTABLE | SIZED | SUBSIZED;
     
     S source;
     AtomicReference<T> accRef;
@@ -77,6 +86,69 @@ import java.util.function.LongConsumer;
         return source.characteristics() & (ORDERED | IMMUTABLE | CONCURRENT | SIZED | SUBSIZED);
     }
 
+    /**
+     * Checks whether the prefix of the parallel stream with given source can
+     * be computed via {@link #parallel(Spliterator, BinaryOperator)} and
+     * similar methods: the source must be ordered and have a known size which
+     * fits into an array.
+     *
+     * @param source the source spliterator
+     * @return true if parallel prefix is applicable
+     */
+    static boolean isParallelizable(Spliterator<?> source) {
+        if (!source.hasCharacteristics(ORDERED))
+            return false;
+        long size = source.getExactSizeIfKnown();
+        return size >= 0 && size <= MAX_ARRAY_SIZE;
+    }
+
+    /*
+     * Parallel prefix is performed in two passes when the terminal operation
+     * starts: the source is dumped into an array by the parallel stream (or
+     * just copied if it's a primitive array), then Arrays.parallelPrefix scans the array using the work-efficient
+     * up-sweep/down-sweep algorithm. The resulting array spliterator splits
+     * perfectly for the downstream operations.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Stream<T> parallel(Spliterator<T> source, BinaryOperator<T> op) {
+        int characteristics = ARRAY_CHARACTERISTICS | (source.characteristics() & NONNULL);
+        return StreamSupport.stream(() -> {
+            T[] array = (T[]) StreamSupport.stream(source, true).toArray();
+            Arrays.parallelPrefix(array, op);
+            return Spliterators.spliterator(array, characteristics);
+        }, characteristics, true);
+    }
+
+    static IntStream parallel(Spliterator.OfInt source, IntBinaryOperator op) {
+        return StreamSupport.intStream(() -> {
+            int[] array = source instanceof RangeBasedSpliterator.OfIntArray
+                ? ((RangeBasedSpliterator.OfIntArray) source).toArray(0)
+                : StreamSupport.intStream(source, true).toArray();
+            Arrays.parallelPrefix(array, op);
+            return Spliterators.spliterator(array, ARRAY_CHARACTERISTICS | NONNULL);
+        }, ARRAY_CHARACTERISTICS | NONNULL, true);
+    }
+
+    static LongStream parallel(Spliterator.OfLong source, LongBinaryOperator op) {
+        return StreamSupport.longStream(() -> {
+            long[] array = source instanceof RangeBasedSpliterator.OfLongArray
+                ? ((RangeBasedSpliterator.OfLongArray) source).toArray(0)
+                : StreamSupport.longStream(source, true).toArray();
+            Arrays.parallelPrefix(array, op);
+            return Spliterators.spliterator(array, ARRAY_CHARACTERISTICS | NONNULL);
+        }, ARRAY_CHARACTERISTICS | NONNULL, true);
+    }
+
+    static DoubleStream parallel(Spliterator.OfDouble source, DoubleBinaryOperator op) {
+        return StreamSupport.doubleStream(() -> {
+            double[] array = source instanceof RangeBasedSpliterator.OfDoubleArray
+                ? ((RangeBasedSpliterator.OfDoubleArray) source).toArray(0)
+                : StreamSupport.doubleStream(source, true).toArray();
+            Arrays.parallelPrefix(array, op);
+            return Spliterators.spliterator(array, ARRAY_CHARACTERISTICS | NONNULL);
+        }, ARRAY_CHARACTERISTICS | NONNULL, true);
+    }
+
     static final class OfRef<T> extends AbstractSpliterator<T> implements Consumer<T> {
         private final BinaryOperator<T> op;
         private final Spliterator<T> source;
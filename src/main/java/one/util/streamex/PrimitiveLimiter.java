@@ -0,0 +1,248 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import one.util.streamex.StreamExInternals.PartialCollector;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * Extracts least limit {@code long} keys from the input, optionally together
+ * with their positions in the input. This is a primitive specialization of
+ * {@link Limiter}: the keys are accumulated into the buffer of {@code 2*limit}
+ * elements and when the buffer is full, the least limit keys are selected via
+ * quick select, so every input key is compared only with the current worst
+ * key after the first selection. The {@code int} and {@code double} values and
+ * the reverse order are handled by order-preserving key transformations (see
+ * {@link #doubleKey(double)} and {@link #reverse(long)}).
+ * 
+ * <p>
+ * If positions are tracked, the equal keys are ordered by position, so the
+ * first occurrence goes first. Works for limit < Integer.MAX_VALUE/2.
+ * 
+ * @author Tagir Valeev
+ */
+/* package */final class PrimitiveLimiter {
+    private final int limit;
+    private long[] keys;
+    private long[] positions;
+    private int size;
+    private boolean full;
+    private long count;
+
+    PrimitiveLimiter(int limit, boolean withPositions) {
+        this.limit = limit;
+        int capacity = Math.min(1000, limit) * 2;
+        this.keys = new long[capacity];
+        this.positions = withPositions ? new long[capacity] : null;
+        this.full = limit == 0;
+    }
+
+    void add(long key) {
+        put(key, count++);
+    }
+
+    private boolean less(long k1, long p1, long k2, long p2) {
+        return k1 < k2 || k1 == k2 && positions != null && p1 < p2;
+    }
+
+    private boolean less(long key, long pos, int i) {
+        return less(key, pos, keys[i], positions == null ? 0 : positions[i]);
+    }
+
+    private void put(long key, long pos) {
+        if (full && (limit == 0 || !less(key, pos, limit - 1)))
+            return;
+        if (size == keys.length) {
+            if (size < limit * 2) {
+                int newCapacity = Math.min(limit, size) * 2;
+                keys = Arrays.copyOf(keys, newCapacity);
+                if (positions != null)
+                    positions = Arrays.copyOf(positions, newCapacity);
+            } else {
+                select(0, size, limit - 1);
+                size = limit;
+                full = true;
+                if (!less(key, pos, limit - 1))
+                    return;
+            }
+        }
+        keys[size] = key;
+        if (positions != null)
+            positions[size] = pos;
+        size++;
+    }
+
+    /**
+     * Merge other {@code PrimitiveLimiter} which accumulated the subsequent
+     * part of the input into this (other object becomes unusable after that).
+     * 
+     * @param other other object to merge
+     */
+    void addAll(PrimitiveLimiter other) {
+        long[] otherKeys = other.keys, otherPositions = other.positions;
+        for (int i = 0; i < other.size; i++) {
+            put(otherKeys[i], otherPositions == null ? 0 : otherPositions[i] + count);
+        }
+        count += other.count;
+    }
+
+    private void finish() {
+        if (size > limit) {
+            select(0, size, limit - 1);
+            size = limit;
+        }
+        if (positions == null)
+            Arrays.sort(keys, 0, size);
+        else
+            sort(0, size);
+    }
+
+    int[] toIntArray(boolean reversed) {
+        finish();
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (int) (reversed ? reverse(keys[i]) : keys[i]);
+        }
+        return result;
+    }
+
+    long[] toLongArray(boolean reversed) {
+        finish();
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = reversed ? reverse(keys[i]) : keys[i];
+        }
+        return result;
+    }
+
+    double[] toDoubleArray(boolean reversed) {
+        finish();
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = fromDoubleKey(reversed ? reverse(keys[i]) : keys[i]);
+        }
+        return result;
+    }
+
+    long[] positions() {
+        finish();
+        return Arrays.copyOf(positions, size);
+    }
+
+    private void swap(int i, int j) {
+        long k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        if (positions != null) {
+            long p = positions[i];
+            positions[i] = positions[j];
+            positions[j] = p;
+        }
+    }
+
+    /**
+     * Three-way partition of the [from, to) range around its middle element.
+     * 
+     * @return the range of elements equal to pivot packed into {@code long}:
+     *         the start in the upper half, the end in the lower half
+     */
+    private long partition(int from, int to) {
+        int mid = (from + to) >>> 1;
+        long pk = keys[mid], pp = positions == null ? 0 : positions[mid];
+        int lt = from, i = from, gt = to;
+        while (i < gt) {
+            if (less(keys[i], positions == null ? 0 : positions[i], pk, pp))
+                swap(lt++, i++);
+            else if (less(pk, pp, i))
+                swap(i, --gt);
+            else
+                i++;
+        }
+        return ((long) lt << 32) | gt;
+    }
+
+    /**
+     * Reorders the [from, to) range, so the element at k position is the one
+     * which would be there if the range was sorted, all the preceding elements
+     * are not greater and all the subsequent elements are not less.
+     */
+    private void select(int from, int to, int k) {
+        while (to - from > 1) {
+            long range = partition(from, to);
+            int lt = (int) (range >>> 32), gt = (int) range;
+            if (k < lt)
+                to = lt;
+            else if (k >= gt)
+                from = gt;
+            else
+                return;
+        }
+    }
+
+    private void sort(int from, int to) {
+        while (to - from > 1) {
+            long range = partition(from, to);
+            int lt = (int) (range >>> 32), gt = (int) range;
+            // recurse into the smaller part
+            if (lt - from < to - gt) {
+                sort(from, lt);
+                from = gt;
+            } else {
+                sort(gt, to);
+                to = lt;
+            }
+        }
+    }
+
+    /**
+     * @param value double value
+     * @return the {@code long} key which has the same order as
+     *         {@link Double#compare(double, double)}
+     */
+    static long doubleKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * @param key the key created by {@link #doubleKey(double)}
+     * @return the original double value
+     */
+    static double fromDoubleKey(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * @param key key
+     * @return the key which has the reverse order; the transformation is its
+     *         own inverse
+     */
+    static long reverse(long key) {
+        return ~key;
+    }
+
+    static <R> PartialCollector<PrimitiveLimiter, R> partialCollector(int n, boolean withPositions,
+            Function<PrimitiveLimiter, R> finisher) {
+        // the result array cannot be that big anyway
+        int limit = Math.max(0, Math.min(n, Integer.MAX_VALUE / 2 - 1));
+        return new PartialCollector<>(() -> new PrimitiveLimiter(limit, withPositions), PrimitiveLimiter::addAll,
+                finisher, withPositions ? NO_CHARACTERISTICS : UNORDERED_CHARACTERISTICS);
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * KLL quantiles sketch over {@code long} items. Level {@code h} keeps items of
+ * weight {@code 2^h}; when the sketch is full, the lowest level which exceeds
+ * its capacity is sorted and every other item (starting from a random offset)
+ * is promoted to the next level. Level capacities decrease geometrically from
+ * the top level, so the sketch retains {@code O(k)} items plus a few items per
+ * level, while the normalized rank error is about {@code 1.65/k}. The sketch
+ * is exact until the first compaction; minimum and maximum are always exact.
+ *
+ * <p>
+ * The {@code double} values are stored as longs via
+ * {@link #toSortable(double)} which preserves the {@link Double#compare}
+ * order.
+ *
+ * @author Tagir Valeev
+ */
+/* package */final class QuantileSketch {
+    static final int DEFAULT_K = 200;
+    static final int MIN_K = 8;
+    private static final int MIN_WIDTH = 8;
+    private static final double DECAY = 2.0 / 3;
+
+    private final int k;
+    private LongBuffer[] levels = { new LongBuffer(MIN_WIDTH) };
+    private int retained;
+    private int maxRetained;
+    private long n;
+    private long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+    private long random = 0x9E3779B97F4A7C15L;
+
+    QuantileSketch(int k) {
+        this.k = k;
+        this.maxRetained = capacity(0);
+    }
+
+    static long toSortable(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static double fromSortable(long value) {
+        return Double.longBitsToDouble(value ^ ((value >> 63) & Long.MAX_VALUE));
+    }
+
+    private int capacity(int level) {
+        return Math.max(MIN_WIDTH, (int) Math.ceil(k * Math.pow(DECAY, levels.length - 1 - level)));
+    }
+
+    private void updateMaxRetained() {
+        int max = 0;
+        for (int h = 0; h < levels.length; h++)
+            max += capacity(h);
+        maxRetained = max;
+    }
+
+    void add(long item) {
+        levels[0].add(item);
+        n++;
+        if (item < min)
+            min = item;
+        if (item > max)
+            max = item;
+        if (++retained >= maxRetained)
+            compress();
+    }
+
+    void addDouble(double value) {
+        add(toSortable(value));
+    }
+
+    void merge(QuantileSketch other) {
+        if (other.levels.length > levels.length) {
+            int oldLength = levels.length;
+            levels = Arrays.copyOf(levels, other.levels.length);
+            for (int h = oldLength; h < levels.length; h++)
+                levels[h] = new LongBuffer(MIN_WIDTH);
+            updateMaxRetained();
+        }
+        for (int h = 0; h < other.levels.length; h++)
+            levels[h].addAll(other.levels[h]);
+        n += other.n;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        retained += other.retained;
+        if (retained >= maxRetained)
+            compress();
+    }
+
+    private void compress() {
+        while (retained >= maxRetained) {
+            for (int h = 0; h < levels.length; h++) {
+                if (levels[h].size >= capacity(h)) {
+                    compact(h);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void compact(int h) {
+        if (h == levels.length - 1) {
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            levels[h + 1] = new LongBuffer(MIN_WIDTH);
+            updateMaxRetained();
+        }
+        LongBuffer level = levels[h], next = levels[h + 1];
+        Arrays.sort(level.data, 0, level.size);
+        // an odd item (the largest one) stays at the current level
+        int count = level.size & ~1;
+        random = random * 6364136223846793005L + 1442695040888963407L;
+        for (int i = (int) (random >>> 63); i < count; i += 2)
+            next.add(level.data[i]);
+        level.data[0] = level.data[level.size - 1];
+        level.size -= count;
+        retained -= count / 2;
+    }
+
+    /**
+     * Returns the items at given normalized ranks: the least item whose
+     * cumulative weight is not less than {@code fraction * n}. Fractions 0 and
+     * 1 produce the exact minimum and maximum.
+     *
+     * @param fractions fractions between 0 and 1
+     * @return array of items, one per fraction
+     */
+    private long[] quantiles(double[] fractions) {
+        int total = 0;
+        for (LongBuffer level : levels)
+            total += level.size;
+        long[] items = new long[total];
+        long[] weights = new long[total];
+        int[] pos = new int[levels.length];
+        for (LongBuffer level : levels)
+            Arrays.sort(level.data, 0, level.size);
+        // merge sorted levels
+        for (int i = 0; i < total; i++) {
+            int best = -1;
+            for (int h = 0; h < levels.length; h++) {
+                if (pos[h] < levels[h].size
+                    && (best == -1 || levels[h].data[pos[h]] < levels[best].data[pos[best]]))
+                    best = h;
+            }
+            items[i] = levels[best].data[pos[best]++];
+            weights[i] = (i == 0 ? 0 : weights[i - 1]) + (1L << best);
+        }
+        long[] result = new long[fractions.length];
+        for (int j = 0; j < fractions.length; j++) {
+            double target = fractions[j] * n;
+            int idx = 0;
+            while (idx < total - 1 && weights[idx] < target)
+                idx++;
+            result[j] = fractions[j] == 0 ? min : fractions[j] == 1 ? max : items[idx];
+        }
+        return result;
+    }
+
+    double[] quantilesOfDoubles(double[] fractions) {
+        double[] result = new double[fractions.length];
+        if (n == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        long[] items = quantiles(fractions);
+        for (int i = 0; i < items.length; i++)
+            result[i] = fromSortable(items[i]);
+        return result;
+    }
+
+    long[] quantilesOfLongs(double[] fractions) {
+        return n == 0 ? new long[0] : quantiles(fractions);
+    }
+
+    static double[] checkFractions(double[] fractions) {
+        double[] copy = fractions.clone();
+        for (double fraction : copy) {
+            if (!(fraction >= 0 && fraction <= 1))
+                throw new IllegalArgumentException("quantile must be between 0 and 1: " + fraction);
+        }
+        return copy;
+    }
+
+    static <R> PartialCollector<QuantileSketch, R> partialCollector(int k, Function<QuantileSketch, R> finisher) {
+        if (k < MIN_K)
+            throw new IllegalArgumentException("k must be at least " + MIN_K + ": " + k);
+        return new PartialCollector<>(() -> new QuantileSketch(k), QuantileSketch::merge, finisher,
+                UNORDERED_CHARACTERISTICS);
+    }
+}
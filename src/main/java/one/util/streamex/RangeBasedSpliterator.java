@@ -62,7 +62,7 @@ import static one.util.streamex.StreamExInternals.*;
         return null;
     }
 
-    static final class AsEntry<T> extends RangeBasedSpliterator<Entry<Integer, T>, AsEntry<T>> {
+    static final class AsEntry<T> extends RangeBasedSpliterator<IntObjEntryStream.IntObjEntry<T>, AsEntry<T>> {
         private final List<T> list;
 
         public AsEntry(List<T> list) {
@@ -71,7 +71,7 @@ import static one.util.streamex.StreamExInternals.*;
         }
 
         @Override
-        public boolean tryAdvance(Consumer<? super Entry<Integer, T>> action) {
+        public boolean tryAdvance(Consumer<? super IntObjEntryStream.IntObjEntry<T>> action) {
             if (cur < limit) {
                 action.accept(new ObjIntBox<>(list.get(cur), cur));
                 cur++;
@@ -81,7 +81,7 @@ import static one.util.streamex.StreamExInternals.*;
         }
 
         @Override
-        public void forEachRemaining(Consumer<? super Entry<Integer, T>> action) {
+        public void forEachRemaining(Consumer<? super IntObjEntryStream.IntObjEntry<T>> action) {
             int l = limit, c = cur;
             List<T> list = this.list;
             while (c < l) {
@@ -198,6 +198,53 @@ import static one.util.streamex.StreamExInternals.*;
         }
     }
 
+    static final class OfIntArray extends RangeBasedSpliterator<Integer, OfIntArray> implements Spliterator.OfInt {
+        private final int[] array;
+
+        public OfIntArray(int fromInclusive, int toExclusive, int[] array) {
+            super(fromInclusive, toExclusive);
+            this.array = array;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (cur < limit) {
+                action.accept(array[cur]);
+                cur++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            int l = limit, c = cur;
+            while (c < l) {
+                action.accept(array[c++]);
+            }
+            cur = limit;
+        }
+
+        /**
+         * Copies the remaining elements into the new array and exhausts this
+         * spliterator.
+         *
+         * @param offset number of leading array slots to leave for the caller
+         * @return the new array of length {@code offset + estimateSize()}
+         */
+        int[] toArray(int offset) {
+            int[] result = new int[offset + limit - cur];
+            System.arraycopy(array, cur, result, offset, limit - cur);
+            cur = limit;
+            return result;
+        }
+    }
+
     static final class OfByte extends RangeBasedSpliterator<Integer, OfByte> implements Spliterator.OfInt {
         private final byte[] array;
 
@@ -282,6 +329,53 @@ import static one.util.streamex.StreamExInternals.*;
         }
     }
 
+    static final class OfLongArray extends RangeBasedSpliterator<Long, OfLongArray> implements Spliterator.OfLong {
+        private final long[] array;
+
+        public OfLongArray(int fromInclusive, int toExclusive, long[] array) {
+            super(fromInclusive, toExclusive);
+            this.array = array;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (cur < limit) {
+                action.accept(array[cur]);
+                cur++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            int l = limit, c = cur;
+            while (c < l) {
+                action.accept(array[c++]);
+            }
+            cur = limit;
+        }
+
+        /**
+         * Copies the remaining elements into the new array and exhausts this
+         * spliterator.
+         *
+         * @param offset number of leading array slots to leave for the caller
+         * @return the new array of length {@code offset + estimateSize()}
+         */
+        long[] toArray(int offset) {
+            long[] result = new long[offset + limit - cur];
+            System.arraycopy(array, cur, result, offset, limit - cur);
+            cur = limit;
+            return result;
+        }
+    }
+
     static final class ZipLong extends RangeBasedSpliterator<Long, ZipLong> implements Spliterator.OfLong {
         private final LongBinaryOperator mapper;
         private final long[] arr1, arr2;
@@ -314,6 +408,53 @@ import static one.util.streamex.StreamExInternals.*;
         }
     }
 
+    static final class OfDoubleArray extends RangeBasedSpliterator<Double, OfDoubleArray> implements Spliterator.OfDouble {
+        private final double[] array;
+
+        public OfDoubleArray(int fromInclusive, int toExclusive, double[] array) {
+            super(fromInclusive, toExclusive);
+            this.array = array;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (cur < limit) {
+                action.accept(array[cur]);
+                cur++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            int l = limit, c = cur;
+            while (c < l) {
+                action.accept(array[c++]);
+            }
+            cur = limit;
+        }
+
+        /**
+         * Copies the remaining elements into the new array and exhausts this
+         * spliterator.
+         *
+         * @param offset number of leading array slots to leave for the caller
+         * @return the new array of length {@code offset + estimateSize()}
+         */
+        double[] toArray(int offset) {
+            double[] result = new double[offset + limit - cur];
+            System.arraycopy(array, cur, result, offset, limit - cur);
+            cur = limit;
+            return result;
+        }
+    }
+
     static final class OfFloat extends RangeBasedSpliterator<Double, OfFloat> implements Spliterator.OfDouble {
         private final float[] array;
 
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import one.util.streamex.StreamExInternals.PartialCollector;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * Uniform random sample of at most k elements. Uses Algorithm L (Li, 1994):
+ * when the reservoir is full, the number of elements to skip before the next
+ * replacement is drawn from the geometric distribution, so the random
+ * generator is not called for every element. Two samples are merged by
+ * drawing every element of the result from one of them with the probability
+ * proportional to the number of not yet drawn elements of the corresponding
+ * population (hypergeometric draw), which keeps the result uniform.
+ * 
+ * @param <T> type of the elements
+ * 
+ * @author Tagir Valeev
+ */
+/* package */final class ReservoirSampler<T> {
+    private final int k;
+    private final SplittableRandom random;
+    private List<T> items = new ArrayList<>();
+    private long count;
+    // Algorithm L state; after merge the plain Algorithm R is used, as the
+    // skipping state cannot be merged
+    private boolean skipping = true;
+    private double w;
+    private long next;
+
+    ReservoirSampler(int k, SplittableRandom random) {
+        this.k = k;
+        this.random = random;
+    }
+
+    private double nextOpenDouble() {
+        // (0, 1]
+        return 1 - random.nextDouble();
+    }
+
+    private void jump() {
+        long skip = (long) Math.floor(Math.log(nextOpenDouble()) / Math.log1p(-w));
+        next = skip >= Long.MAX_VALUE - next ? Long.MAX_VALUE : next + skip + 1;
+    }
+
+    void add(T t) {
+        long c = count++;
+        if (c < k) {
+            items.add(t);
+            if (c == k - 1) {
+                w = Math.exp(Math.log(nextOpenDouble()) / k);
+                next = c;
+                jump();
+            }
+            return;
+        }
+        if (skipping) {
+            if (c == next) {
+                items.set(random.nextInt(k), t);
+                w *= Math.exp(Math.log(nextOpenDouble()) / k);
+                jump();
+            }
+        } else {
+            long j = random.nextLong(c + 1);
+            if (j < k)
+                items.set((int) j, t);
+        }
+    }
+
+    void merge(ReservoirSampler<T> other) {
+        if (other.count == 0)
+            return;
+        if (count == 0) {
+            items = other.items;
+            count = other.count;
+            skipping = other.skipping;
+            w = other.w;
+            next = other.next;
+            return;
+        }
+        int m = (int) Math.min(k, count + other.count);
+        List<T> a = items, b = other.items, result = new ArrayList<>(m);
+        long restA = count, restB = other.count;
+        for (int i = 0; i < m; i++) {
+            List<T> source;
+            if (random.nextLong(restA + restB) < restA) {
+                source = a;
+                restA--;
+            } else {
+                source = b;
+                restB--;
+            }
+            int idx = random.nextInt(source.size());
+            result.add(source.get(idx));
+            source.set(idx, source.get(source.size() - 1));
+            source.remove(source.size() - 1);
+        }
+        items = result;
+        count += other.count;
+        skipping = false;
+    }
+
+    List<T> result() {
+        return items;
+    }
+
+    static <T> PartialCollector<ReservoirSampler<T>, List<T>> partialCollector(int k, SplittableRandom random) {
+        return new PartialCollector<>(() -> {
+            SplittableRandom r;
+            synchronized (random) {
+                r = random.split();
+            }
+            return new ReservoirSampler<>(k, r);
+        }, ReservoirSampler::merge, ReservoirSampler::result, UNORDERED_CHARACTERISTICS);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator which passes every source element independently with the
+ * given probability (Bernoulli sampling). Instead of generating a random
+ * number per element, the number of elements to skip before the next passed
+ * one is drawn from the geometric distribution. As the distribution is
+ * memoryless, every split simply uses its own random generator.
+ * 
+ * @param <T> type of the elements
+ * 
+ * @author Tagir Valeev
+ */
+/* package */final class SampleSpliterator<T> implements Spliterator<T>, Consumer<T> {
+    private final Spliterator<T> source;
+    private final double fraction;
+    private final double logComplement;
+    private final SplittableRandom random;
+    private long skip;
+
+    SampleSpliterator(Spliterator<T> source, double fraction, SplittableRandom random) {
+        this.source = source;
+        this.fraction = fraction;
+        this.logComplement = Math.log1p(-fraction);
+        this.random = random;
+        this.skip = nextSkip();
+    }
+
+    private long nextSkip() {
+        // (long) cast saturates to Long.MAX_VALUE for very small fractions
+        return (long) Math.floor(Math.log(1 - random.nextDouble()) / logComplement);
+    }
+
+    @Override
+    public void accept(T t) {
+        // skipped element
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (fraction == 0)
+            return false;
+        while (skip > 0) {
+            if (!source.tryAdvance(this))
+                return false;
+            skip--;
+        }
+        if (!source.tryAdvance(action))
+            return false;
+        skip = nextSkip();
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (fraction == 0)
+            return;
+        source.forEachRemaining(t -> {
+            if (skip == 0) {
+                action.accept(t);
+                skip = nextSkip();
+            } else {
+                skip--;
+            }
+        });
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        Spliterator<T> prefix = source.trySplit();
+        return prefix == null ? null : new SampleSpliterator<>(prefix, fraction, random.split());
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = source.estimateSize();
+        return size == Long.MAX_VALUE ? size : (long) Math.ceil(size * fraction);
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & (ORDERED | DISTINCT | SORTED | NONNULL | IMMUTABLE | CONCURRENT);
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return source.getComparator();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import one.util.streamex.StreamExInternals.PartialCollector;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * Space-Saving frequency summary (Metwally, Agrawal, El Abbadi, 2005) which
+ * tracks at most {@code capacity} keys. When an untracked key arrives and the
+ * summary is full, the key having the least count is replaced, inheriting its
+ * count. The counters are kept in the min-heap, so every update takes
+ * O(log capacity) time. The estimated counts never underestimate and
+ * overestimate by at most N/capacity, where N is the number of added
+ * elements. Two summaries are merged according to Cafaro et al. (2016): the
+ * key missing in one of the summaries is assumed to have its least count,
+ * which preserves the error bound.
+ * 
+ * @param <T> type of the keys
+ * 
+ * @author Tagir Valeev
+ */
+/* package */final class SpaceSaving<T> {
+    static final class Counter<T> {
+        T key;
+        long count;
+        int pos;
+
+        Counter(T key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+
+    private final int capacity;
+    private Map<T, Counter<T>> map = new HashMap<>();
+    private Counter<T>[] heap;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.heap = (Counter<T>[]) new Counter<?>[Math.min(capacity, 16)];
+    }
+
+    void add(T t) {
+        Counter<T> c = map.get(t);
+        if (c != null) {
+            c.count++;
+            siftDown(c);
+            return;
+        }
+        if (size < capacity) {
+            if (size == heap.length)
+                heap = Arrays.copyOf(heap, (int) Math.min(capacity, size * 2L));
+            c = new Counter<>(t, 1);
+            c.pos = size;
+            heap[size++] = c;
+            map.put(t, c);
+            siftUp(c);
+            return;
+        }
+        c = heap[0];
+        map.remove(c.key);
+        c.key = t;
+        c.count++;
+        map.put(t, c);
+        siftDown(c);
+    }
+
+    private long minCount() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+
+    void merge(SpaceSaving<T> other) {
+        long min = minCount(), otherMin = other.minCount();
+        List<Counter<T>> counters = new ArrayList<>(size + other.size);
+        for (int i = 0; i < size; i++) {
+            Counter<T> c = heap[i];
+            Counter<T> o = other.map.get(c.key);
+            c.count += o == null ? otherMin : o.count;
+            counters.add(c);
+        }
+        for (int i = 0; i < other.size; i++) {
+            Counter<T> o = other.heap[i];
+            if (!map.containsKey(o.key)) {
+                o.count += min;
+                counters.add(o);
+            }
+        }
+        if (counters.size() > capacity) {
+            counters.sort((c1, c2) -> Long.compare(c2.count, c1.count));
+            counters = counters.subList(0, capacity);
+        }
+        map = new HashMap<>();
+        size = counters.size();
+        heap = counters.toArray(heap.length >= size ? heap : Arrays.copyOf(heap, size));
+        for (int i = 0; i < size; i++) {
+            Counter<T> c = heap[i];
+            c.pos = i;
+            map.put(c.key, c);
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(heap[i]);
+        }
+    }
+
+    private void siftUp(Counter<T> c) {
+        int pos = c.pos;
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            Counter<T> p = heap[parent];
+            if (p.count <= c.count)
+                break;
+            heap[pos] = p;
+            p.pos = pos;
+            pos = parent;
+        }
+        heap[pos] = c;
+        c.pos = pos;
+    }
+
+    private void siftDown(Counter<T> c) {
+        int pos = c.pos;
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            Counter<T> ch = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right].count < ch.count)
+                ch = heap[child = right];
+            if (c.count <= ch.count)
+                break;
+            heap[pos] = ch;
+            ch.pos = pos;
+            pos = child;
+        }
+        heap[pos] = c;
+        c.pos = pos;
+    }
+
+    Map<T, Long> result(int k) {
+        Counter<T>[] counters = Arrays.copyOf(heap, size);
+        Arrays.sort(counters, (c1, c2) -> Long.compare(c2.count, c1.count));
+        int limit = Math.min(k, size);
+        Map<T, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < limit; i++) {
+            result.put(counters[i].key, counters[i].count);
+        }
+        return result;
+    }
+
+    static <T> PartialCollector<SpaceSaving<T>, Map<T, Long>> partialCollector(int k, int capacity) {
+        return new PartialCollector<>(() -> new SpaceSaving<>(capacity), SpaceSaving::merge, ss -> ss.result(k),
+                UNORDERED_CHARACTERISTICS);
+    }
+}
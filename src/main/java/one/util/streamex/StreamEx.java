@@ -18,20 +18,27 @@ package one.util.streamex;
 import one.util.streamex.PairSpliterator.PSOfRef;
 
 import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.*;
 import java.util.regex.Pattern;
 import java.util.stream.BaseStream;
@@ -299,6 +306,148 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return new StreamEx<>(new PairSpliterator.PSOfRef<>(lastMapper, notLastMapper, spliterator(), false), context);
     }
 
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, where the function is applied
+     * asynchronously in separate threads (one new daemon thread per element)
+     * with at most {@code maxConcurrency} invocations running at the same
+     * time. The results are delivered in the encounter order.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>. It's intended for mappers which spend most of the time
+     * waiting for I/O (like database or remote service lookups): unlike
+     * {@link #parallel()} it does not occupy the {@code ForkJoinPool} workers
+     * and allows to have more blocking calls in flight than there are CPU
+     * cores.
+     *
+     * <p>
+     * The stream stays lazy: the source elements are requested only when the
+     * next result is requested and fewer than {@code maxConcurrency} mapper
+     * invocations are in flight. If the mapper throws an exception, the rest
+     * of invocations in flight are cancelled and the exception is rethrown to
+     * the stream consumer. The invocations in flight which results are not
+     * consumed due to short-circuiting are cancelled when the stream is
+     * closed.
+     *
+     * @param <R> The element type of the new stream
+     * @param maxConcurrency maximal number of mapper invocations in flight,
+     *        must be positive
+     * @param mapper a <a
+     *        href="package-summary.html#NonInterference">non-interfering </a>,
+     *        <a href="package-summary.html#Statelessness">stateless</a>
+     *        function to apply to each element
+     * @return the new stream
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     * @since 0.6.8
+     * @see #mapConcurrent(int, Executor, Function)
+     * @see #mapConcurrentUnordered(int, Function)
+     */
+    public <R> StreamEx<R> mapConcurrent(int maxConcurrency, Function<? super T, ? extends R> mapper) {
+        return mapConcurrent(maxConcurrency, MapConcurrentSpliterator.THREAD_PER_TASK, mapper);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, where the function is applied
+     * asynchronously using the supplied executor with at most
+     * {@code maxConcurrency} invocations running at the same time. The
+     * results are delivered in the encounter order.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a> which behaves like {@link #mapConcurrent(int, Function)},
+     * except the mapper invocations are submitted to the supplied executor.
+     *
+     * @param <R> The element type of the new stream
+     * @param maxConcurrency maximal number of mapper invocations in flight,
+     *        must be positive
+     * @param executor executor to run the mapper invocations
+     * @param mapper a <a
+     *        href="package-summary.html#NonInterference">non-interfering </a>,
+     *        <a href="package-summary.html#Statelessness">stateless</a>
+     *        function to apply to each element
+     * @return the new stream
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     * @since 0.6.8
+     */
+    public <R> StreamEx<R> mapConcurrent(int maxConcurrency, Executor executor,
+            Function<? super T, ? extends R> mapper) {
+        return mapConcurrent(maxConcurrency, executor, mapper, true);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, where the function is applied
+     * asynchronously in separate threads (one new daemon thread per element)
+     * with at most {@code maxConcurrency} invocations running at the same
+     * time. The results are delivered as soon as they are ready, so the
+     * resulting stream is unordered.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a> which behaves like {@link #mapConcurrent(int, Function)},
+     * except that one slow invocation does not delay the results of the
+     * subsequent ones.
+     *
+     * @param <R> The element type of the new stream
+     * @param maxConcurrency maximal number of mapper invocations in flight,
+     *        must be positive
+     * @param mapper a <a
+     *        href="package-summary.html#NonInterference">non-interfering </a>,
+     *        <a href="package-summary.html#Statelessness">stateless</a>
+     *        function to apply to each element
+     * @return the new stream
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     * @since 0.6.8
+     * @see #mapConcurrentUnordered(int, Executor, Function)
+     */
+    public <R> StreamEx<R> mapConcurrentUnordered(int maxConcurrency, Function<? super T, ? extends R> mapper) {
+        return mapConcurrentUnordered(maxConcurrency, MapConcurrentSpliterator.THREAD_PER_TASK, mapper);
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, where the function is applied
+     * asynchronously using the supplied executor with at most
+     * {@code maxConcurrency} invocations running at the same time. The
+     * results are delivered as soon as they are ready, so the resulting
+     * stream is unordered.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a> which behaves like {@link #mapConcurrent(int, Function)},
+     * except that the mapper invocations are submitted to the supplied
+     * executor and the results are delivered in the order of completion.
+     *
+     * @param <R> The element type of the new stream
+     * @param maxConcurrency maximal number of mapper invocations in flight,
+     *        must be positive
+     * @param executor executor to run the mapper invocations
+     * @param mapper a <a
+     *        href="package-summary.html#NonInterference">non-interfering </a>,
+     *        <a href="package-summary.html#Statelessness">stateless</a>
+     *        function to apply to each element
+     * @return the new stream
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     * @since 0.6.8
+     */
+    public <R> StreamEx<R> mapConcurrentUnordered(int maxConcurrency, Executor executor,
+            Function<? super T, ? extends R> mapper) {
+        return mapConcurrent(maxConcurrency, executor, mapper, false);
+    }
+
+    private <R> StreamEx<R> mapConcurrent(int maxConcurrency, Executor executor,
+            Function<? super T, ? extends R> mapper, boolean ordered) {
+        if (maxConcurrency <= 0)
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(mapper);
+        MapConcurrentSpliterator<T, R> spliterator = new MapConcurrentSpliterator<>(spliterator(), maxConcurrency,
+                executor, mapper, ordered);
+        return new StreamEx<>(spliterator, context.onClose(spliterator::close));
+    }
+
     /**
      * Returns a stream consisting of the elements of this stream, additionally
      * performing the provided action on the first stream element when it's
@@ -573,6 +722,91 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return rawCollect(Collectors.groupingBy(classifier, mapFactory, downstream));
     }
 
+    /**
+     * Returns a {@code Map} whose keys are the values resulting from applying
+     * the classification function to the input elements, and whose
+     * corresponding values are the numbers of input elements which map to the
+     * associated key.
+     *
+     * <p>
+     * The counts are accumulated in a hash table with primitive {@code long}
+     * values, so this method uses considerably less memory than
+     * {@code groupingBy(classifier, Collectors.counting())} when the number of
+     * distinct keys is large. The returned {@code Map} is read-only; there are
+     * no other guarantees on its type or serializability.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param <K> the type of the keys
+     * @param classifier the classifier function mapping input elements to
+     *        non-null keys
+     * @return a {@code Map} containing the counts
+     * @see MoreCollectors#countingBy(Function)
+     * @since 0.6.8
+     */
+    public <K> Map<K, Long> countingBy(Function<? super T, ? extends K> classifier) {
+        return collect(MoreCollectors.countingBy(classifier));
+    }
+
+    /**
+     * Returns a {@link List} containing at most {@code n} least elements of
+     * this stream according to the provided {@code Comparator}. The resulting
+     * {@code List} is sorted by the comparator (least element is the first).
+     * The order of equal elements is the same as in this stream.
+     *
+     * <p>
+     * The result is the same as
+     * {@code sorted(comparator).limit(n).toList()}, but usually computed much
+     * faster if {@code n} is much less than the stream size. To get the
+     * greatest elements, use the reversed comparator. For parallel stream,
+     * every thread publishes the worst of its current best {@code n}
+     * elements, so the other threads skip the elements which are worse than
+     * the published one without storing them.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code List} returned.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">terminal</a>
+     * operation.
+     *
+     * @param n maximum number of stream elements to return
+     * @param comparator a non-interfering, stateless {@code Comparator} to
+     *        compare the elements
+     * @return a {@code List} containing the least {@code n} stream elements or
+     *         less if the stream was shorter
+     * @see MoreCollectors#least(Comparator, int)
+     * @since 0.6.8
+     */
+    public List<T> topK(int n, Comparator<? super T> comparator) {
+        if (n <= 1 || n >= Integer.MAX_VALUE / 2 || !isParallel())
+            return collect(MoreCollectors.least(comparator, n));
+        AtomicReference<Object> threshold = new AtomicReference<>(NONE);
+        Limiter<T> result = collect(() -> new Limiter<>(n, comparator), (limiter, t) -> {
+            Object bound = threshold.get();
+            @SuppressWarnings("unchecked")
+            boolean skip = bound != NONE && comparator.compare(t, (T) bound) > 0;
+            if (skip || !limiter.put(t))
+                return;
+            Object newBound = limiter.bound();
+            if (newBound == NONE)
+                return;
+            // publish the bound if it's better than the current one
+            while (true) {
+                bound = threshold.get();
+                @SuppressWarnings("unchecked")
+                boolean better = bound == NONE || comparator.compare((T) newBound, (T) bound) < 0;
+                if (!better || threshold.compareAndSet(bound, newBound))
+                    break;
+            }
+        }, Limiter::putAll);
+        result.sort();
+        return new ArrayList<>(result);
+    }
+
     /**
      * Returns a {@code Map} whose keys are the values resulting from applying
      * the classification function to the input elements, and whose
@@ -1491,6 +1725,89 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return sorted((Comparator<? super T>) Comparator.reverseOrder());
     }
 
+    /**
+     * Returns a {@code StreamEx} consisting of the elements of this stream,
+     * sorted according to the provided {@code Comparator} using at most the
+     * given number of elements in memory at once. The temporary files are
+     * created in the default temporary-file directory.
+     *
+     * <p>
+     * This is a stateful <a
+     * href="package-summary.html#StreamOps">quasi-intermediate</a> operation.
+     *
+     * @param comparator a non-interfering, stateless {@code Comparator} to be
+     *        used to compare stream elements
+     * @param serializer a serializer to write the elements to the temporary
+     *        files and read them back
+     * @param maxInMemory the maximal number of elements to keep in memory
+     * @return the new stream
+     * @throws IllegalArgumentException if maxInMemory is not positive
+     * @see #sortedExternal(Comparator, Serializer, Path, int)
+     * @since 0.6.8
+     */
+    public StreamEx<T> sortedExternal(Comparator<? super T> comparator, Serializer<T> serializer, int maxInMemory) {
+        return sortedExternal(comparator, serializer, null, maxInMemory);
+    }
+
+    /**
+     * Returns a {@code StreamEx} consisting of the elements of this stream,
+     * sorted according to the provided {@code Comparator} using at most the
+     * given number of elements in memory at once. The sort is stable.
+     *
+     * <p>
+     * The elements are collected into the in-memory buffer. Every time the
+     * buffer becomes full, it's sorted and written into the new temporary file
+     * in the specified directory using the supplied serializer. When this
+     * stream is exhausted, the temporary files and the rest of the buffer are
+     * merged lazily: only one element per temporary file is kept in memory
+     * during the merge, and the short-circuiting operations like
+     * {@link #limit(long)} stop the merge early. If all the elements fit into
+     * the buffer, no files are created at all. Each temporary file is deleted
+     * as soon as it's completely read. The remaining files are deleted when
+     * the resulting stream is closed or completely traversed; if the stream is
+     * abandoned after the short-circuiting operation, its files are deleted
+     * after it's garbage collected, when another external sort creates a
+     * temporary file, or on the JVM exit at the latest. So it's recommended to
+     * use it in the try-with-resources statement when short-circuiting
+     * operations are involved.
+     *
+     * <p>
+     * At most 256 temporary files are merged at once: when more files are
+     * created, they are merged into the bigger temporary files beforehand, so
+     * the number of open files stays bounded. If this stream is parallel, the
+     * buffer is sorted in parallel, but the elements of this stream are still
+     * pulled into the buffer by a single thread, so the upstream operations
+     * are performed sequentially.
+     *
+     * <p>
+     * If an {@link IOException} occurs when the temporary files are created,
+     * written or read, it will be rethrown as {@link UncheckedIOException}.
+     *
+     * <p>
+     * This is a stateful <a
+     * href="package-summary.html#StreamOps">quasi-intermediate</a> operation.
+     *
+     * @param comparator a non-interfering, stateless {@code Comparator} to be
+     *        used to compare stream elements
+     * @param serializer a serializer to write the elements to the temporary
+     *        files and read them back
+     * @param tmpDir the directory to create the temporary files in
+     * @param maxInMemory the maximal number of elements to keep in memory
+     * @return the new stream
+     * @throws IllegalArgumentException if maxInMemory is not positive
+     * @see #sorted(Comparator)
+     * @since 0.6.8
+     */
+    public StreamEx<T> sortedExternal(Comparator<? super T> comparator, Serializer<T> serializer, Path tmpDir,
+            int maxInMemory) {
+        Objects.requireNonNull(comparator);
+        Objects.requireNonNull(serializer);
+        checkPositive("maxInMemory", maxInMemory);
+        ExternalSortSpliterator<T> spliterator = new ExternalSortSpliterator<>(spliterator(), comparator,
+                serializer, tmpDir, maxInMemory, isParallel());
+        return new StreamEx<>(spliterator, context.onClose(spliterator::close));
+    }
+
     /**
      * Returns a stream consisting of the results of applying the given function
      * to the every adjacent pair of elements of this stream.
@@ -1710,6 +2027,193 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         });
     }
 
+    /**
+     * Returns a stream consisting of the randomly selected elements of this
+     * stream: every element is selected independently with the probability
+     * {@code fraction} (Bernoulli sampling), so the expected size of the
+     * resulting stream is the size of this stream multiplied by
+     * {@code fraction}.
+     *
+     * <p>
+     * This method is equivalent to
+     * {@code sample(fraction, new SplittableRandom())}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * @param fraction the probability to select every element, between 0 and
+     *        1
+     * @return the new stream
+     * @throws IllegalArgumentException if fraction is not between 0 and 1
+     * @see #sample(double, SplittableRandom)
+     * @see MoreCollectors#reservoirSample(int, SplittableRandom)
+     * @since 0.6.8
+     */
+    public StreamEx<T> sample(double fraction) {
+        return sample(fraction, new SplittableRandom());
+    }
+
+    /**
+     * Returns a stream consisting of the randomly selected elements of this
+     * stream: every element is selected independently with the probability
+     * {@code fraction} (Bernoulli sampling), so the expected size of the
+     * resulting stream is the size of this stream multiplied by
+     * {@code fraction}. The selected elements preserve the order of this
+     * stream.
+     *
+     * <p>
+     * Unlike {@code filter(x -> random.nextDouble() < fraction)} this method
+     * does not generate a random number per element: the number of elements
+     * to skip before the next selected one is drawn from the geometric
+     * distribution, so the random generator is called only once per selected
+     * element. Every part of the parallel stream uses a separate generator
+     * split from the supplied one, so the result of the sequential stream is
+     * reproducible for the same seed.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * operation.
+     *
+     * @param fraction the probability to select every element, between 0 and
+     *        1
+     * @param random the source of randomness
+     * @return the new stream
+     * @throws IllegalArgumentException if fraction is not between 0 and 1
+     * @see MoreCollectors#reservoirSample(int, SplittableRandom)
+     * @since 0.6.8
+     */
+    public StreamEx<T> sample(double fraction, SplittableRandom random) {
+        if (!(fraction >= 0 && fraction <= 1))
+            throw new IllegalArgumentException("fraction must be between 0 and 1: " + fraction);
+        Objects.requireNonNull(random);
+        SplittableRandom r;
+        synchronized (random) {
+            r = random.split();
+        }
+        return new StreamEx<>(new SampleSpliterator<>(spliterator(), fraction, r), context);
+    }
+
+    /**
+     * Returns a stream consisting of lists of {@code size} consecutive
+     * elements of this stream. The last list may contain fewer elements if
+     * the number of stream elements is not a multiple of {@code size}.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation.
+     *
+     * <p>
+     * There are no guarantees on the type, mutability, serializability, or
+     * thread-safety of the {@code List} objects of the resulting stream.
+     *
+     * <p>
+     * The resulting stream parallelizes well if this stream has known size and
+     * its spliterator reports {@link Spliterator#SUBSIZED} characteristic (like
+     * streams created from arrays or {@code ArrayList}): the splitting is
+     * performed at chunk boundaries buffering at most {@code size - 1}
+     * elements per split.
+     *
+     * @param size the number of elements in every list (except possibly the
+     *        last one), must be positive
+     * @return the new stream
+     * @throws IllegalArgumentException if size is not positive
+     * @since 0.6.8
+     * @see #ofSubLists(List, int)
+     */
+    public StreamEx<List<T>> chunked(int size) {
+        checkChunkSize(size);
+        return new StreamEx<>(new ChunkedSpliterator.OfRef<>(spliterator(), size), context);
+    }
+
+    /**
+     * Returns a stream consisting of lists of {@code size} consecutive
+     * elements of this stream starting at every {@code step}-th element. The
+     * windows overlap if {@code step} is less than {@code size} and skip some
+     * elements if it's greater. The windows are the same as
+     * {@link #ofSubLists(List, int, int)} would produce for the list of all
+     * the stream elements: the last window may be shorter.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation.
+     *
+     * <p>
+     * The lists of the resulting stream are read-only views sharing the
+     * buffer with the adjacent windows, so the operation allocates no memory
+     * proportional to {@code size} per window. There are no other guarantees
+     * on the type, serializability, or thread-safety of the lists.
+     *
+     * <p>
+     * The resulting stream parallelizes well if this stream has known size and
+     * its spliterator reports {@link Spliterator#SUBSIZED} characteristic:
+     * the source is split at any point and at most {@code size - 1} elements
+     * after the split point are buffered twice to complete the windows
+     * crossing it.
+     *
+     * @param size the number of elements in every list (except possibly the
+     *        last one), must be positive
+     * @param step the distance between the first elements of the adjacent
+     *        windows, must be positive
+     * @return the new stream
+     * @throws IllegalArgumentException if size or step is not positive
+     * @since 0.6.8
+     * @see #chunked(int)
+     * @see #ofSubLists(List, int, int)
+     */
+    public StreamEx<List<T>> window(int size, int step) {
+        checkChunkSize(size);
+        checkPositive("step", step);
+        return new StreamEx<>(new WindowSpliterator.OfCount<>(spliterator(), size, step), context);
+    }
+
+    /**
+     * Returns an {@link EntryStream} of time windows over the elements of this
+     * stream. The window with start {@code s} contains the elements whose
+     * timestamps lie in the interval {@code [s, s + width)}, and the window
+     * starts are the multiples of {@code slide}. The entry keys are window
+     * starts and the values are the lists of elements in the window. Only the
+     * windows containing at least one element are emitted in the order of
+     * their starts.
+     *
+     * <p>
+     * If {@code slide} equals to {@code width}, the windows are tumbling:
+     * every element belongs to exactly one window. If {@code slide} is less
+     * than {@code width}, the windows are sliding: every element belongs to
+     * approximately {@code width / slide} windows. If {@code slide} is greater
+     * than {@code width}, the elements falling between the windows are
+     * skipped.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate</a>
+     * partial reduction operation. The elements must be ordered by the
+     * timestamps: only the elements of the open windows are buffered.
+     *
+     * <p>
+     * The lists of the resulting stream are read-only views sharing the
+     * buffer with the adjacent windows. There are no other guarantees on the
+     * type, serializability, or thread-safety of the lists.
+     *
+     * @param timestamp a non-interfering, stateless function which returns
+     *        the timestamp of the element. The timestamps must not decrease
+     *        along the stream.
+     * @param width the length of every window in timestamp units, must be
+     *        positive
+     * @param slide the distance between the starts of the adjacent windows in
+     *        timestamp units, must be positive
+     * @return the new stream
+     * @throws IllegalArgumentException if width or slide is not positive
+     * @throws IllegalStateException (during the terminal operation) if the
+     *         timestamps decrease
+     * @since 0.6.8
+     * @see #window(int, int)
+     */
+    public EntryStream<Long, List<T>> windowBy(ToLongFunction<? super T> timestamp, long width, long slide) {
+        checkPositive("width", width);
+        checkPositive("slide", slide);
+        return new EntryStream<>(new WindowSpliterator.OfTime<>(spliterator(), timestamp, width, slide), context);
+    }
+
     /**
      * Returns a stream consisting of results of applying the given function to
      * the intervals created from the source elements.
@@ -1952,6 +2456,222 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
                 SimpleImmutableEntry::new, true), context.combine(other));
     }
 
+    /**
+     * Creates a new {@link StreamEx} which is the result of applying of the
+     * mapper {@code BiFunction} to every pair of elements of this stream and
+     * the supplied other stream having equal keys (inner join of the sorted
+     * streams). The elements having no matching element in another stream are
+     * skipped. The streams may have different element types, like two sorted
+     * exports sharing the same key.
+     *
+     * <p>
+     * Both this stream and the other stream must be sorted by their keys
+     * according to the supplied comparator, otherwise the result is
+     * unspecified. The streams are traversed simultaneously: only the elements
+     * of the other stream whose key is equal to the key of the current element
+     * of this stream are buffered, so the memory consumption does not depend
+     * on the stream sizes. If several elements of this stream have the same
+     * key as several elements of the other stream, the mapper is applied to
+     * every pair of them.
+     *
+     * <p>
+     * The resulting stream is ordered if both of the input streams are
+     * ordered, and parallel if either of the input streams is parallel. When
+     * the resulting stream is closed, the close handlers for both input
+     * streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <U> the type of the other stream elements
+     * @param <K> the type of the join keys
+     * @param <R> the type of the resulting stream elements
+     * @param other the stream to join this stream with
+     * @param keyMapper a non-interfering, stateless function to extract the
+     *        keys from the elements of this stream
+     * @param otherKeyMapper a non-interfering, stateless function to extract
+     *        the keys from the elements of the other stream
+     * @param comparator a non-interfering, stateless comparator which both
+     *        streams are sorted by keys with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        pairs of the joined elements
+     * @return the new stream
+     * @since 0.6.8
+     * @see #leftMergeJoin(Stream, Function, Function, Comparator, BiFunction)
+     * @see #outerMergeJoin(Stream, Function, Function, Comparator, BiFunction)
+     * @see #hashJoin(Stream, Function, Function)
+     * @see EntryStream#mergeJoin(Stream, Comparator, BiFunction)
+     */
+    public <U, K, R> StreamEx<R> mergeJoin(Stream<U> other, Function<? super T, ? extends K> keyMapper,
+            Function<? super U, ? extends K> otherKeyMapper, Comparator<? super K> comparator,
+            BiFunction<? super T, ? super U, ? extends R> mapper) {
+        return mergeJoin(other, keyMapper, otherKeyMapper, comparator, mapper, false, false);
+    }
+
+    /**
+     * Creates a new {@link StreamEx} which is the result of applying of the
+     * mapper {@code BiFunction} to every pair of elements of this stream and
+     * the supplied other stream having equal keys (left outer join of the
+     * sorted streams). For the elements of this stream having no matching
+     * element in the other stream the mapper is called with {@code null}
+     * second argument. The elements of the other stream having no matching
+     * element in this stream are skipped.
+     *
+     * <p>
+     * Both this stream and the other stream must be sorted by their keys
+     * according to the supplied comparator, otherwise the result is
+     * unspecified. The streams are traversed simultaneously: only the elements
+     * of the other stream whose key is equal to the key of the current element
+     * of this stream are buffered, so the memory consumption does not depend
+     * on the stream sizes. If several elements of this stream have the same
+     * key as several elements of the other stream, the mapper is applied to
+     * every pair of them.
+     *
+     * <p>
+     * The resulting stream is ordered if both of the input streams are
+     * ordered, and parallel if either of the input streams is parallel. When
+     * the resulting stream is closed, the close handlers for both input
+     * streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <U> the type of the other stream elements
+     * @param <K> the type of the join keys
+     * @param <R> the type of the resulting stream elements
+     * @param other the stream to join this stream with
+     * @param keyMapper a non-interfering, stateless function to extract the
+     *        keys from the elements of this stream
+     * @param otherKeyMapper a non-interfering, stateless function to extract
+     *        the keys from the elements of the other stream
+     * @param comparator a non-interfering, stateless comparator which both
+     *        streams are sorted by keys with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        pairs of the joined elements, the second argument is null for
+     *        unmatched elements
+     * @return the new stream
+     * @since 0.6.8
+     * @see #mergeJoin(Stream, Function, Function, Comparator, BiFunction)
+     * @see #outerMergeJoin(Stream, Function, Function, Comparator, BiFunction)
+     */
+    public <U, K, R> StreamEx<R> leftMergeJoin(Stream<U> other, Function<? super T, ? extends K> keyMapper,
+            Function<? super U, ? extends K> otherKeyMapper, Comparator<? super K> comparator,
+            BiFunction<? super T, ? super U, ? extends R> mapper) {
+        return mergeJoin(other, keyMapper, otherKeyMapper, comparator, mapper, true, false);
+    }
+
+    /**
+     * Creates a new {@link StreamEx} which is the result of applying of the
+     * mapper {@code BiFunction} to every pair of elements of this stream and
+     * the supplied other stream having equal keys (full outer join of the
+     * sorted streams). For the elements having no matching element in another
+     * stream the mapper is called with {@code null} in place of the missing
+     * element. The results are ordered by keys according to the comparator.
+     *
+     * <p>
+     * Both this stream and the other stream must be sorted by their keys
+     * according to the supplied comparator, otherwise the result is
+     * unspecified. The streams are traversed simultaneously: only the elements
+     * of the other stream whose key is equal to the key of the current element
+     * of this stream are buffered, so the memory consumption does not depend
+     * on the stream sizes. If several elements of this stream have the same
+     * key as several elements of the other stream, the mapper is applied to
+     * every pair of them.
+     *
+     * <p>
+     * The resulting stream is ordered if both of the input streams are
+     * ordered, and parallel if either of the input streams is parallel. When
+     * the resulting stream is closed, the close handlers for both input
+     * streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <U> the type of the other stream elements
+     * @param <K> the type of the join keys
+     * @param <R> the type of the resulting stream elements
+     * @param other the stream to join this stream with
+     * @param keyMapper a non-interfering, stateless function to extract the
+     *        keys from the elements of this stream
+     * @param otherKeyMapper a non-interfering, stateless function to extract
+     *        the keys from the elements of the other stream
+     * @param comparator a non-interfering, stateless comparator which both
+     *        streams are sorted by keys with
+     * @param mapper a non-interfering, stateless function to apply to the
+     *        pairs of the joined elements, one of the arguments is null for
+     *        unmatched elements
+     * @return the new stream
+     * @since 0.6.8
+     * @see #mergeJoin(Stream, Function, Function, Comparator, BiFunction)
+     * @see #leftMergeJoin(Stream, Function, Function, Comparator, BiFunction)
+     */
+    public <U, K, R> StreamEx<R> outerMergeJoin(Stream<U> other, Function<? super T, ? extends K> keyMapper,
+            Function<? super U, ? extends K> otherKeyMapper, Comparator<? super K> comparator,
+            BiFunction<? super T, ? super U, ? extends R> mapper) {
+        return mergeJoin(other, keyMapper, otherKeyMapper, comparator, mapper, true, true);
+    }
+
+    private <U, K, R> StreamEx<R> mergeJoin(Stream<U> other, Function<? super T, ? extends K> keyMapper,
+            Function<? super U, ? extends K> otherKeyMapper, Comparator<? super K> comparator,
+            BiFunction<? super T, ? super U, ? extends R> mapper, boolean keepLeft, boolean keepRight) {
+        Objects.requireNonNull(keyMapper);
+        Objects.requireNonNull(otherKeyMapper);
+        Objects.requireNonNull(comparator);
+        ToIntBiFunction<T, U> cmp = (t, u) -> comparator.compare(keyMapper.apply(t), otherKeyMapper.apply(u));
+        return new StreamEx<>(new MergeJoinSpliterator<>(spliterator(), other.spliterator(), cmp, mapper, keepLeft,
+                keepRight), context.combine(other));
+    }
+
+    /**
+     * Returns a new {@link EntryStream} which contains an entry for every pair
+     * of an element of this stream and an element of the supplied build
+     * stream having equal keys (inner hash join). The keys of the resulting
+     * entries are the elements of this stream and the values are the matching
+     * elements of the build stream. If several elements of the build stream
+     * match the same element of this stream, the entries are emitted in the
+     * build stream encounter order.
+     *
+     * <p>
+     * When the traversal of the resulting stream starts, the build stream is
+     * fully consumed (in parallel if it's parallel) and indexed by a compact
+     * hash table, thus the smaller of two streams should be used as the build
+     * stream. The elements of this stream are not buffered: they are looked up
+     * in the table one by one. The table is never modified after it's built,
+     * so the parallel lookups do not need any synchronization. The keys are
+     * compared using {@link Object#equals(Object)}, {@code null} key matches
+     * only the {@code null} key.
+     *
+     * <p>
+     * The resulting stream is ordered if this stream is ordered, and parallel
+     * if either of the input streams is parallel. When the resulting stream is
+     * closed, the close handlers for both input streams are invoked.
+     *
+     * <p>
+     * This is a <a href="package-summary.html#StreamOps">quasi-intermediate
+     * operation</a>.
+     *
+     * @param <U> the type of the build stream elements
+     * @param <K> the type of the join keys
+     * @param build the stream to build the hash table from
+     * @param keyMapper a non-interfering, stateless function to extract the
+     *        keys from the elements of this stream
+     * @param buildKeyMapper a non-interfering, stateless function to extract
+     *        the keys from the elements of the build stream
+     * @return the new stream
+     * @since 0.6.8
+     * @see EntryStream#join(Stream, BiFunction)
+     * @see #mergeJoin(Stream, Function, Function, Comparator, BiFunction)
+     */
+    public <U, K> EntryStream<T, U> hashJoin(Stream<U> build, Function<? super T, ? extends K> keyMapper,
+            Function<? super U, ? extends K> buildKeyMapper) {
+        return new EntryStream<>(new HashJoinSpliterator<T, U, Entry<T, U>>(spliterator(), keyMapper, build
+                .spliterator(), build.isParallel(), buildKeyMapper, SimpleImmutableEntry::new), context.combine(
+                    build));
+    }
+
     /**
      * Creates a new Stream which is the result of applying of the mapper
      * {@code BiFunction} to the first element of the current stream (head) and
@@ -2414,6 +3134,107 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return of(UnknownSizeSpliterator.optimize(Files.lines(path, charset)));
     }
 
+    /**
+     * Read all lines from a file as a {@code StreamEx} mapping the file into
+     * memory. Bytes from the file are decoded into characters using the
+     * {@link StandardCharsets#UTF_8 UTF-8} {@link Charset charset} and the same
+     * line terminators as specified by {@link Files#readAllLines(Path, Charset)}
+     * are supported.
+     *
+     * <p>
+     * Unlike {@link #ofLines(Path)} the returned stream is well parallelizable:
+     * the file is split at byte offsets adjusted to the line boundaries, so
+     * every part can be read and decoded independently. The stream reports the
+     * file size in bytes as an estimated size.
+     *
+     * <p>
+     * After this method returns, then any subsequent I/O exception that occurs
+     * while reading from the file or when a malformed or unmappable byte
+     * sequence is read, is wrapped in an {@link UncheckedIOException} that will
+     * be thrown from the {@code StreamEx} method that caused the read to take
+     * place. In case an {@code IOException} is thrown when closing the file, it
+     * is also wrapped as an {@code UncheckedIOException}.
+     *
+     * <p>
+     * The returned stream encapsulates a {@link FileChannel}. If timely
+     * disposal of file system resources is required, the try-with-resources
+     * construct should be used to ensure that the stream's {@link #close close}
+     * method is invoked after the stream operations are completed. The file
+     * must not be modified while the stream is being consumed.
+     *
+     * @param path the path to the file
+     * @return the lines from the file as a {@code StreamEx}
+     * @throws IOException if an I/O error occurs opening the file
+     * @see #ofLines(Path)
+     * @since 0.6.8
+     */
+    public static StreamEx<String> ofMappedLines(Path path) throws IOException {
+        return ofMappedLines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read all lines from a file as a {@code StreamEx} mapping the file into
+     * memory.
+     *
+     * <p>
+     * Bytes from the file are decoded into characters using the specified
+     * charset and the same line terminators as specified by
+     * {@link Files#readAllLines(Path, Charset)} are supported.
+     *
+     * <p>
+     * Unlike {@link #ofLines(Path, Charset)} the returned stream is well
+     * parallelizable: the file is split at byte offsets adjusted to the line
+     * boundaries, so every part can be read and decoded independently. The
+     * stream reports the file size in bytes as an estimated size. Only
+     * {@link StandardCharsets#UTF_8 UTF-8}, {@link StandardCharsets#US_ASCII
+     * US-ASCII} and {@link StandardCharsets#ISO_8859_1 ISO-8859-1} charsets can
+     * be split this way. For any other charset this method behaves like
+     * {@link #ofLines(Path, Charset)}.
+     *
+     * <p>
+     * After this method returns, then any subsequent I/O exception that occurs
+     * while reading from the file or when a malformed or unmappable byte
+     * sequence is read, is wrapped in an {@link UncheckedIOException} that will
+     * be thrown from the {@code StreamEx} method that caused the read to take
+     * place. In case an {@code IOException} is thrown when closing the file, it
+     * is also wrapped as an {@code UncheckedIOException}.
+     *
+     * <p>
+     * The returned stream encapsulates a {@link FileChannel}. If timely
+     * disposal of file system resources is required, the try-with-resources
+     * construct should be used to ensure that the stream's {@link #close close}
+     * method is invoked after the stream operations are completed. The file
+     * must not be modified while the stream is being consumed.
+     *
+     * @param path the path to the file
+     * @param charset the charset to use for decoding
+     * @return the lines from the file as a {@code StreamEx}
+     * @throws IOException if an I/O error occurs opening the file
+     * @see #ofLines(Path, Charset)
+     * @since 0.6.8
+     */
+    public static StreamEx<String> ofMappedLines(Path path, Charset charset) throws IOException {
+        if (!MappedLinesSpliterator.isSupported(charset))
+            return ofLines(path, charset);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return of(new MappedLinesSpliterator(channel, charset, channel.size())).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException | Error e) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                e.addSuppressed(ex);
+            }
+            throw e;
+        }
+    }
+
     /**
      * Returns a sequential {@code StreamEx} with keySet of given {@link Map} as
      * its source.
@@ -2494,6 +3315,108 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return of(new PermutationSpliterator(length));
     }
 
+    /**
+     * Returns a new {@code StreamEx} of {@code int[]} arrays containing all the
+     * possible permutations of numbers from 0 to length-1 in lexicographic
+     * order, optionally reusing the same array for all the permutations.
+     * 
+     * <p>
+     * If {@code reuseArray} is true, no array is allocated per stream element:
+     * the consumer receives the same array which is updated in-place to the
+     * next permutation after the consumer returns (parallel stream uses a
+     * separate array per thread). Such array must be treated as read-only and
+     * must not be stored or passed to the stateful operations like
+     * {@code sorted()} or {@code toList()}: copy it via {@code clone()} if
+     * necessary.
+     * 
+     * @param length length of permutations array. Lengths bigger than 20 are
+     *        not supported currently as resulting number of permutations will
+     *        exceed {@code Long.MAX_VALUE}.
+     * @param reuseArray if true, the same array is passed to the consumer for
+     *        every permutation
+     * @return new sequential {@code StreamEx} of possible permutations.
+     * @throws IllegalArgumentException if length is negative or number of
+     *         possible permutations exceeds {@code Long.MAX_VALUE}.
+     * @see #ofPermutations(int)
+     * @see #forEachPermutation(int, Consumer)
+     * @since 0.6.8
+     */
+    public static StreamEx<int[]> ofPermutations(int length, boolean reuseArray) {
+        return of(new PermutationSpliterator(length, reuseArray));
+    }
+
+    /**
+     * Performs an action for each permutation of numbers from 0 to length-1 in
+     * lexicographic order without allocating an array per permutation. The
+     * action receives the same array which is updated in-place to the next
+     * permutation after the action returns, so it must be treated as
+     * read-only and must not be stored.
+     * 
+     * @param length length of permutations array, not bigger than 20
+     * @param action an action to perform on the permutations
+     * @throws IllegalArgumentException if length is negative or number of
+     *         possible permutations exceeds {@code Long.MAX_VALUE}.
+     * @see #ofPermutations(int, boolean)
+     * @since 0.6.8
+     */
+    public static void forEachPermutation(int length, Consumer<? super int[]> action) {
+        Objects.requireNonNull(action);
+        new PermutationSpliterator(length, true).forEachRemaining(action);
+    }
+
+    /**
+     * Returns a new {@code StreamEx} of {@code int[]} arrays containing at most
+     * {@code count} permutations of numbers from 0 to length-1 in
+     * lexicographic order, starting from the permutation having the rank
+     * {@code start} (the rank of the first permutation is zero). If there are
+     * less than {@code count} permutations starting from the given one, the
+     * stream ends at the last permutation.
+     * 
+     * <p>
+     * Unlike {@link #ofPermutations(int)}, any length is supported, as the
+     * ranks are {@code BigInteger}. This allows to split all the permutations
+     * into disjoint rank windows which can be processed by different
+     * processes. The resulting stream can be split for parallel processing as
+     * well.
+     * 
+     * @param length length of permutations array
+     * @param start the rank of the first permutation
+     * @param count the maximal number of permutations in the resulting stream
+     * @return new sequential {@code StreamEx} of permutations.
+     * @throws IllegalArgumentException if length, start or count is negative
+     * @see #nthPermutation(int, BigInteger)
+     * @since 0.6.8
+     */
+    public static StreamEx<int[]> ofPermutations(int length, BigInteger start, long count) {
+        checkNonNegative("Length", length);
+        if (start.signum() < 0)
+            throw new IllegalArgumentException("Start must be non-negative: " + start);
+        if (count < 0)
+            throw new IllegalArgumentException("Count must be non-negative: " + count);
+        return of(new PermutationSpliterator(length, start, count, false));
+    }
+
+    /**
+     * Returns the permutation of numbers from 0 to length-1 which has the
+     * given rank in lexicographic order. The rank of the first permutation
+     * ({@code [0, 1, ..., length-1]}) is zero, the rank of the last one is
+     * {@code length!-1}.
+     * 
+     * @param length length of permutations array
+     * @param rank the rank of the permutation
+     * @return the new array containing the permutation
+     * @throws IllegalArgumentException if length is negative or the rank is
+     *         negative or not less than {@code length!}
+     * @see #ofPermutations(int, BigInteger, long)
+     * @since 0.6.8
+     */
+    public static int[] nthPermutation(int length, BigInteger rank) {
+        checkNonNegative("Length", length);
+        if (rank.signum() < 0 || rank.compareTo(PermutationSpliterator.factorial(length)) >= 0)
+            throw new IllegalArgumentException("Rank is out of range for length " + length + ": " + rank);
+        return PermutationSpliterator.unrank(length, rank);
+    }
+
     /**
      * Returns a new {@code StreamEx} of {@code int[]} arrays containing all the possible combinations of length {@code
      * k} consisting of numbers from 0 to {@code n-1} in lexicographic order.
@@ -2510,21 +3433,106 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
      * @since 0.6.7
      */
     public static StreamEx<int[]> ofCombinations(int n, int k) {
+        return ofCombinations(n, k, false);
+    }
+
+    /**
+     * Returns a new {@code StreamEx} of {@code int[]} arrays containing all the possible combinations of length {@code
+     * k} consisting of numbers from 0 to {@code n-1} in lexicographic order, optionally reusing the same array for all
+     * the combinations.
+     * <p>
+     * If {@code reuseArray} is true, no array is allocated per stream element: the consumer receives the same array
+     * which is updated in-place to the next combination after the consumer returns (parallel stream uses a separate
+     * array per thread). Such array must be treated as read-only and must not be stored or passed to the stateful
+     * operations like {@code sorted()} or {@code toList()}: copy it via {@code clone()} if necessary.
+     *
+     * @param n number of possible distinct elements
+     * @param k number of elements in each combination
+     * @param reuseArray if true, the same array is passed to the consumer for every combination
+     * @return new sequential stream of possible combinations. Returns an empty stream if {@code k} is bigger
+     * than {@code n}.
+     * @throws IllegalArgumentException if n or k is negative or number of possible combinations exceeds {@code
+     *                                  Long.MAX_VALUE}.
+     * @see #ofCombinations(int, int)
+     * @see #forEachCombination(int, int, Consumer)
+     * @since 0.6.8
+     */
+    public static StreamEx<int[]> ofCombinations(int n, int k, boolean reuseArray) {
         checkNonNegative("k", k);
         checkNonNegative("n", n);
-        if (k > n) {
-            return StreamEx.empty();
-        }
-        if (k == 0) {
-            return StreamEx.of(new int[0]);
-        }
-        long size = CombinationSpliterator.cnk(n, k);
-        int[] value = new int[k];
-        for (int i = 0; i < k; i++) {
-            value[i] = i;
-        }
+        return StreamEx.of(CombinationSpliterator.of(n, k, reuseArray));
+    }
+
+    /**
+     * Performs an action for each combination of length {@code k} consisting of numbers from 0 to {@code n-1} in
+     * lexicographic order without allocating an array per combination. The action receives the same array which is
+     * updated in-place to the next combination after the action returns, so it must be treated as read-only and must
+     * not be stored.
+     *
+     * @param n number of possible distinct elements
+     * @param k number of elements in each combination
+     * @param action an action to perform on the combinations
+     * @throws IllegalArgumentException if n or k is negative or number of possible combinations exceeds {@code
+     *                                  Long.MAX_VALUE}.
+     * @see #ofCombinations(int, int, boolean)
+     * @since 0.6.8
+     */
+    public static void forEachCombination(int n, int k, Consumer<? super int[]> action) {
+        checkNonNegative("k", k);
+        checkNonNegative("n", n);
+        Objects.requireNonNull(action);
+        CombinationSpliterator.of(n, k, true).forEachRemaining(action);
+    }
+
+    /**
+     * Returns a new {@code StreamEx} of {@code int[]} arrays containing at most {@code count} combinations of length
+     * {@code k} consisting of numbers from 0 to {@code n-1} in lexicographic order, starting from the combination
+     * having the rank {@code start} (the rank of the first combination is zero). If there are less than {@code count}
+     * combinations starting from the given one, the stream ends at the last combination.
+     * <p>
+     * Unlike {@link #ofCombinations(int, int)}, the total number of combinations may exceed {@code Long.MAX_VALUE}, as
+     * the ranks are {@code BigInteger}. This allows to split all the combinations into disjoint rank windows which
+     * can be processed by different processes. The resulting stream can be split for parallel processing as well.
+     *
+     * @param n number of possible distinct elements
+     * @param k number of elements in each combination
+     * @param start the rank of the first combination
+     * @param count the maximal number of combinations in the resulting stream
+     * @return new sequential stream of combinations.
+     * @throws IllegalArgumentException if n, k, start or count is negative
+     * @see #nthCombination(int, int, BigInteger)
+     * @since 0.6.8
+     */
+    public static StreamEx<int[]> ofCombinations(int n, int k, BigInteger start, long count) {
+        checkNonNegative("k", k);
+        checkNonNegative("n", n);
+        if (start.signum() < 0)
+            throw new IllegalArgumentException("Start must be non-negative: " + start);
+        if (count < 0)
+            throw new IllegalArgumentException("Count must be non-negative: " + count);
+        return of(CombinationSpliterator.of(n, k, start, count, false));
+    }
 
-        return StreamEx.of(new CombinationSpliterator(n, size, 0, value));
+    /**
+     * Returns the combination of length {@code k} consisting of numbers from 0 to {@code n-1} which has the given rank
+     * in lexicographic order. The rank of the first combination ({@code [0, 1, ..., k-1]}) is zero, the rank of the
+     * last one is {@code CNK(n, k)-1}.
+     *
+     * @param n number of possible distinct elements
+     * @param k number of elements in the combination
+     * @param rank the rank of the combination
+     * @return the new array containing the combination
+     * @throws IllegalArgumentException if n or k is negative or the rank is negative or not less than the number of
+     *                                  combinations
+     * @see #ofCombinations(int, int, BigInteger, long)
+     * @since 0.6.8
+     */
+    public static int[] nthCombination(int n, int k, BigInteger rank) {
+        checkNonNegative("k", k);
+        checkNonNegative("n", n);
+        if (rank.signum() < 0 || rank.compareTo(CombinationSpliterator.binomial(n, k)) >= 0)
+            throw new IllegalArgumentException("Rank is out of range for n = " + n + ", k = " + k + ": " + rank);
+        return CombinationSpliterator.unrank(n, k, rank);
     }
 
     /**
@@ -3228,6 +4236,100 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
         return of(new CrossSpliterator.Reducing<>(Collections.nCopies(n, source), identity, accumulator));
     }
 
+    /**
+     * A serializer which writes the stream elements to the binary stream and
+     * reads them back. It's used by
+     * {@link StreamEx#sortedExternal(Comparator, Serializer, Path, int)} to
+     * store the elements in the temporary files.
+     * 
+     * <p>
+     * For example, a serializer for strings can be created as
+     * {@code Serializer.of(DataOutput::writeUTF, DataInput::readUTF)}.
+     * 
+     * @author Tagir Valeev
+     *
+     * @param <T> the type of the elements
+     * @since 0.6.8
+     */
+    public interface Serializer<T> {
+        /**
+         * Writes the element to the output.
+         * 
+         * @param out the output to write to
+         * @param t the element to write
+         * @throws IOException if an I/O error occurs
+         */
+        void write(DataOutput out, T t) throws IOException;
+
+        /**
+         * Reads the element previously written by
+         * {@link #write(DataOutput, Object)} from the input.
+         * 
+         * @param in the input to read from
+         * @return the element read
+         * @throws IOException if an I/O error occurs
+         */
+        T read(DataInput in) throws IOException;
+
+        /**
+         * Creates a serializer from the writer and the reader functions.
+         * 
+         * @param <T> the type of the elements
+         * @param writer a function which writes the element to the output
+         * @param reader a function which reads the element from the input
+         * @return the new serializer
+         */
+        static <T> Serializer<T> of(IOWriter<T> writer, IOReader<T> reader) {
+            Objects.requireNonNull(writer);
+            Objects.requireNonNull(reader);
+            return new Serializer<T>() {
+                @Override
+                public void write(DataOutput out, T t) throws IOException {
+                    writer.write(out, t);
+                }
+
+                @Override
+                public T read(DataInput in) throws IOException {
+                    return reader.read(in);
+                }
+            };
+        }
+
+        /**
+         * A function which writes the element to the output.
+         * 
+         * @param <T> the type of the elements
+         */
+        @FunctionalInterface
+        interface IOWriter<T> {
+            /**
+             * Writes the element to the output.
+             * 
+             * @param out the output to write to
+             * @param t the element to write
+             * @throws IOException if an I/O error occurs
+             */
+            void write(DataOutput out, T t) throws IOException;
+        }
+
+        /**
+         * A function which reads the element from the input.
+         * 
+         * @param <T> the type of the elements
+         */
+        @FunctionalInterface
+        interface IOReader<T> {
+            /**
+             * Reads the element from the input.
+             * 
+             * @param in the input to read from
+             * @return the element read
+             * @throws IOException if an I/O error occurs
+             */
+            T read(DataInput in) throws IOException;
+        }
+    }
+
     /**
      * A helper interface to build a new stream by emitting elements and
      * creating new emitters in a chain.
@@ -3298,4 +4400,64 @@ public class StreamEx<T> extends AbstractStreamEx<T, StreamEx<T>> {
             return of(spliterator());
         }
     }
+
+    /**
+     * An {@link Emitter} which can be split into two independent emitters,
+     * allowing the stream created from it to be processed in parallel. This
+     * is useful for generators which produce the elements of some range (like
+     * paginated scans of key ranges), as the range can be divided in halves.
+     * 
+     * <p>
+     * For example, the following emitter reads the key range page by page and
+     * can be split into two halves of the range:
+     * 
+     * <pre>{@code
+     * class RangeEmitter implements SplittableEmitter<Row> {
+     *    private long from;
+     *    private final long to;
+     *
+     *    RangeEmitter(long from, long to) { this.from = from; this.to = to; }
+     *
+     *    public Emitter<Row> next(Consumer<? super Row> action) {
+     *       List<Row> page = fetchPage(from, Math.min(to, from + PAGE_SIZE));
+     *       page.forEach(action);
+     *       from += PAGE_SIZE;
+     *       return from >= to ? null : this;
+     *    }
+     *
+     *    public Emitter<Row> trySplit() {
+     *       if (to - from < 2 * PAGE_SIZE)
+     *          return null;
+     *       long mid = from + (to - from) / 2;
+     *       RangeEmitter prefix = new RangeEmitter(from, mid);
+     *       from = mid;
+     *       return prefix;
+     *    }
+     * }}</pre>
+     * 
+     * @author Tagir Valeev
+     *
+     * @param <T> the type of the elements this emitter emits
+     * @since 0.6.8
+     * @see StreamEx.Emitter
+     */
+    public interface SplittableEmitter<T> extends Emitter<T> {
+        /**
+         * Tries to split this emitter. If successful, returns the emitter which
+         * emits the prefix of the elements, while this emitter (and the
+         * emitters it returns from {@code next()}) will emit the rest of the
+         * elements only. The emitters returned from {@code next()} may
+         * implement {@code SplittableEmitter} as well to allow further
+         * splitting.
+         * 
+         * <p>
+         * This method is never called concurrently with {@code next()} and
+         * never called when the elements emitted by the previous
+         * {@code next()} call are not consumed yet.
+         * 
+         * @return the emitter covering the prefix of the elements or null if
+         *         this emitter cannot be split
+         */
+        Emitter<T> trySplit();
+    }
 }
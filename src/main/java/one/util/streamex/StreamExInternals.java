@@ -95,6 +95,12 @@ import java.util.stream.Collector.Characteristics;
         }
     }
 
+    static void checkPositive(String name, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+    }
+
     static final class ByteBuffer {
         int size = 0;
         byte[] data;
@@ -507,6 +513,34 @@ import java.util.stream.Collector.Characteristics;
             }, NO_CHARACTERISTICS);
         }
 
+        @SuppressWarnings("unchecked")
+        static <A, D> PartialCollector<IntKeyMap<A>, Map<Integer, D>> intKeyGrouping(Collector<?, A, D> downstream) {
+            BinaryOperator<A> downstreamMerger = downstream.combiner();
+            BiConsumer<IntKeyMap<A>, IntKeyMap<A>> merger = (map1, map2) -> map1.mergeAll(map2, downstreamMerger);
+
+            if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+                return (PartialCollector<IntKeyMap<A>, Map<Integer, D>>) (PartialCollector<?, ?>) new PartialCollector<>(
+                        IntKeyMap<A>::new, merger, Function.identity(), ID_CHARACTERISTICS);
+            }
+            Function<A, D> downstreamFinisher = downstream.finisher();
+            return new PartialCollector<>(IntKeyMap::new, merger, map -> map.mapValues(downstreamFinisher),
+                    NO_CHARACTERISTICS);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <A, D> PartialCollector<LongKeyMap<A>, Map<Long, D>> longKeyGrouping(Collector<?, A, D> downstream) {
+            BinaryOperator<A> downstreamMerger = downstream.combiner();
+            BiConsumer<LongKeyMap<A>, LongKeyMap<A>> merger = (map1, map2) -> map1.mergeAll(map2, downstreamMerger);
+
+            if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+                return (PartialCollector<LongKeyMap<A>, Map<Long, D>>) (PartialCollector<?, ?>) new PartialCollector<>(
+                        LongKeyMap<A>::new, merger, Function.identity(), ID_CHARACTERISTICS);
+            }
+            Function<A, D> downstreamFinisher = downstream.finisher();
+            return new PartialCollector<>(LongKeyMap::new, merger, map -> map.mapValues(downstreamFinisher),
+                    NO_CHARACTERISTICS);
+        }
+
         static PartialCollector<StringBuilder, String> joining(CharSequence delimiter, CharSequence prefix,
                 CharSequence suffix, boolean hasPS) {
             BiConsumer<StringBuilder, StringBuilder> merger = (sb1, sb2) -> {
@@ -674,7 +708,7 @@ import java.util.stream.Collector.Characteristics;
         }
     }
 
-    static final class ObjIntBox<A> extends Box<A> implements Entry<Integer, A> {
+    static final class ObjIntBox<A> extends Box<A> implements IntObjEntryStream.IntObjEntry<A> {
         int b;
 
         ObjIntBox(A a, int b) {
@@ -682,6 +716,11 @@ import java.util.stream.Collector.Characteristics;
             this.b = b;
         }
 
+        @Override
+        public int getIntKey() {
+            return b;
+        }
+
         @Override
         public Integer getKey() {
             return b;
@@ -716,6 +755,53 @@ import java.util.stream.Collector.Characteristics;
         }
     }
 
+    static final class LongObjBox<A> extends Box<A> implements LongObjEntryStream.LongObjEntry<A> {
+        long b;
+
+        LongObjBox(long b, A a) {
+            super(a);
+            this.b = b;
+        }
+
+        @Override
+        public long getLongKey() {
+            return b;
+        }
+
+        @Override
+        public Long getKey() {
+            return b;
+        }
+
+        @Override
+        public A getValue() {
+            return a;
+        }
+
+        @Override
+        public A setValue(A value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(b) ^ (a == null ? 0 : a.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return getKey().equals(e.getKey()) && Objects.equals(a, e.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return b + "=" + a;
+        }
+    }
+
     static final class ObjLongBox<A> extends Box<A> implements Entry<A, Long> {
         long b;
 
@@ -979,6 +1065,11 @@ import java.util.stream.Collector.Characteristics;
         return (u, v) -> u;
     }
 
+    static void checkChunkSize(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("size must be positive: " + size);
+    }
+
     static int checkLength(int a, int b) {
         if (a != b)
             throw new IllegalArgumentException("Length differs: " + a + " != " + b);
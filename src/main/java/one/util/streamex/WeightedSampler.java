@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+
+import one.util.streamex.StreamExInternals.PartialCollector;
+
+import static one.util.streamex.StreamExInternals.*;
+
+/**
+ * Weighted random sample of at most k elements without replacement. Uses
+ * A-ExpJ algorithm (Efraimidis and Spirakis, 2006): every element gets a key
+ * {@code u^(1/w)} where {@code u} is uniform random number and {@code w} is
+ * the element weight, and the elements having k largest keys are kept. When
+ * the reservoir is full, the total weight of elements to skip before the next
+ * replacement is drawn from the exponential distribution, so the random
+ * generator is not called for every element. The keys are stored as
+ * logarithms to avoid underflow for small weights. As the result depends on
+ * the keys only, two samples are merged by keeping k largest keys.
+ * 
+ * @param <T> type of the elements
+ * 
+ * @author Tagir Valeev
+ */
+/* package */final class WeightedSampler<T> {
+    private static final class Item<T> implements Comparable<Item<T>> {
+        final double key;
+        final T value;
+
+        Item(double key, T value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Item<T> o) {
+            return Double.compare(key, o.key);
+        }
+    }
+
+    private final int k;
+    private final ToDoubleFunction<? super T> weightFunction;
+    private final SplittableRandom random;
+    private final PriorityQueue<Item<T>> heap = new PriorityQueue<>();
+    // the total weight to skip before the next replacement
+    private double skip;
+
+    WeightedSampler(int k, ToDoubleFunction<? super T> weightFunction, SplittableRandom random) {
+        this.k = k;
+        this.weightFunction = weightFunction;
+        this.random = random;
+    }
+
+    private double nextOpenDouble() {
+        // (0, 1]
+        return 1 - random.nextDouble();
+    }
+
+    private void jump() {
+        double logThreshold = heap.peek().key;
+        skip = logThreshold == 0 ? Double.POSITIVE_INFINITY : Math.log(nextOpenDouble()) / logThreshold;
+    }
+
+    void add(T t) {
+        double weight = weightFunction.applyAsDouble(t);
+        if (!(weight >= 0) || weight == Double.POSITIVE_INFINITY)
+            throw new IllegalArgumentException("Weight must be non-negative and finite: " + weight);
+        if (weight == 0)
+            return;
+        if (heap.size() < k) {
+            heap.add(new Item<>(Math.log(nextOpenDouble()) / weight, t));
+            if (heap.size() == k)
+                jump();
+            return;
+        }
+        skip -= weight;
+        if (skip > 0)
+            return;
+        // the key must exceed the threshold: draw it from [threshold^weight, 1)
+        double tw = Math.exp(heap.peek().key * weight);
+        double key = Math.log(tw + (1 - tw) * random.nextDouble()) / weight;
+        heap.poll();
+        heap.add(new Item<>(key, t));
+        jump();
+    }
+
+    void merge(WeightedSampler<T> other) {
+        for (Item<T> item : other.heap) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (item.key > heap.peek().key) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        if (heap.size() == k)
+            jump();
+    }
+
+    List<T> result() {
+        List<T> result = new ArrayList<>(heap.size());
+        for (Item<T> item : heap) {
+            result.add(item.value);
+        }
+        return result;
+    }
+
+    static <T> PartialCollector<WeightedSampler<T>, List<T>> partialCollector(int k,
+            ToDoubleFunction<? super T> weightFunction, SplittableRandom random) {
+        return new PartialCollector<>(() -> {
+            SplittableRandom r;
+            synchronized (random) {
+                r = random.split();
+            }
+            return new WeightedSampler<>(k, weightFunction, r);
+        }, WeightedSampler::merge, WeightedSampler::result, UNORDERED_CHARACTERISTICS);
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractList;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * A spliterator which groups the source elements into possibly overlapping
+ * windows. The elements are appended to a segment array which is never
+ * modified after the window view over it was emitted: when the segment is
+ * full, the elements still necessary for the subsequent windows are copied
+ * into the new segment. Thus every window is a read-only {@link List} view
+ * created in constant time regardless of the window length.
+ *
+ * @param <T> type of the source elements
+ * @param <R> type of the windows
+ *
+ * @author Tagir Valeev
+ */
+/* package */abstract class WindowSpliterator<T, R> implements Spliterator<R>, Consumer<T> {
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    Spliterator<T> source;
+    List<T> head, tail;
+    int headPos, tailPos;
+    final ArrayDeque<R> ready = new ArrayDeque<>();
+    boolean done;
+    Object[] buf;
+    long[] stamps;
+    int bufFrom, bufTo;
+    private int batch;
+
+    WindowSpliterator(Spliterator<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Called when all the elements were fed to {@link #accept(Object)}.
+     */
+    abstract void finish();
+
+    /**
+     * Called when the segment is replaced, so the retained elements are
+     * shifted to the left by {@code dropped} positions.
+     */
+    void onCompact(int dropped) {
+        // nothing to do by default
+    }
+
+    private boolean nextElement() {
+        if (head != null) {
+            if (headPos < head.size()) {
+                accept(head.get(headPos++));
+                return true;
+            }
+            head = null;
+        }
+        if (source.tryAdvance(this))
+            return true;
+        if (tail != null && tailPos < tail.size()) {
+            accept(tail.get(tailPos++));
+            return true;
+        }
+        return false;
+    }
+
+    void append(T t, long stamp) {
+        if (buf == null) {
+            buf = new Object[MIN_CAPACITY];
+            if (stamps != null)
+                stamps = new long[MIN_CAPACITY];
+        } else if (bufTo == buf.length) {
+            int keep = bufTo - bufFrom;
+            int capacity = (int) Math.min(MAX_CAPACITY, Math.max(MIN_CAPACITY, keep * 2L));
+            Object[] newBuf = new Object[capacity];
+            System.arraycopy(buf, bufFrom, newBuf, 0, keep);
+            buf = newBuf;
+            if (stamps != null) {
+                long[] newStamps = new long[capacity];
+                System.arraycopy(stamps, bufFrom, newStamps, 0, keep);
+                stamps = newStamps;
+            }
+            onCompact(bufFrom);
+            bufFrom = 0;
+            bufTo = keep;
+        }
+        if (stamps != null)
+            stamps[bufTo] = stamp;
+        buf[bufTo++] = t;
+    }
+
+    List<T> view(int from, int to) {
+        return new View<>(buf, from, to - from);
+    }
+
+    /**
+     * @return the next window or null if no windows left
+     */
+    private R nextWindow() {
+        while (ready.isEmpty()) {
+            if (done)
+                return null;
+            if (!nextElement()) {
+                done = true;
+                finish();
+            }
+        }
+        return ready.poll();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        R window = nextWindow();
+        if (window == null)
+            return false;
+        action.accept(window);
+        return true;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        int n = Math.min(MAX_BATCH, batch + BATCH_UNIT);
+        Object[] windows = new Object[n];
+        int count = 0;
+        for (R window = nextWindow(); window != null; window = count < n ? nextWindow() : null) {
+            windows[count++] = window;
+        }
+        if (count == 0)
+            return null;
+        batch = count;
+        return Spliterators.spliterator(windows, 0, count, characteristics());
+    }
+
+    long remaining() {
+        long size = source.estimateSize();
+        if (size == Long.MAX_VALUE)
+            return size;
+        if (head != null)
+            size += head.size() - headPos;
+        if (tail != null)
+            size += tail.size() - tailPos;
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ORDERED | NONNULL;
+    }
+
+    static final class View<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] array;
+        private final int from, size;
+
+        View(Object[] array, int from, int size) {
+            this.array = array;
+            this.from = from;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            return (T) array[from + index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Windows of {@code size} elements starting at every {@code step}-th
+     * element (the last window may be shorter). The windows are the same as
+     * {@link StreamEx#ofSubLists(List, int, int)} produces for the list of all
+     * the elements.
+     *
+     * <p>
+     * The element positions are absolute (counted from the start of the
+     * stream), so the parts created by splitting a {@code SUBSIZED} source
+     * agree on window alignment. On split the first elements of the suffix
+     * which are necessary to complete the last windows of the prefix are
+     * duplicated into the prefix tail; the prefix emits only the windows
+     * which start before the split point.
+     */
+    static final class OfCount<T> extends WindowSpliterator<T, List<T>> {
+        private final int size;
+        private final int step;
+        private final long startLimit;
+        private long pos;
+        private long nextStart;
+        private long base;
+
+        OfCount(Spliterator<T> source, int size, int step, long pos, long startLimit) {
+            super(source);
+            this.size = size;
+            this.step = step;
+            this.pos = pos;
+            this.startLimit = startLimit;
+            this.nextStart = alignUp(pos);
+            this.base = pos;
+        }
+
+        OfCount(Spliterator<T> source, int size, int step) {
+            this(source, size, step, 0, Long.MAX_VALUE);
+        }
+
+        private long alignUp(long position) {
+            return (position + step - 1) / step * step;
+        }
+
+        @Override
+        public void accept(T t) {
+            long p = pos++;
+            if (p < nextStart) {
+                // not covered by any window
+                bufFrom = bufTo;
+                base = p + 1 - bufTo;
+                return;
+            }
+            append(t, 0);
+            if (p - nextStart + 1 == size) {
+                int from = (int) (nextStart - base);
+                ready.add(view(from, from + size));
+                nextStart += step;
+                bufFrom = (int) Math.min(bufTo, nextStart - base);
+                if (nextStart >= startLimit)
+                    done = true;
+            }
+        }
+
+        @Override
+        void onCompact(int dropped) {
+            base += dropped;
+        }
+
+        @Override
+        void finish() {
+            long start = nextStart, end = pos;
+            if (start < end && start < startLimit && (start == 0 || start - step + size < end))
+                ready.add(view((int) (start - base), (int) (end - base)));
+        }
+
+        @Override
+        public Spliterator<List<T>> trySplit() {
+            if (buf != null || done || !source.hasCharacteristics(SUBSIZED))
+                return super.trySplit();
+            Spliterator<T> prefixSource = source.trySplit();
+            if (prefixSource == null)
+                return null;
+            long mid = pos + prefixSource.getExactSizeIfKnown() + (head == null ? 0 : head.size() - headPos);
+            OfCount<T> prefix = new OfCount<>(prefixSource, size, step, pos, Math.min(startLimit, mid));
+            prefix.head = head;
+            prefix.headPos = headPos;
+            head = null;
+            headPos = 0;
+            long lastStart = Math.floorDiv(Math.min(mid, startLimit) - 1, step) * step;
+            long need = lastStart + size - mid;
+            if (need > 0 && lastStart >= prefix.nextStart) {
+                List<T> overlap = new ArrayList<>((int) Math.min(need, BATCH_UNIT));
+                while (overlap.size() < need && source.tryAdvance(overlap::add)) {
+                    // continue
+                }
+                while (overlap.size() < need && tail != null && tailPos < tail.size()) {
+                    overlap.add(tail.get(tailPos++));
+                }
+                // both parts need these elements
+                prefix.tail = overlap;
+                head = overlap;
+            }
+            pos = base = mid;
+            nextStart = alignUp(mid);
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long elements = remaining();
+            return elements == Long.MAX_VALUE ? elements : elements / step + 1;
+        }
+    }
+
+    /**
+     * Windows of the elements whose timestamps belong to the interval
+     * {@code [start, start + width)} where {@code start} is a multiple of
+     * {@code slide}. Only non-empty windows are emitted. The timestamps must
+     * not decrease, so every window is a contiguous range of the buffered
+     * elements.
+     */
+    static final class OfTime<T> extends WindowSpliterator<T, Entry<Long, List<T>>> {
+        private final ToLongFunction<? super T> timestamp;
+        private final long width;
+        private final long slide;
+        private boolean started;
+        private long windowStart;
+        private long last;
+
+        OfTime(Spliterator<T> source, ToLongFunction<? super T> timestamp, long width, long slide) {
+            super(source);
+            this.timestamp = timestamp;
+            this.width = width;
+            this.slide = slide;
+            this.stamps = new long[0];
+        }
+
+        /**
+         * @return the start of the first window containing the timestamp
+         */
+        private long firstWindow(long stamp) {
+            long from = stamp - width + 1;
+            long rem = Math.floorMod(from, slide);
+            return rem == 0 ? from : from - rem + slide;
+        }
+
+        @Override
+        public void accept(T t) {
+            long stamp = timestamp.applyAsLong(t);
+            if (started) {
+                if (stamp < last)
+                    throw new IllegalStateException("Timestamps are not ascending: " + stamp + " after " + last);
+                closeWindows(stamp, false);
+            }
+            started = true;
+            last = stamp;
+            long first = firstWindow(stamp);
+            if (first > stamp) {
+                // falls into the gap between windows
+                return;
+            }
+            if (bufFrom == bufTo)
+                windowStart = first;
+            append(t, stamp);
+        }
+
+        /**
+         * Emits the windows which end at or before the given timestamp (all
+         * the windows if {@code all} is true).
+         */
+        private void closeWindows(long stamp, boolean all) {
+            while (bufFrom < bufTo && (all || stamp - windowStart >= width)) {
+                int lo = bufFrom, hi = bufTo;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (stamps[mid] - windowStart < width)
+                        lo = mid + 1;
+                    else
+                        hi = mid;
+                }
+                if (lo > bufFrom)
+                    ready.add(new SimpleImmutableEntry<>(windowStart, view(bufFrom, lo)));
+                windowStart += slide;
+                while (bufFrom < bufTo && stamps[bufFrom] < windowStart)
+                    bufFrom++;
+                if (bufFrom < bufTo)
+                    windowStart = Math.max(windowStart, firstWindow(stamps[bufFrom]));
+            }
+        }
+
+        @Override
+        void finish() {
+            closeWindows(0, true);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining();
+        }
+    }
+}
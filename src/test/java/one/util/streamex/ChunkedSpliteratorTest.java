@@ -0,0 +1,68 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class ChunkedSpliteratorTest {
+    private static List<List<Integer>> expected(int count, int size) {
+        return IntStreamEx.range(count).boxed().groupRuns((a, b) -> a / size == b / size).toList();
+    }
+
+    @Test
+    public void testSpliterator() {
+        for (int size : new int[] { 1, 2, 3, 7, 10, 1000 }) {
+            for (int count : new int[] { 0, 1, 5, 10, 99, 1000 }) {
+                List<Integer> input = IntStreamEx.range(count).boxed().toList();
+                List<List<Integer>> expected = expected(count, size);
+                checkSpliterator("sized " + count + "/" + size, expected, () -> new ChunkedSpliterator.OfRef<>(
+                        input.spliterator(), size));
+                checkSpliterator("unsized " + count + "/" + size, expected, () -> new ChunkedSpliterator.OfRef<>(
+                        input.stream().filter(x -> true).spliterator(), size));
+                checkSpliterator("int " + count + "/" + size, expected, () -> StreamEx.of(
+                    new ChunkedSpliterator.OfInt(IntStream.range(0, count).spliterator(), size)).map(
+                    arr -> IntStreamEx.of(arr).boxed().toList()).spliterator());
+            }
+        }
+    }
+
+    @Test
+    public void testSplitAtBoundary() {
+        Spliterator<List<Integer>> spliterator = new ChunkedSpliterator.OfRef<>(IntStreamEx.range(100).boxed()
+                .toList().spliterator(), 7);
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(15, spliterator.estimateSize());
+        Spliterator<List<Integer>> prefix = spliterator.trySplit();
+        // ArrayList splits at 50 elements; prefix is completed up to 56
+        assertEquals(8, prefix.estimateSize());
+        assertEquals(7, spliterator.estimateSize());
+        List<List<Integer>> result = new ArrayList<>();
+        prefix.forEachRemaining(result::add);
+        spliterator.forEachRemaining(result::add);
+        assertEquals(expected(100, 7), result);
+    }
+}
@@ -16,9 +16,18 @@
 
 package one.util.streamex;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+
 import org.junit.Test;
 
+import static one.util.streamex.TestHelpers.*;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 public class CombinationSpliteratorTest {
     @Test
@@ -47,4 +56,79 @@ public class CombinationSpliteratorTest {
             }
         }
     }
+
+    @Test
+    public void testReuse() {
+        for (int[] nk : new int[][] { { 0, 0 }, { 3, 0 }, { 3, 5 }, { 5, 3 }, { 10, 4 }, { 20, 3 } }) {
+            int n = nk[0], k = nk[1];
+            List<String> expected = StreamEx.ofCombinations(n, k).map(Arrays::toString).toList();
+            assertEquals(expected, StreamEx.ofCombinations(n, k, true).map(Arrays::toString).toList());
+            assertEquals(expected, StreamEx.ofCombinations(n, k, true).parallel().map(Arrays::toString).toList());
+            List<String> actual = new ArrayList<>();
+            List<int[]> arrays = new ArrayList<>();
+            StreamEx.forEachCombination(n, k, c -> {
+                arrays.add(c);
+                actual.add(Arrays.toString(c));
+            });
+            assertEquals(expected, actual);
+            assertEquals(Math.min(1, expected.size()), StreamEx.of(arrays).distinct(System::identityHashCode)
+                    .count());
+        }
+    }
+
+    @Test
+    public void testWindow() {
+        for (int[] nk : new int[][] { { 0, 0 }, { 3, 5 }, { 5, 3 }, { 7, 4 } }) {
+            int n = nk[0], k = nk[1];
+            List<String> all = StreamEx.ofCombinations(n, k).map(Arrays::toString).toList();
+            for (int start = 0; start < all.size(); start++) {
+                assertEquals(all.get(start), Arrays.toString(StreamEx.nthCombination(n, k, BigInteger.valueOf(
+                    start))));
+            }
+            for (int start = 0; start <= all.size() + 1; start++) {
+                for (int count : new int[] { 0, 1, 2, 7, all.size(), all.size() + 1 }) {
+                    List<String> expected = all.subList(Math.min(start, all.size()), Math.min(start + count, all
+                            .size()));
+                    int s = start, c = count;
+                    checkSpliterator(n + "/" + k + "/" + start + "/" + count, expected, () -> {
+                        Spliterator<int[]> spliterator = CombinationSpliterator.of(n, k, BigInteger.valueOf(s), c,
+                            false);
+                        return StreamEx.of(spliterator).map(Arrays::toString).spliterator();
+                    });
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBigWindow() {
+        BigInteger total = CombinationSpliterator.binomial(100, 50);
+        assertEquals(new BigInteger("100891344545564193334812497256"), total);
+        int[] last = IntStreamEx.range(50, 100).toArray();
+        assertArrayEquals(last, StreamEx.nthCombination(100, 50, total.subtract(BigInteger.ONE)));
+        List<int[]> tail = StreamEx.ofCombinations(100, 50, total.subtract(BigInteger.valueOf(3)), 10).toList();
+        assertEquals(3, tail.size());
+        assertArrayEquals(last, tail.get(2));
+        BigInteger mid = total.shiftRight(1);
+        List<String> expected = StreamEx.ofCombinations(100, 50, mid, 1000).map(Arrays::toString).toList();
+        assertEquals(1000, expected.size());
+        assertEquals(expected, StreamEx.ofCombinations(100, 50, mid, 1000).parallel().map(Arrays::toString)
+                .toList());
+        assertEquals(expected.get(999), Arrays.toString(StreamEx.nthCombination(100, 50, mid.add(BigInteger
+                .valueOf(999)))));
+    }
+
+    @Test
+    public void testHugeK() {
+        int k = Integer.MAX_VALUE - 16;
+        assertEquals(0, StreamEx.ofCombinations(2, k).count());
+        assertEquals(0, StreamEx.ofCombinations(2, k, true).count());
+        assertEquals(0, StreamEx.ofCombinations(2, k, BigInteger.ZERO, 10).count());
+        StreamEx.forEachCombination(2, k, c -> fail("Unexpected combination"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNthCombinationOutOfRange() {
+        StreamEx.nthCombination(5, 3, BigInteger.TEN);
+    }
 }
@@ -17,6 +17,7 @@ package one.util.streamex;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.stream.IntStream;
@@ -60,4 +61,20 @@ public class DistinctSpliteratorTest {
         ds.forEachRemaining(result::add);
         assertEquals(StreamEx.of(null, "b", "c").toSet(), result);
     }
+
+    @Test
+    public void testSkewed() {
+        withRandom(r -> {
+            // a few hot keys and a long tail
+            Integer[] input = r.ints(20000, 0, 2000).map(x -> x < 1000 ? x % 5 : x).boxed().toArray(Integer[]::new);
+            for (long atLeast : new long[] { 2, 3, 10, 1000 }) {
+                Set<Integer> expected = StreamEx.of(input).sorted().runLengths().filterValues(cnt -> cnt >= atLeast)
+                        .keys().toSet();
+                assertEquals(expected, StreamEx.of(input).distinct(atLeast).toSet());
+                List<Integer> parallel = StreamEx.of(input).parallel().distinct(atLeast).toList();
+                assertEquals(expected.size(), parallel.size());
+                assertEquals(expected, new HashSet<>(parallel));
+            }
+        });
+    }
 }
@@ -15,8 +15,12 @@
  */
 package one.util.streamex;
 
+import static one.util.streamex.TestHelpers.*;
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.stream.Collectors;
@@ -27,6 +31,7 @@ import one.util.streamex.DoubleStreamEx;
 import one.util.streamex.IntStreamEx;
 import one.util.streamex.LongCollector;
 import one.util.streamex.LongStreamEx;
+import one.util.streamex.StreamEx;
 
 import org.junit.FixMethodOrder;
 import org.junit.Test;
@@ -175,4 +180,115 @@ public class DoubleCollectorTest {
         assertArrayEquals(expected, DoubleStreamEx.of(1.0, 1.5, 2.7, 3.0).parallel().collect(
             DoubleCollector.toBooleanArray(x -> Math.floor(x) == x)));
     }
+
+    @Test
+    public void testQuantiles() {
+        double[] small = { 3.5, -1.0, -0.0, 0.0, 2.0, Double.NEGATIVE_INFINITY, 10.0, -7.25 };
+        assertArrayEquals(new double[] { Double.NEGATIVE_INFINITY, -7.25, -0.0, 0.0, 10.0 }, DoubleStreamEx.of(small)
+                .collect(DoubleCollector.quantiles(0, 0.25, 0.5, 0.6, 1)), 0.0);
+        assertArrayEquals(new double[] { Double.NaN, Double.NaN }, DoubleStreamEx.empty().collect(
+            DoubleCollector.quantiles(0.5, 0.99)), 0.0);
+        withRandom(r -> {
+            List<Integer> list = IntStreamEx.range(100000).boxed().toList();
+            Collections.shuffle(list, r);
+            double[] input = StreamEx.of(list).mapToDouble(x -> x / 10.0).toArray();
+            for (boolean parallel : new boolean[] { false, true }) {
+                DoubleStreamEx stream = DoubleStreamEx.of(input);
+                double[] quantiles = (parallel ? stream.parallel() : stream).collect(
+                    DoubleCollector.quantiles(0, 0.5, 0.99, 1));
+                assertEquals(0.0, quantiles[0], 0.0);
+                assertEquals(5000.0, quantiles[1], 200.0);
+                assertEquals(9900.0, quantiles[2], 200.0);
+                assertEquals(9999.9, quantiles[3], 0.0);
+            }
+            double p999 = DoubleStreamEx.of(input).parallel().collect(DoubleCollector.quantiles(new double[] { 0.999 }, 2000))[0];
+            assertEquals(9990.0, p999, 20.0);
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuantilesIllegalFraction() {
+        DoubleCollector.quantiles(0.5, 1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuantilesIllegalK() {
+        DoubleCollector.quantiles(new double[] { 0.5 }, 4);
+    }
+
+    @Test
+    public void testLeastGreatest() {
+        withRandom(r -> {
+            for (int size : new int[] { 0, 1, 10, 1000, 10000 }) {
+                double[] input = r.ints(size, -size / 3 - 1, size / 3 + 1).asDoubleStream().map(x -> x / 2)
+                        .toArray();
+                double[] sorted = DoubleStreamEx.of(input).sorted().toArray();
+                double[] reversed = DoubleStreamEx.of(input).reverseSorted().toArray();
+                long[] ascIdx = IntStreamEx.ofIndices(input).boxed().sortedBy(i -> input[i]).mapToLong(i -> i)
+                        .toArray();
+                long[] descIdx = IntStreamEx.ofIndices(input).boxed().sorted((i, j) -> Double.compare(input[j],
+                    input[i])).mapToLong(i -> i).toArray();
+                for (int n : new int[] { 0, 1, 2, 10, 500, 20000 }) {
+                    int limit = Math.min(n, size);
+                    String msg = size + "/" + n;
+                    assertArrayEquals(msg, Arrays.copyOf(sorted, limit), DoubleStreamEx.of(input).parallel().collect(
+                        DoubleCollector.least(n)), 0.0);
+                    assertArrayEquals(msg, Arrays.copyOf(reversed, limit), DoubleStreamEx.of(input).collect(
+                        DoubleCollector.greatest(n)), 0.0);
+                    assertArrayEquals(msg, Arrays.copyOf(ascIdx, limit), DoubleStreamEx.of(input).collect(
+                        DoubleCollector.leastIndices(n)));
+                    assertArrayEquals(msg, Arrays.copyOf(descIdx, limit), DoubleStreamEx.of(input).parallel()
+                            .collect(DoubleCollector.greatestIndices(n)));
+                }
+            }
+        });
+        double[] special = { 1.0, Double.NaN, -0.0, Double.NEGATIVE_INFINITY, 0.0, Double.POSITIVE_INFINITY, -1.5 };
+        assertArrayEquals(new double[] { Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0 }, DoubleStreamEx.of(special)
+                .collect(DoubleCollector.least(4)), 0.0);
+        assertArrayEquals(new double[] { Double.NaN, Double.POSITIVE_INFINITY, 1.0 }, DoubleStreamEx.of(special)
+                .collect(DoubleCollector.greatest(3)), 0.0);
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(DoubleStreamEx.of(0.0, -0.0)
+                .collect(DoubleCollector.least(1))[0]));
+    }
+
+    @Test
+    public void testHistogram() {
+        double[] boundaries = { -1, 0, 0.5, 1 };
+        Histogram h = DoubleStreamEx.of(Double.NEGATIVE_INFINITY, -1, -0.0, 0.0, 0.25, 0.5, 0.99, 1, Double.NaN)
+                .collect(DoubleCollector.histogram(boundaries));
+        boundaries[0] = -2;
+        assertArrayEquals(new double[] { -1, 0, 0.5, 1 }, h.boundaries(), 0.0);
+        assertArrayEquals(new long[] { 1, 3, 2 }, h.counts());
+        assertEquals(1, h.underflowCount());
+        assertEquals(2, h.overflowCount());
+        withRandom(r -> {
+            double[] input = r.doubles(10000).toArray();
+            double[] b = DoubleStreamEx.of(r.doubles(20)).sorted().distinct().toArray();
+            long[] expected = new long[b.length - 1];
+            for (double v : input) {
+                for (int i = 0; i < expected.length; i++) {
+                    if (v >= b[i] && v < b[i + 1])
+                        expected[i]++;
+                }
+            }
+            assertArrayEquals(expected, DoubleStreamEx.of(input).collect(DoubleCollector.histogram(b)).counts());
+            assertArrayEquals(expected, DoubleStreamEx.of(input).parallel().collect(DoubleCollector.histogram(b))
+                    .counts());
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramUnordered() {
+        DoubleCollector.histogram(new double[] { 0, 2, 1 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramSingleBoundary() {
+        DoubleCollector.histogram(new double[] { 0 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramNaN() {
+        DoubleCollector.histogram(new double[] { 0, Double.NaN });
+    }
 }
@@ -292,6 +292,18 @@ public class DoubleStreamExTest {
         maxFns.forEach(fn -> assertEquals(120, fn.apply(s.get().parallel()).getAsDouble(), 0.0));
     }
 
+    @Test
+    public void testChunked() {
+        assertArrayEquals(new double[][] { {1, 2, 3}, {4, 5, 6}, {7} }, IntStreamEx.rangeClosed(1, 7).asDoubleStream().chunked(3).toArray(double[][]::new));
+        assertArrayEquals(new double[][] { {1, 2, 3}, {4, 5, 6}, {7} }, IntStreamEx.rangeClosed(1, 7).asDoubleStream().parallel().chunked(3).toArray(double[][]::new));
+        assertEquals(0, IntStreamEx.rangeClosed(1, 7).asDoubleStream().filter(x -> x > 10).chunked(3).count());
+        double[] expected = IntStreamEx.range(100000).asDoubleStream().toArray();
+        double[] actual = IntStreamEx.range(100000).asDoubleStream().parallel().chunked(999).flatMapToDouble(DoubleStreamEx::of).toArray();
+        assertArrayEquals(expected, actual, 0.0);
+        actual = IntStreamEx.range(100000).asDoubleStream().parallel().filter(x -> true).chunked(999).flatMapToDouble(DoubleStreamEx::of).toArray();
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
     @Test
     public void testPairMap() {
         assertEquals(0, DoubleStreamEx.of().pairMap(Double::sum).count());
@@ -487,11 +499,41 @@ public class DoubleStreamExTest {
         assertEquals("test", sc.next());
     }
 
+    @Test
+    public void testArraySource() {
+        double[] array = { 1, 2, 3, 4, 5 };
+        double[] copy = DoubleStreamEx.of(array).toArray();
+        assertArrayEquals(array, copy, 0.0);
+        assertNotSame(array, copy);
+        assertArrayEquals(new double[] { 2, 3, 4 }, DoubleStreamEx.of(array, 1, 4).toArray(), 0.0);
+        assertArrayEquals(new double[] { 2, 3, 4 }, DoubleStreamEx.of(array, 1, 4).parallel().toArray(), 0.0);
+        assertArrayEquals(new double[] {}, DoubleStreamEx.of(array, 2, 2).toArray(), 0.0);
+        assertArrayEquals(new double[] { 1, 3, 6, 10, 15 }, DoubleStreamEx.of(array).scanLeft(Double::sum), 0.0);
+        assertArrayEquals(new double[] { 10, 12, 15, 19 }, DoubleStreamEx.of(array, 1, 4).scanLeft(10, Double::sum), 0.0);
+        assertArrayEquals(new double[] { 10 }, DoubleStreamEx.of(array, 1, 1).scanLeft(10, Double::sum), 0.0);
+        assertArrayEquals(new double[] { 1, -1, -4 }, DoubleStreamEx.of(array).parallel().limit(3).scanLeft((a, b) -> a - b), 0.0);
+        assertArrayEquals(new double[] { 3, 7, 12 }, DoubleStreamEx.of(array, 2, 5).parallel().parallelPrefix(
+            Double::sum).toArray(), 0.0);
+        assertArrayEquals(new double[] { 1, 2, 3, 4, 5 }, array, 0.0);
+        try {
+            DoubleStreamEx.of(array, 3, 6);
+            fail("Exception expected");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testPrefix() {
         assertArrayEquals(new double[] { 1, 3, 6, 10, 20 }, DoubleStreamEx.of(1, 2, 3, 4, 10).prefix(Double::sum).toArray(), 0.0);
         assertEquals(OptionalDouble.of(10), DoubleStreamEx.of(1, 2, 3, 4, 10).prefix(Double::sum).findFirst(x -> x > 7));
         assertEquals(OptionalDouble.empty(), DoubleStreamEx.of(1, 2, 3, 4, 10).prefix(Double::sum).findFirst(x -> x > 20));
+
+        double[] input = IntStreamEx.range(100000).asDoubleStream().toArray();
+        double[] expected = DoubleStreamEx.of(input).prefix(Double::sum).toArray();
+        assertArrayEquals(expected, DoubleStreamEx.of(input).parallel().parallelPrefix(Double::sum).toArray(), 0.0);
+        assertArrayEquals(expected, DoubleStreamEx.of(input).parallel().filter(x -> true).parallelPrefix(Double::sum)
+                .toArray(), 0.0);
     }
     
     @Test
@@ -21,7 +21,13 @@ import static java.util.Arrays.asList;
 
 import java.math.BigInteger;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
@@ -141,6 +147,101 @@ public class EmitterTest {
         };
     }
     
+    // Emits [from, to) by pages of 3 elements, splittable at the page boundary
+    static final class RangeEmitter implements StreamEx.SplittableEmitter<Integer> {
+        private int from;
+        private final int to;
+
+        RangeEmitter(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Emitter<Integer> next(Consumer<? super Integer> action) {
+            for (int i = from; i < Math.min(to, from + 3); i++)
+                action.accept(i);
+            from += 3;
+            return from >= to ? null : this;
+        }
+
+        @Override
+        public Emitter<Integer> trySplit() {
+            int mid = from + (to - from) / 6 * 3;
+            if (mid == from)
+                return null;
+            RangeEmitter prefix = new RangeEmitter(from, mid);
+            from = mid;
+            return prefix;
+        }
+    }
+
+    static IntStreamEx.SplittableIntEmitter rangeInt(int from, int to) {
+        return new IntStreamEx.SplittableIntEmitter() {
+            int lo = from;
+
+            @Override
+            public IntEmitter next(IntConsumer action) {
+                action.accept(lo++);
+                return lo >= to ? null : this;
+            }
+
+            @Override
+            public IntEmitter trySplit() {
+                int mid = (lo + to) >>> 1;
+                if (mid == lo)
+                    return null;
+                IntEmitter prefix = rangeInt(lo, mid);
+                lo = mid;
+                return prefix;
+            }
+        };
+    }
+
+    static LongStreamEx.SplittableLongEmitter rangeLong(long from, long to) {
+        return new LongStreamEx.SplittableLongEmitter() {
+            long lo = from;
+
+            @Override
+            public LongEmitter next(LongConsumer action) {
+                action.accept(lo++);
+                return lo >= to ? null : this;
+            }
+
+            @Override
+            public LongEmitter trySplit() {
+                long mid = (lo + to) >>> 1;
+                if (mid == lo)
+                    return null;
+                LongEmitter prefix = rangeLong(lo, mid);
+                lo = mid;
+                return prefix;
+            }
+        };
+    }
+
+    static DoubleStreamEx.SplittableDoubleEmitter rangeDouble(int from, int to) {
+        return new DoubleStreamEx.SplittableDoubleEmitter() {
+            int lo = from;
+
+            @Override
+            public DoubleEmitter next(DoubleConsumer action) {
+                action.accept(lo++);
+                return lo >= to ? null : this;
+            }
+
+            @Override
+            public DoubleEmitter trySplit() {
+                int mid = (lo + to) >>> 1;
+                if (mid == lo)
+                    return null;
+                DoubleEmitter prefix = rangeDouble(lo, mid);
+                lo = mid;
+                return prefix;
+            }
+        };
+    }
+
     @Test
     public void testEmitter() {
         assertEquals(asList(17, 52, 26, 13, 40, 20, 10, 5, 16, 8, 4, 2, 1), collatz(17).stream().toList());
@@ -175,4 +276,25 @@ public class EmitterTest {
         
         assertEquals(7919L, primes().skip(999).findFirst().getAsLong());
     }
+
+    @Test
+    public void testSplittableEmitter() {
+        List<Integer> expected = IntStreamEx.range(1000).boxed().toList();
+        checkSpliterator("range", expected, () -> new RangeEmitter(0, 1000).spliterator());
+        checkSpliterator("rangeSmall", asList(0, 1), () -> new RangeEmitter(0, 2).spliterator());
+        assertEquals(expected, new RangeEmitter(0, 1000).stream().parallel().toList());
+        Spliterator<Integer> spliterator = new RangeEmitter(0, 1000).spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(IntStreamEx.range(498).boxed().toList(), StreamEx.of(prefix).toList());
+        assertEquals(IntStreamEx.range(498, 1000).boxed().toList(), StreamEx.of(spliterator).toList());
+
+        checkSpliterator("rangeInt", expected, () -> rangeInt(0, 1000).spliterator());
+        checkSpliterator("rangeLong", LongStreamEx.range(1000).boxed().toList(), () -> rangeLong(0, 1000)
+                .spliterator());
+        checkSpliterator("rangeDouble", IntStreamEx.range(1000).asDoubleStream().boxed().toList(), () -> rangeDouble(
+            0, 1000).spliterator());
+        assertEquals(499500, rangeInt(0, 1000).stream().parallel().sum());
+        assertEquals(499500L, rangeLong(0, 1000).stream().parallel().sum());
+        assertEquals(499500.0, rangeDouble(0, 1000).stream().parallel().sum(), 0.0);
+    }
 }
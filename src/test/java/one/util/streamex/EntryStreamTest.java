@@ -495,6 +495,55 @@ public class EntryStreamTest {
         });
     }
 
+    @Test
+    public void testGroupingSumming() {
+        streamEx(() -> IntStreamEx.range(1000).boxed(), supplier -> {
+            assertEquals(EntryStream.of(0, 124750L, 1, 374750L).toMap(), supplier.get().mapToEntry(i -> i / 500,
+                i -> i).groupingSummingLong(i -> i));
+            Map<Integer, Double> sums = supplier.get().mapToEntry(i -> i % 2, i -> i).groupingSummingDouble(
+                i -> i * 0.5);
+            assertEquals(2, sums.size());
+            assertEquals(124750.0, sums.get(0), 0.0);
+            assertEquals(125000.0, sums.get(1), 0.0);
+        });
+    }
+
+    @Test
+    public void testMergeJoin() {
+        Map<Integer, String> left = new LinkedHashMap<>();
+        left.put(1, "a");
+        left.put(2, "b");
+        left.put(4, "d");
+        Map<Integer, Integer> right = new LinkedHashMap<>();
+        right.put(2, 20);
+        right.put(3, 30);
+        right.put(4, 40);
+        streamEx(() -> StreamEx.of(left.entrySet()), s -> {
+            EntryStream<Integer, String> es = EntryStream.of(s.get());
+            assertEquals(asList("2:b20", "4:d40"), es.mergeJoin(EntryStream.of(right), Comparator.naturalOrder(),
+                (v1, v2) -> v1 + v2).join(":").toList());
+        });
+        assertEquals(asList("1:anull", "2:b20", "4:d40"), EntryStream.of(left).leftMergeJoin(EntryStream.of(right),
+            Comparator.naturalOrder(), (v1, v2) -> v1 + v2).join(":").toList());
+        assertEquals(asList("1:anull", "2:b20", "3:null30", "4:d40"), EntryStream.of(left).outerMergeJoin(
+            EntryStream.of(right), Comparator.naturalOrder(), (v1, v2) -> v1 + v2).join(":").toList());
+    }
+
+    @Test
+    public void testHashJoin() {
+        Map<Integer, String> left = new LinkedHashMap<>();
+        left.put(4, "d");
+        left.put(1, "a");
+        left.put(2, "b");
+        streamEx(() -> StreamEx.of(left.entrySet()), s -> {
+            EntryStream<Integer, String> es = EntryStream.of(s.get());
+            assertEquals(asList("4:d40", "2:b20", "2:b21"), es.join(EntryStream.of(3, 30, 2, 20, 4, 40, 2, 21),
+                (v1, v2) -> v1 + v2).join(":").toList());
+        });
+        assertEquals(Collections.emptyList(), EntryStream.of(left).join(EntryStream.<Integer, Integer> empty(),
+            (v1, v2) -> v1 + v2).toList());
+    }
+
     @Test
     public void testGroupingTo() {
         Map<String, Integer> data = new LinkedHashMap<>();
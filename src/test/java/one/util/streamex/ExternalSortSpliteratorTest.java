@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+import one.util.streamex.StreamEx.Serializer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static java.util.Arrays.asList;
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class ExternalSortSpliteratorTest {
+    private static final Serializer<Integer> INT = Serializer.of(DataOutput::writeInt, DataInput::readInt);
+    private static final Serializer<String> STRING = Serializer.of(DataOutput::writeUTF, DataInput::readUTF);
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(tmp.getRoot().toPath())) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void testSort() throws IOException {
+        Path dir = tmp.getRoot().toPath();
+        Random r = new Random(1);
+        List<Integer> input = IntStreamEx.of(r, 1000, 0, 500).boxed().toList();
+        List<Integer> expected = StreamEx.of(input).sorted().toList();
+        for (int maxInMemory : new int[] { 1, 7, 100, 999, 1000, 2000 }) {
+            streamEx(input::stream, s -> assertEquals(expected, s.get().sortedExternal(Comparator.naturalOrder(),
+                INT, dir, maxInMemory).toList()));
+            assertEquals(0, fileCount());
+        }
+        assertEquals(asList(9, 8, 7), IntStreamEx.range(10).boxed().sortedExternal(Comparator.reverseOrder(), INT,
+            dir, 3).limit(3).toList());
+        assertEquals(asList(), StreamEx.<Integer> empty().sortedExternal(Comparator.naturalOrder(), INT, 1)
+                .toList());
+    }
+
+    @Test
+    public void testStable() {
+        List<String> input = asList("bb", "a", "ccc", "d", "ee", "f", "ggg", "hh");
+        streamEx(input::stream, s -> assertEquals(asList("a", "d", "f", "bb", "ee", "hh", "ccc", "ggg"), s.get()
+                .sortedExternal(Comparator.comparingInt(String::length), STRING, tmp.getRoot().toPath(), 2)
+                .toList()));
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        Path dir = tmp.getRoot().toPath();
+        try (StreamEx<Integer> s = IntStreamEx.range(100).boxed().sortedExternal(Comparator.naturalOrder(), INT, dir,
+            10)) {
+            assertEquals(asList(0, 1), s.limit(2).toList());
+            // the last buffer is not spilled
+            assertEquals(9, fileCount());
+        }
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    public void testFanIn() throws IOException {
+        Path dir = tmp.getRoot().toPath();
+        Random r = new Random(1);
+        List<String> input = IntStreamEx.of(r, 1000, 0, 500).mapToObj(i -> StreamEx.constant("x", i % 7).joining()
+                + i).toList();
+        Comparator<String> cmp = Comparator.comparingInt(String::length);
+        List<String> expected = StreamEx.of(input).sorted(cmp).toList();
+        for (int maxFanIn : new int[] { 2, 3, 10 }) {
+            for (int maxInMemory : new int[] { 1, 7, 100 }) {
+                Spliterator<String> spltr = new ExternalSortSpliterator<>(input.spliterator(), cmp, STRING, dir,
+                        maxInMemory, maxFanIn, false);
+                assertTrue(spltr.tryAdvance(x -> assertEquals(expected.get(0), x)));
+                assertTrue(fileCount() <= maxFanIn);
+                List<String> rest = StreamEx.of(spltr).toList();
+                assertEquals(expected.subList(1, expected.size()), rest);
+                assertEquals(0, fileCount());
+            }
+        }
+    }
+
+    @Test
+    public void testAbandoned() throws IOException, InterruptedException {
+        Path dir = tmp.getRoot().toPath();
+        assertEquals(asList(0, 1), IntStreamEx.range(100).boxed().sortedExternal(Comparator.naturalOrder(), INT, dir,
+            10).limit(2).toList());
+        assertEquals(9, fileCount());
+        for (int i = 0; i < 100 && fileCount() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+            ExternalSortSpliterator.expungeStaleRuns();
+        }
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    public void testExceptionInAction() throws IOException {
+        StreamEx<Integer> s = IntStreamEx.range(100).boxed().sortedExternal(Comparator.naturalOrder(), INT, tmp
+                .getRoot().toPath(), 10);
+        try {
+            s.forEach(x -> {
+                throw new IllegalStateException();
+            });
+            fail("No exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    public void testIOException() throws IOException {
+        Serializer<Integer> failing = Serializer.of(DataOutput::writeInt, in -> {
+            throw new IOException("test");
+        });
+        StreamEx<Integer> s = IntStreamEx.range(10).boxed().sortedExternal(Comparator.naturalOrder(), failing, tmp
+                .getRoot().toPath(), 3);
+        try {
+            s.toList();
+            fail("No exception");
+        } catch (UncheckedIOException e) {
+            assertEquals("test", e.getCause().getMessage());
+        }
+        s.close();
+        assertEquals(0, fileCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaxInMemory() {
+        StreamEx.of(1).sortedExternal(Comparator.naturalOrder(), INT, 0);
+    }
+}
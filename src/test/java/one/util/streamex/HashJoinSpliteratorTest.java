@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class HashJoinSpliteratorTest {
+    @Test
+    public void testSpliterator() {
+        Random r = new Random(1);
+        for (int n : new int[] { 0, 1, 10, 100, 300 }) {
+            for (int range : new int[] { n / 10 + 3, 30, 3000 }) {
+                List<Integer> probe = IntStreamEx.of(r, n, 0, range).boxed().toList();
+                List<Integer> build = IntStreamEx.of(r, n / 2 + 1, 0, range).boxed().toList();
+                // reference implementation: nested loops
+                List<String> expected = new ArrayList<>();
+                for (int a = 0; a < probe.size(); a++)
+                    for (int b = 0; b < build.size(); b++)
+                        if (probe.get(a).equals(build.get(b)))
+                            expected.add(a + "-" + b);
+                List<int[]> pi = IntStreamEx.ofIndices(probe).mapToObj(i -> new int[] { probe.get(i), i }).toList();
+                List<int[]> bi = IntStreamEx.ofIndices(build).mapToObj(i -> new int[] { build.get(i), i }).toList();
+                for (boolean parallelBuild : new boolean[] { false, true }) {
+                    checkSpliterator(n + "/" + range + "/" + parallelBuild, expected,
+                        () -> new HashJoinSpliterator<int[], int[], String>(pi.spliterator(), a -> a[0], bi
+                                .spliterator(), parallelBuild, b -> b[0], (a, b) -> a[1] + "-" + b[1]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTable() {
+        HashJoinSpliterator.Table<String> table = new HashJoinSpliterator.Table<>(new Object[] { "a", "bb", "c",
+            "dd", null, "e" }, s -> s == null ? null : s.length());
+        List<String> ones = new ArrayList<>();
+        for (int i = table.first(1); i >= 0; i = table.next(i))
+            ones.add(table.element(i));
+        assertEquals(asList("a", "c", "e"), ones);
+        assertEquals(4, table.first(null));
+        assertEquals(-1, table.next(table.first(null)));
+        assertEquals(-1, table.first(3));
+        assertEquals(-1, new HashJoinSpliterator.Table<String>(new Object[0], String::length).first("x"));
+    }
+
+    @Test
+    public void testCapacity() {
+        assertEquals(2, HashJoinSpliterator.Table.capacity(0));
+        assertEquals(2, HashJoinSpliterator.Table.capacity(1));
+        assertEquals(4, HashJoinSpliterator.Table.capacity(2));
+        assertEquals(8, HashJoinSpliterator.Table.capacity(3));
+        assertEquals(1 << 30, HashJoinSpliterator.Table.capacity(1 << 29));
+        assertEquals(1 << 30, HashJoinSpliterator.Table.capacity((1 << 29) + 1));
+        assertEquals(1 << 30, HashJoinSpliterator.Table.capacity(1 << 30));
+        assertEquals(1 << 30, HashJoinSpliterator.Table.capacity(Integer.MAX_VALUE - 8));
+    }
+}
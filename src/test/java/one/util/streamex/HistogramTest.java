@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class HistogramTest {
+    @Test
+    public void testBuckets() {
+        Histogram h = IntStreamEx.of(-5, 0, 1, 9, 10, 15, 29, 30, 100).collect(IntCollector.histogram(0, 10, 3));
+        assertEquals(3, h.bucketCount());
+        assertArrayEquals(new double[] { 0, 10, 20, 30 }, h.boundaries(), 0.0);
+        assertArrayEquals(new long[] { 3, 2, 1 }, h.counts());
+        assertEquals(1, h.underflowCount());
+        assertEquals(2, h.overflowCount());
+        assertEquals(9, h.totalCount());
+        assertEquals(10, h.lowerBound(1), 0.0);
+        assertEquals(20, h.upperBound(1), 0.0);
+        assertEquals(2, h.count(1));
+        assertEquals("Histogram{<0.0: 1, [0.0, 10.0): 3, [10.0, 20.0): 2, [20.0, 30.0): 1, >=30.0: 2}", h.toString());
+
+        h.counts()[0] = 100;
+        h.boundaries()[0] = 100;
+        assertEquals(3, h.count(0));
+        assertEquals(0, h.lowerBound(0), 0.0);
+    }
+
+    @Test
+    public void testPercentile() {
+        Histogram h = IntStreamEx.range(1000).collect(IntCollector.histogram(0, 100, 10));
+        assertEquals(0, h.percentile(0), 0.0);
+        assertEquals(500, h.percentile(50), 0.0);
+        assertEquals(990, h.percentile(99), 0.0);
+        assertEquals(1000, h.percentile(100), 0.0);
+
+        h = DoubleStreamEx.of(-1, 1, 1, 1, 100).collect(DoubleCollector.histogram(new double[] { 0, 2 }));
+        assertEquals(0, h.percentile(10), 0.0);
+        assertEquals(1, h.percentile(50), 1e-10);
+        assertEquals(2, h.percentile(90), 0.0);
+        assertEquals(2, h.percentile(100), 0.0);
+
+        h = IntStreamEx.empty().collect(IntCollector.histogram(0, 1, 1));
+        assertTrue(Double.isNaN(h.percentile(50)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentileOutOfRange() {
+        IntStreamEx.of(1).collect(IntCollector.histogram(0, 1, 1)).percentile(101);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBucketOutOfRange() {
+        IntStreamEx.of(1).collect(IntCollector.histogram(0, 1, 2)).lowerBound(2);
+    }
+
+    @Test
+    public void testEquals() {
+        Histogram h1 = IntStreamEx.range(100).collect(IntCollector.histogram(10, 10, 5));
+        Histogram h2 = IntStreamEx.range(100).parallel().collect(IntCollector.histogram(10, 10, 5));
+        Histogram h3 = IntStreamEx.range(101).collect(IntCollector.histogram(10, 10, 5));
+        Histogram h4 = IntStreamEx.range(100).collect(IntCollector.histogram(10, 10, 6));
+        assertEquals(h1, h2);
+        assertEquals(h1.hashCode(), h2.hashCode());
+        assertNotEquals(h1, h3);
+        assertNotEquals(h1, h4);
+        assertNotEquals(h1, null);
+        assertNotEquals(h1, "Histogram");
+        assertEquals(h1, h1);
+    }
+}
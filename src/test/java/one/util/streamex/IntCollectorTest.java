@@ -18,10 +18,12 @@ package one.util.streamex;
 import static one.util.streamex.TestHelpers.*;
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -192,6 +194,37 @@ public class IntCollectorTest {
         assertEquals("{2, 5, 8}", mapBitSet.get(2).toString());
     }
 
+    @Test
+    public void testGroupingByInt() {
+        Map<Integer, int[]> collected = IntStreamEx.range(2000).collect(IntCollector.groupingByInt(i -> i % 3));
+        assertEquals(3, collected.size());
+        for (int i = 0; i < 3; i++) {
+            int rem = i;
+            assertArrayEquals(IntStream.range(0, 2000).filter(a -> a % 3 == rem).toArray(), collected.get(i));
+        }
+        assertNull(collected.get(3));
+        assertNull(collected.get("0"));
+        assertFalse(collected.containsKey(-1));
+        collected = IntStreamEx.range(2000).parallel().collect(IntCollector.groupingByInt(i -> i % 3));
+        for (int i = 0; i < 3; i++) {
+            int rem = i;
+            assertArrayEquals(IntStream.range(0, 2000).filter(a -> a % 3 == rem).toArray(), collected.get(i));
+        }
+
+        withRandom(r -> {
+            int[] input = r.ints(5000, -1000, 1000).toArray();
+            Map<Integer, Long> expected = IntStreamEx.of(input).boxed().groupingBy(i -> i / 7, Collectors.counting());
+            assertEquals(expected, IntStreamEx.of(input).collect(IntCollector.groupingByInt(i -> i / 7, IntCollector
+                    .counting())));
+            assertEquals(expected, IntStreamEx.of(input).parallel().collect(IntCollector.groupingByInt(i -> i / 7,
+                IntCollector.counting())));
+            Map<Integer, List<Integer>> groupsBoxed = IntStream.of(input).boxed().collect(
+                Collectors.groupingBy(i -> i % 10));
+            assertEquals(groupsBoxed, IntStreamEx.of(input).parallel().collect(IntCollector.groupingByInt(
+                i -> i % 10, IntCollector.of(Collectors.toList()))));
+        });
+    }
+
     @Test
     public void testByDigit() {
         withRandom(r -> {
@@ -205,6 +238,18 @@ public class IntCollectorTest {
         });
     }
 
+    @Test
+    public void testApproximateDistinctCount() {
+        withRandom(r -> {
+            int[] input = IntStreamEx.of(r, 100000, 0, 50000).toArray();
+            long expected = IntStreamEx.of(input).boxed().collect(MoreCollectors.approximateDistinctCount(Function.identity(), 12));
+            assertEquals(expected, (long) IntStreamEx.of(input).collect(IntCollector.approximateDistinctCount(12)));
+            assertEquals(expected, (long) IntStreamEx.of(input).parallel().collect(IntCollector.approximateDistinctCount(12)));
+            assertEquals(IntStreamEx.of(input).distinct().count(), expected, expected * 0.1);
+        });
+        assertEquals(0L, (long) IntStreamEx.empty().collect(IntCollector.approximateDistinctCount(4)));
+    }
+
     @Test
     public void testAsCollector() {
         assertEquals(499500, (int) IntStream.range(0, 1000).boxed().collect(IntCollector.summing()));
@@ -242,4 +287,80 @@ public class IntCollectorTest {
         assertArrayEquals(expected, IntStreamEx.of(-1, 2, 3, -4).parallel().collect(
             IntCollector.toBooleanArray(x -> x < 0)));
     }
+
+    @Test
+    public void testLeastGreatest() {
+        withRandom(r -> {
+            for (int size : new int[] { 0, 1, 10, 1000, 10000 }) {
+                int[] input = r.ints(size, -size / 3 - 1, size / 3 + 1).toArray();
+                int[] sorted = IntStreamEx.of(input).sorted().toArray();
+                int[] reversed = IntStreamEx.of(input).reverseSorted().toArray();
+                long[] ascIdx = IntStreamEx.ofIndices(input).boxed().sortedBy(i -> input[i]).mapToLong(i -> i)
+                        .toArray();
+                long[] descIdx = IntStreamEx.ofIndices(input).boxed().sorted((i, j) -> Integer.compare(input[j],
+                    input[i])).mapToLong(i -> i).toArray();
+                for (int n : new int[] { 0, 1, 2, 10, 500, 20000 }) {
+                    int limit = Math.min(n, size);
+                    String msg = size + "/" + n;
+                    for (IntStreamEx s : new IntStreamEx[] { IntStreamEx.of(input), IntStreamEx.of(input)
+                            .parallel() }) {
+                        assertArrayEquals(msg, Arrays.copyOf(sorted, limit), s.collect(IntCollector.least(n)));
+                    }
+                    assertArrayEquals(msg, Arrays.copyOf(reversed, limit), IntStreamEx.of(input).parallel().collect(
+                        IntCollector.greatest(n)));
+                    assertArrayEquals(msg, Arrays.copyOf(ascIdx, limit), IntStreamEx.of(input).parallel().collect(
+                        IntCollector.leastIndices(n)));
+                    assertArrayEquals(msg, Arrays.copyOf(descIdx, limit), IntStreamEx.of(input).collect(
+                        IntCollector.greatestIndices(n)));
+                }
+            }
+        });
+        assertArrayEquals(new int[] { Integer.MAX_VALUE, 0 }, IntStreamEx.of(0, Integer.MIN_VALUE,
+            Integer.MAX_VALUE).collect(IntCollector.greatest(2)));
+        assertArrayEquals(new long[] { 1, 3, 0 }, IntStreamEx.of(5, 1, 9, 1).collect(IntCollector.leastIndices(3)));
+    }
+
+    @Test
+    public void testHistogram() {
+        withRandom(r -> {
+            int[] input = r.ints(10000, -1000, 1000).toArray();
+            for (int width : new int[] { 1, 7, 100, Integer.MAX_VALUE }) {
+                long[] expected = new long[10];
+                long under = 0, over = 0;
+                for (int v : input) {
+                    long bucket = Math.floorDiv((long) v - (-500), width);
+                    if (bucket < 0)
+                        under++;
+                    else if (bucket >= 10)
+                        over++;
+                    else
+                        expected[(int) bucket]++;
+                }
+                for (IntStreamEx s : new IntStreamEx[] { IntStreamEx.of(input), IntStreamEx.of(input).parallel() }) {
+                    Histogram h = s.collect(IntCollector.histogram(-500, width, 10));
+                    assertArrayEquals(expected, h.counts());
+                    assertEquals(under, h.underflowCount());
+                    assertEquals(over, h.overflowCount());
+                }
+            }
+        });
+        Histogram h = IntStreamEx.of(0, 1, 2, 3, 4, 7, 8, 100, Integer.MAX_VALUE).collect(IntCollector
+                .exponentialHistogram(1, 2, 3));
+        assertArrayEquals(new double[] { 1, 2, 4, 8 }, h.boundaries(), 0.0);
+        assertArrayEquals(new long[] { 1, 2, 2 }, h.counts());
+        assertEquals(1, h.underflowCount());
+        assertEquals(3, h.overflowCount());
+        assertEquals(h, IntStreamEx.of(0, 1, 2, 3, 4, 7, 8, 100, Integer.MAX_VALUE).parallel().collect(IntCollector
+                .exponentialHistogram(1, 2, 3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramWidth() {
+        IntCollector.histogram(0, 0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramFactor() {
+        IntCollector.exponentialHistogram(1, 1, 10);
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * @author Tagir Valeev
+ */
+public class IntKeyMapTest {
+    @Test
+    public void testIntKeyMap() {
+        IntKeyMap<String> map = new IntKeyMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = -5000; i < 5000; i += 3) {
+            int key = i * 1024;
+            assertEquals(String.valueOf(key), map.getOrCreate(key, String::valueOf));
+            assertSame(map.get(key), map.getOrCreate(key, k -> "fail"));
+            expected.put(key, String.valueOf(key));
+        }
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertNull(map.get(1));
+        assertNull(map.get((Object) null));
+        assertFalse(map.containsKey(1L));
+
+        IntKeyMap<String> other = new IntKeyMap<>();
+        other.getOrCreate(0, k -> "x");
+        other.getOrCreate(1, k -> "y");
+        map.mergeAll(other, String::concat);
+        expected.merge(0, "x", String::concat);
+        expected.merge(1, "y", String::concat);
+        assertEquals(expected, map);
+
+        Map<Integer, Integer> lengths = new HashMap<>();
+        expected.forEach((k, v) -> lengths.put(k, v.length()));
+        assertEquals(lengths, map.mapValues(String::length));
+    }
+
+    @Test
+    public void testNullValues() {
+        IntKeyMap<String> map = new IntKeyMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.getOrCreate(i, String::valueOf);
+            expected.put(i, i % 3 == 0 ? null : String.valueOf(i));
+        }
+        IntKeyMap<String> mapped = map.mapValues(v -> Integer.parseInt(v) % 3 == 0 ? null : v);
+        assertEquals(100, mapped.size());
+        assertEquals(expected, mapped);
+        assertEquals(mapped, expected);
+        assertTrue(mapped.containsKey(0));
+        assertNull(mapped.get(0));
+        assertFalse(mapped.containsKey(100));
+        assertEquals("98", mapped.get(98));
+        Map<Integer, Object> nulls = new HashMap<>();
+        nulls.put(1, null);
+        nulls.put(2, null);
+        assertEquals(nulls, IntStreamEx.of(1, 2, 1).mapToEntry(x -> "").grouping(Collectors.collectingAndThen(
+            Collectors.counting(), c -> null)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        new IntKeyMap<String>().put(1, "a");
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class IntObjEntryStreamTest {
+    @Test
+    public void testCreate() {
+        assertEquals(0, IntObjEntryStream.empty().count());
+        assertEquals(EntryStream.of(new String[] { "a", "b", "c" }).toMap(), IntObjEntryStream.of(
+            new String[] { "a", "b", "c" }).toMap());
+        assertEquals(asList(0, 1, 2), IntObjEntryStream.of(asList("a", "b", "c")).keys().boxed().toList());
+        assertEquals(asList("a", "b", "c"), IntObjEntryStream.of(asList("a", "b", "c")).values().toList());
+        assertEquals(EntryStream.of(asList("a", "b", "c")).toList(), IntObjEntryStream.of(asList("a", "b", "c"))
+                .boxed().toList());
+        assertEquals(asList("1:a", "2:bb", "3:ccc"), IntStreamEx.rangeClosed(1, 3).mapToEntry(
+            i -> StreamEx.constant("abc".substring(i - 1, i), i).joining()).mapKeyValue((k, v) -> k + ":" + v)
+                .toList());
+    }
+
+    @Test
+    public void testOperations() {
+        List<String> input = asList("a", "bb", "ccc", "dd", "e");
+        assertEquals(asList("bb", "dd"), IntObjEntryStream.of(input).filterKeys(k -> k % 2 == 1).values().toList());
+        assertEquals(asList(1, 2, 3), IntObjEntryStream.of(input).filterValues(v -> v.length() > 1).keys().boxed()
+                .toList());
+        assertEquals(asList("a", "bb", "ccc"), IntObjEntryStream.of(input).filterKeyValue((k, v) -> v.length() == k + 1)
+                .values().toList());
+        assertEquals(asList(10, 11, 12, 13, 14), IntObjEntryStream.of(input).mapKeys(k -> k + 10).keys().boxed()
+                .toList());
+        assertEquals(asList(1, 2, 3, 2, 1), IntObjEntryStream.of(input).mapValues(String::length).values().toList());
+        assertEquals(asList("0a", "1bb", "2ccc", "3dd", "4e"), IntObjEntryStream.of(input).mapToValue((k, v) -> k + v)
+                .values().toList());
+        assertEquals(asList("a", "b", "c"), IntObjEntryStream.of(new String[] { "a", null, "b", "c", null })
+                .nonNullValues().values().toList());
+        Map<Integer, String> map = new HashMap<>();
+        IntObjEntryStream.of(input).forKeyValue(map::put);
+        assertEquals(EntryStream.of(input).toMap(), map);
+        AtomicInteger sum = new AtomicInteger();
+        IntObjEntryStream.of(input).forEach(e -> sum.addAndGet(e.getIntKey()));
+        assertEquals(10, sum.get());
+    }
+
+    @Test
+    public void testToMap() {
+        withRandom(r -> {
+            List<Integer> input = IntStreamEx.of(r, 10000, 0, 1000).boxed().toList();
+            Map<Integer, Integer> expected = EntryStream.of(input).toMap();
+            streamEx(input::stream, s -> {
+                IntObjEntryStream<Integer> stream = s.get().mapToInt(x -> x).mapToEntry(x -> 1);
+                assertEquals(StreamEx.of(input).toMap(x -> x, x -> 1, Integer::sum), stream.toMap(Integer::sum));
+            });
+            assertEquals(expected, IntObjEntryStream.of(input).toMap());
+            assertEquals(expected, IntObjEntryStream.of(input).parallel().toMap());
+        });
+        Map<Integer, Integer> expectedSums = new HashMap<>();
+        expectedSums.put(0, 4);
+        expectedSums.put(1, 6);
+        assertEquals(expectedSums, IntObjEntryStream.of(new Integer[] { 1, 2, 3, 4 }).mapKeys(k -> k % 2).toMap(
+            Integer::sum));
+        try {
+            IntObjEntryStream.of(new String[] { "a", "b" }).mapKeys(k -> 0).toMap();
+            fail("no exception");
+        } catch (IllegalStateException ex) {
+            assertEquals("Duplicate entry for key '0' (attempt to merge values 'a' and 'b')", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testGrouping() {
+        withRandom(r -> {
+            List<String> input = StreamEx.of(r, 5000, 0, 100).map(String::valueOf).toList();
+            Map<Integer, List<String>> expected = StreamEx.of(input).groupingBy(String::length);
+            streamEx(input::stream, s -> {
+                IntObjEntryStream<String> stream = s.get().mapToInt(String::length).mapToEntry(x -> "");
+                assertEquals(StreamEx.of(input).groupingBy(String::length, Collectors.counting()), stream.grouping(
+                    Collectors.counting()));
+            });
+            assertEquals(expected, IntObjEntryStream.of(input).mapKeys(i -> input.get(i).length()).grouping());
+            assertEquals(expected, IntObjEntryStream.of(input).parallel().mapKeys(i -> input.get(i).length())
+                    .grouping());
+        });
+    }
+}
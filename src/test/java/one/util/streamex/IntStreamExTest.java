@@ -473,6 +473,18 @@ public class IntStreamExTest {
         return s.pairMap((a, b) -> a);
     }
 
+    @Test
+    public void testChunked() {
+        assertArrayEquals(new int[][] { {1, 2, 3}, {4, 5, 6}, {7} }, IntStreamEx.rangeClosed(1, 7).chunked(3).toArray(int[][]::new));
+        assertArrayEquals(new int[][] { {1, 2, 3}, {4, 5, 6}, {7} }, IntStreamEx.rangeClosed(1, 7).parallel().chunked(3).toArray(int[][]::new));
+        assertEquals(0, IntStreamEx.rangeClosed(1, 7).filter(x -> x > 10).chunked(3).count());
+        int[] expected = IntStreamEx.range(100000).toArray();
+        int[] actual = IntStreamEx.range(100000).parallel().chunked(999).flatMapToInt(IntStreamEx::of).toArray();
+        assertArrayEquals(expected, actual);
+        actual = IntStreamEx.range(100000).parallel().filter(x -> true).chunked(999).flatMapToInt(IntStreamEx::of).toArray();
+        assertArrayEquals(expected, actual);
+    }
+
     @Test
     public void testPairMap() {
         assertEquals(0, IntStreamEx.range(0).pairMap(Integer::sum).count());
@@ -764,11 +776,58 @@ public class IntStreamExTest {
         assertTrue(flag.get());
     }
 
+    @Test
+    public void testArraySource() {
+        int[] array = { 1, 2, 3, 4, 5 };
+        int[] copy = IntStreamEx.of(array).toArray();
+        assertArrayEquals(array, copy);
+        assertNotSame(array, copy);
+        assertArrayEquals(new int[] { 2, 3, 4 }, IntStreamEx.of(array, 1, 4).toArray());
+        assertArrayEquals(new int[] { 2, 3, 4 }, IntStreamEx.of(array, 1, 4).parallel().toArray());
+        assertArrayEquals(new int[] {}, IntStreamEx.of(array, 2, 2).toArray());
+        assertArrayEquals(new int[] { 1, 3, 6, 10, 15 }, IntStreamEx.of(array).scanLeft(Integer::sum));
+        assertArrayEquals(new int[] { 10, 12, 15, 19 }, IntStreamEx.of(array, 1, 4).scanLeft(10, Integer::sum));
+        assertArrayEquals(new int[] { 10 }, IntStreamEx.of(array, 1, 1).scanLeft(10, Integer::sum));
+        assertArrayEquals(new int[] { 1, -1, -4 }, IntStreamEx.of(array).parallel().limit(3).scanLeft((a, b) -> a - b));
+        assertArrayEquals(new int[] { 3, 7, 12 }, IntStreamEx.of(array, 2, 5).parallel().parallelPrefix(Integer::sum)
+                .toArray());
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5 }, array);
+        try {
+            IntStreamEx.of(array, 3, 6);
+            fail("Exception expected");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testPrefix() {
         assertArrayEquals(new int[] { 1, 3, 6, 10, 20 }, IntStreamEx.of(1, 2, 3, 4, 10).prefix(Integer::sum).toArray());
         assertEquals(OptionalInt.of(10), IntStreamEx.of(1, 2, 3, 4, 10).prefix(Integer::sum).findFirst(x -> x > 7));
         assertEquals(OptionalInt.empty(), IntStreamEx.of(1, 2, 3, 4, 10).prefix(Integer::sum).findFirst(x -> x > 20));
+
+        int[] input = IntStreamEx.of(new Random(1), 100000, -100, 100).toArray();
+        int[] expected = IntStreamEx.of(input).prefix(Integer::sum).toArray();
+        assertArrayEquals(expected, IntStreamEx.of(input).parallel().parallelPrefix(Integer::sum).toArray());
+        assertArrayEquals(expected, IntStreamEx.of(input).parallel().map(x -> x).parallelPrefix(Integer::sum)
+                .toArray());
+        assertArrayEquals(expected, IntStreamEx.of(input).parallel().filter(x -> true).parallelPrefix(Integer::sum)
+                .toArray());
+        assertEquals(expected[50000], IntStreamEx.of(input).parallel().parallelPrefix(Integer::sum).skip(50000)
+                .findFirst().getAsInt());
+        assertArrayEquals(new int[] { 1, 2, 3, 4 }, IntStreamEx.iterate(1, x -> x).parallel().parallelPrefix(
+            Integer::sum).limit(4).toArray());
+        assertArrayEquals(expected, IntStreamEx.of(input).parallel().prefix(Integer::sum).toArray());
+
+        // prefix must stay lazy for short-circuiting terminal operations
+        AtomicInteger pulled = new AtomicInteger();
+        assertArrayEquals(new int[] { 0, 1, 3 }, IntStreamEx.range(5_000_000).parallel().peek(
+            x -> pulled.incrementAndGet()).prefix(Integer::sum).limit(3).toArray());
+        assertTrue(String.valueOf(pulled.get()), pulled.get() < 100_000);
+        pulled.set(0);
+        assertEquals(10, IntStreamEx.range(5_000_000).parallel().peek(x -> pulled.incrementAndGet()).prefix(
+            Integer::sum).findFirst(x -> x >= 10).getAsInt());
+        assertTrue(String.valueOf(pulled.get()), pulled.get() < 100_000);
     }
     
     @Test
@@ -73,5 +73,35 @@ public class LimiterTest {
         assertEquals("Mismatch (sequential), " + msg + ", limit=" + limit, subList, actual);
         actual = input.parallelStream().collect(MoreCollectors.least(comp, limit));
         assertEquals("Mismatch (parallel), " + msg + ", limit=" + limit, subList, actual);
+        actual = StreamEx.of(input).topK(limit, comp);
+        assertEquals("Mismatch (topK sequential), " + msg + ", limit=" + limit, subList, actual);
+        actual = StreamEx.of(input).parallel().topK(limit, comp);
+        assertEquals("Mismatch (topK parallel), " + msg + ", limit=" + limit, subList, actual);
+    }
+
+    @Test
+    public void testPutAll() {
+        Comparator<String> cmp = Comparator.comparingInt(String::length);
+        Limiter<String> l1 = new Limiter<>(3, cmp);
+        Limiter<String> l2 = new Limiter<>(3, cmp);
+        l1.put("bb");
+        l1.put("a");
+        l2.put("c");
+        l2.put("dd");
+        l2.put("e");
+        l1.putAll(l2);
+        l1.sort();
+        // equal elements of the first limiter go first
+        assertEquals(Arrays.asList("a", "c", "e"), new ArrayList<>(l1));
+        Limiter<String> l3 = new Limiter<>(3, cmp);
+        l3.put("fff");
+        l3.putAll(l1);
+        l3.sort();
+        assertEquals(Arrays.asList("a", "c", "e"), new ArrayList<>(l3));
+        Limiter<String> empty = new Limiter<>(3, cmp);
+        l3.putAll(empty);
+        empty.putAll(l3);
+        empty.sort();
+        assertEquals(Arrays.asList("a", "c", "e"), new ArrayList<>(empty));
     }
 }
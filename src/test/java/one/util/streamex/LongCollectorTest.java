@@ -18,10 +18,13 @@ package one.util.streamex;
 import static one.util.streamex.TestHelpers.*;
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
@@ -152,6 +155,44 @@ public class LongCollectorTest {
         }
     }
 
+    @Test
+    public void testApproximateDistinctCount() {
+        withRandom(r -> {
+            long[] input = LongStreamEx.of(r, 100000, 0, 50000).toArray();
+            long expected = LongStreamEx.of(input).boxed().collect(MoreCollectors.approximateDistinctCount(Function.identity(), 12));
+            assertEquals(expected, (long) LongStreamEx.of(input).collect(LongCollector.approximateDistinctCount(12)));
+            assertEquals(expected, (long) LongStreamEx.of(input).parallel().collect(LongCollector.approximateDistinctCount(12)));
+            assertEquals(LongStreamEx.of(input).distinct().count(), expected, expected * 0.1);
+        });
+        assertEquals(0L, (long) LongStreamEx.empty().collect(LongCollector.approximateDistinctCount(4)));
+    }
+
+    @Test
+    public void testQuantiles() {
+        assertArrayEquals(new long[] { Long.MIN_VALUE, 3, 4, Long.MAX_VALUE }, LongStreamEx.of(5, Long.MAX_VALUE, 3,
+            Long.MIN_VALUE, 4).collect(LongCollector.quantiles(0, 0.3, 0.6, 1)));
+        assertArrayEquals(new long[0], LongStreamEx.empty().collect(LongCollector.quantiles(0.5)));
+        withRandom(r -> {
+            long[] input = LongStreamEx.of(r, 200000, 0, 1000000).toArray();
+            long[] sorted = LongStreamEx.of(input).sorted().toArray();
+            long[] quantiles = LongStreamEx.of(input).parallel().collect(LongCollector.quantiles(0.5, 0.9));
+            assertEquals(sorted[100000], quantiles[0], 20000);
+            assertEquals(sorted[180000], quantiles[1], 20000);
+
+            // values which are not representable as double
+            long[] big = LongStreamEx.of(r, 100000, Long.MAX_VALUE - 1000000, Long.MAX_VALUE).toArray();
+            Set<Long> bigSet = LongStreamEx.of(big).boxed().toSet();
+            for (LongStreamEx s : new LongStreamEx[] { LongStreamEx.of(big), LongStreamEx.of(big).parallel() }) {
+                long[] bigQuantiles = s.collect(LongCollector.quantiles(0, 0.01, 0.5, 0.99, 1));
+                for (long q : bigQuantiles) {
+                    assertTrue(String.valueOf(q), bigSet.contains(q));
+                }
+                assertEquals(LongStreamEx.of(big).min().getAsLong(), bigQuantiles[0]);
+                assertEquals(LongStreamEx.of(big).max().getAsLong(), bigQuantiles[4]);
+            }
+        });
+    }
+
     @Test
     public void testAsCollector() {
         assertEquals(10000499500L, (long) LongStream.range(10000000, 10001000).boxed().collect(LongCollector.summing()));
@@ -187,4 +228,67 @@ public class LongCollectorTest {
             Long.MAX_VALUE).parallel().collect(
             LongCollector.toBooleanArray(x -> x < Integer.MIN_VALUE || x > Integer.MAX_VALUE)));
     }
+
+    @Test
+    public void testLeastGreatest() {
+        withRandom(r -> {
+            for (int size : new int[] { 0, 1, 10, 1000, 10000 }) {
+                long[] input = r.longs(size, -size / 3 - 1, size / 3 + 1).toArray();
+                long[] sorted = LongStreamEx.of(input).sorted().toArray();
+                long[] reversed = LongStreamEx.of(input).reverseSorted().toArray();
+                long[] ascIdx = IntStreamEx.ofIndices(input).boxed().sortedBy(i -> input[i]).mapToLong(i -> i)
+                        .toArray();
+                long[] descIdx = IntStreamEx.ofIndices(input).boxed().sorted((i, j) -> Long.compare(input[j],
+                    input[i])).mapToLong(i -> i).toArray();
+                for (int n : new int[] { 0, 1, 2, 10, 500, 20000 }) {
+                    int limit = Math.min(n, size);
+                    String msg = size + "/" + n;
+                    for (LongStreamEx s : new LongStreamEx[] { LongStreamEx.of(input), LongStreamEx.of(input)
+                            .parallel() }) {
+                        assertArrayEquals(msg, Arrays.copyOf(sorted, limit), s.collect(LongCollector.least(n)));
+                    }
+                    assertArrayEquals(msg, Arrays.copyOf(reversed, limit), LongStreamEx.of(input).parallel().collect(
+                        LongCollector.greatest(n)));
+                    assertArrayEquals(msg, Arrays.copyOf(ascIdx, limit), LongStreamEx.of(input).parallel().collect(
+                        LongCollector.leastIndices(n)));
+                    assertArrayEquals(msg, Arrays.copyOf(descIdx, limit), LongStreamEx.of(input).collect(
+                        LongCollector.greatestIndices(n)));
+                }
+            }
+        });
+        assertArrayEquals(new long[] { Long.MAX_VALUE, 0 }, LongStreamEx.of(0, Long.MIN_VALUE,
+            Long.MAX_VALUE).collect(LongCollector.greatest(2)));
+        assertArrayEquals(new long[] { 1, 3, 0 }, LongStreamEx.of(5, 1, 9, 1).collect(LongCollector.leastIndices(3)));
+    }
+
+    @Test
+    public void testHistogram() {
+        Histogram h = LongStreamEx.of(Long.MIN_VALUE, -1, 0, 5, 10, Long.MAX_VALUE - 1, Long.MAX_VALUE).collect(
+            LongCollector.histogram(0, Long.MAX_VALUE / 2, 2));
+        assertArrayEquals(new long[] { 3, 0 }, h.counts());
+        assertEquals(2, h.underflowCount());
+        assertEquals(2, h.overflowCount());
+        h = LongStreamEx.of(Long.MIN_VALUE, -1, 0, 5, 10, Long.MAX_VALUE).collect(LongCollector.histogram(-10, 10, 2));
+        assertArrayEquals(new long[] { 1, 2 }, h.counts());
+        assertEquals(1, h.underflowCount());
+        assertEquals(2, h.overflowCount());
+        h = LongStreamEx.of(Long.MIN_VALUE, 0, Long.MAX_VALUE).collect(LongCollector.histogram(Long.MIN_VALUE, 1, 1));
+        assertArrayEquals(new long[] { 1 }, h.counts());
+        assertEquals(2, h.overflowCount());
+
+        h = LongStreamEx.range(1, 1000001).parallel().collect(LongCollector.exponentialHistogram(1, 10, 6));
+        assertArrayEquals(new long[] { 9, 90, 900, 9000, 90000, 900000 }, h.counts());
+        assertEquals(1, h.overflowCount());
+        assertEquals(h, LongStreamEx.range(1, 1000001).collect(LongCollector.exponentialHistogram(1, 10, 6)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramBuckets() {
+        LongCollector.histogram(0, 1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHistogramInfinite() {
+        LongCollector.exponentialHistogram(Long.MAX_VALUE, 1e300, 10);
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class LongObjEntryStreamTest {
+    @Test
+    public void testOperations() {
+        assertEquals(0, LongObjEntryStream.empty().count());
+        long big = 1L << 40;
+        assertEquals(asList(big + "=1", (big + 2) + "=3"), LongStreamEx.range(big, big + 4).mapToEntry(x -> x - big
+            + 1).filterKeys(k -> k % 2 == 0).map(Object::toString).toList());
+        assertEquals(asList(big + 1, big + 3), LongStreamEx.range(big, big + 4).mapToEntry(x -> x - big + 1)
+                .filterValues(v -> v % 2 == 0).keys().boxed().toList());
+        assertEquals(asList("0:a", "2:b"), LongStreamEx.of(0, 2).mapToEntry(x -> x == 0 ? "a" : "b").mapKeys(
+            k -> k * 1).mapKeyValue((k, v) -> k + ":" + v).toList());
+        assertEquals(asList("a0", "b2"), LongStreamEx.of(0, 2).mapToEntry(x -> x == 0 ? "a" : "b").mapToValue(
+            (k, v) -> v + k).values().toList());
+        assertEquals(EntryStream.of(0L, "a", 2L, "b").toList(), LongStreamEx.of(0, 2).mapToEntry(
+            x -> x == 0 ? "a" : "b").boxed().toList());
+    }
+
+    @Test
+    public void testToMapAndGrouping() {
+        withRandom(r -> {
+            long[] input = LongStreamEx.of(r, 10000, -(1L << 40), 1L << 40).map(x -> x / 1000000 * 1000000)
+                    .toArray();
+            Map<Long, Long> expected = LongStreamEx.of(input).boxed().groupingBy(x -> x, Collectors.counting());
+            assertEquals(expected, LongStreamEx.of(input).mapToEntry(x -> 1L).toMap(Long::sum));
+            assertEquals(expected, LongStreamEx.of(input).parallel().mapToEntry(x -> 1L).toMap(Long::sum));
+            assertEquals(expected, LongStreamEx.of(input).parallel().mapToEntry(x -> x).grouping(
+                Collectors.counting()));
+            Map<Long, List<Long>> lists = LongStreamEx.of(input).parallel().mapToEntry(x -> x).grouping();
+            assertEquals(expected.keySet(), lists.keySet());
+            lists.forEach((k, list) -> assertEquals((long) expected.get(k), list.size()));
+            assertEquals(LongStreamEx.of(input).boxed().distinct().toMap(x -> x, x -> x), LongStreamEx.of(input)
+                    .distinct().mapToEntry(x -> x).parallel().toMap());
+        });
+    }
+
+    @Test
+    public void testGroupingNullValues() {
+        long big = 1L << 40;
+        Map<Long, Object> expected = new HashMap<>();
+        LongStreamEx.range(big, big + 100).forEach(k -> expected.put(k, null));
+        streamEx(() -> LongStreamEx.range(big, big + 100).append(LongStreamEx.range(big, big + 100)).boxed(),
+            s -> {
+                Map<Long, Object> grouping = s.get().mapToLong(x -> x).mapToEntry(x -> x).grouping(Collectors
+                        .collectingAndThen(Collectors.counting(), c -> null));
+                assertEquals(100, grouping.size());
+                assertTrue(grouping.containsKey(big));
+                assertNull(grouping.get(big + 1));
+                assertEquals(expected, grouping);
+            });
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testToMapDuplicate() {
+        LongStreamEx.of(1, 2, 1).mapToEntry(x -> "x").toMap();
+    }
+}
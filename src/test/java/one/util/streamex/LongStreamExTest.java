@@ -404,6 +404,18 @@ public class LongStreamExTest {
         maxFns.forEach(fn -> assertEquals(120, fn.apply(s.get().parallel()).getAsLong()));
     }
 
+    @Test
+    public void testChunked() {
+        assertArrayEquals(new long[][] { {1, 2, 3}, {4, 5, 6}, {7} }, LongStreamEx.rangeClosed(1, 7).chunked(3).toArray(long[][]::new));
+        assertArrayEquals(new long[][] { {1, 2, 3}, {4, 5, 6}, {7} }, LongStreamEx.rangeClosed(1, 7).parallel().chunked(3).toArray(long[][]::new));
+        assertEquals(0, LongStreamEx.rangeClosed(1, 7).filter(x -> x > 10).chunked(3).count());
+        long[] expected = LongStreamEx.range(100000).toArray();
+        long[] actual = LongStreamEx.range(100000).parallel().chunked(999).flatMapToLong(LongStreamEx::of).toArray();
+        assertArrayEquals(expected, actual);
+        actual = LongStreamEx.range(100000).parallel().filter(x -> true).chunked(999).flatMapToLong(LongStreamEx::of).toArray();
+        assertArrayEquals(expected, actual);
+    }
+
     @Test
     public void testPairMap() {
         assertEquals(0, LongStreamEx.range(0).pairMap(Long::sum).count());
@@ -576,11 +588,43 @@ public class LongStreamExTest {
         assertEquals("test", sc.next());
     }
 
+    @Test
+    public void testArraySource() {
+        long[] array = { 1, 2, 3, 4, 5 };
+        long[] copy = LongStreamEx.of(array).toArray();
+        assertArrayEquals(array, copy);
+        assertNotSame(array, copy);
+        assertArrayEquals(new long[] { 2, 3, 4 }, LongStreamEx.of(array, 1, 4).toArray());
+        assertArrayEquals(new long[] { 2, 3, 4 }, LongStreamEx.of(array, 1, 4).parallel().toArray());
+        assertArrayEquals(new long[] {}, LongStreamEx.of(array, 2, 2).toArray());
+        assertArrayEquals(new long[] { 1, 3, 6, 10, 15 }, LongStreamEx.of(array).scanLeft(Long::sum));
+        assertArrayEquals(new long[] { 10, 12, 15, 19 }, LongStreamEx.of(array, 1, 4).scanLeft(10, Long::sum));
+        assertArrayEquals(new long[] { 10 }, LongStreamEx.of(array, 1, 1).scanLeft(10, Long::sum));
+        assertArrayEquals(new long[] { 1, -1, -4 }, LongStreamEx.of(array).parallel().limit(3).scanLeft((a, b) -> a - b));
+        assertArrayEquals(new long[] { 3, 7, 12 }, LongStreamEx.of(array, 2, 5).parallel().parallelPrefix(Long::sum)
+                .toArray());
+        assertArrayEquals(new long[] { 1, 2, 3, 4, 5 }, array);
+        try {
+            LongStreamEx.of(array, 3, 6);
+            fail("Exception expected");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testPrefix() {
         assertArrayEquals(new long[] { 1, 3, 6, 10, 20 }, LongStreamEx.of(1, 2, 3, 4, 10).prefix(Long::sum).toArray());
         assertEquals(OptionalLong.of(10), LongStreamEx.of(1, 2, 3, 4, 10).prefix(Long::sum).findFirst(x -> x > 7));
         assertEquals(OptionalLong.empty(), LongStreamEx.of(1, 2, 3, 4, 10).prefix(Long::sum).findFirst(x -> x > 20));
+
+        long[] input = LongStreamEx.of(new Random(1), 100000, -100, 100).toArray();
+        long[] expected = LongStreamEx.of(input).prefix(Long::sum).toArray();
+        assertArrayEquals(expected, LongStreamEx.of(input).parallel().parallelPrefix(Long::sum).toArray());
+        assertArrayEquals(expected, LongStreamEx.of(input).parallel().filter(x -> true).parallelPrefix(Long::sum)
+                .toArray());
+        assertEquals(expected[50000], LongStreamEx.of(input).parallel().parallelPrefix(Long::sum).skip(50000)
+                .findFirst().getAsLong());
     }
 
     @Test
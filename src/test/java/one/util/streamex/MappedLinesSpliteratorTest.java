@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Spliterator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Tagir Valeev
+ */
+public class MappedLinesSpliteratorTest {
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private void checkLines(String content, Charset charset) throws IOException {
+        // small windows create many short-living mappings, so use them for short inputs only
+        checkLines(content, charset, content.length() > 100 ? new int[] { 1 << 10 } : new int[] { 1, 3, 1 << 10 });
+    }
+
+    private void checkLines(String content, Charset charset, int[] windows) throws IOException {
+        Path path = tmp.newFile().toPath();
+        Files.write(path, content.getBytes(charset));
+        List<String> expected = StreamEx.ofLines(new BufferedReader(new StringReader(content))).toList();
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            for (int window : windows) {
+                for (int minSplit : new int[] { 1, 1 << 20 }) {
+                    checkSpliterator("window=" + window + ", minSplit=" + minSplit, expected,
+                        () -> new MappedLinesSpliterator(channel, charset, 0, size, window, minSplit));
+                }
+            }
+        }
+        try (StreamEx<String> stream = StreamEx.ofMappedLines(path, charset)) {
+            assertEquals(expected, stream.toList());
+        }
+        try (StreamEx<String> stream = StreamEx.ofMappedLines(path, charset)) {
+            assertEquals(expected, stream.parallel().toList());
+        }
+    }
+
+    @Test
+    public void testLines() throws IOException {
+        checkLines("", StandardCharsets.UTF_8);
+        checkLines("\n", StandardCharsets.UTF_8);
+        checkLines("a", StandardCharsets.UTF_8);
+        checkLines("a\nb\n", StandardCharsets.UTF_8);
+        checkLines("a\r\nb\rc\n\nd\r\r\ne", StandardCharsets.UTF_8);
+        checkLines("\r\r\n\n\r", StandardCharsets.US_ASCII);
+        checkLines("Привет\nмир\r\nété\n😀", StandardCharsets.UTF_8);
+        checkLines("café\r\nnaïve", StandardCharsets.ISO_8859_1);
+        withRandom(r -> {
+            String content = IntStreamEx.of(r, 500, 0, 8).mapToObj(i -> i < 5 ? "x" + i : i == 5 ? "\n" : i == 6
+                    ? "\r" : "ж").joining();
+            try {
+                checkLines(content, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Test
+    public void testLarge() throws IOException {
+        Path path = tmp.newFile().toPath();
+        List<String> expected = IntStreamEx.range(100000).mapToObj(String::valueOf).toList();
+        Files.write(path, expected);
+        try (StreamEx<String> stream = StreamEx.ofMappedLines(path)) {
+            assertEquals(expected, stream.parallel().toList());
+        }
+        try (FileChannel channel = FileChannel.open(path)) {
+            Spliterator<String> spliterator = new MappedLinesSpliterator(channel, StandardCharsets.UTF_8, channel
+                    .size());
+            assertEquals(channel.size(), spliterator.estimateSize());
+            assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+            assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+            assertNotNull(spliterator.trySplit());
+        }
+    }
+
+    @Test
+    public void testUnsupportedCharset() throws IOException {
+        Path path = tmp.newFile().toPath();
+        List<String> input = StreamEx.of("Some", "Test", "Lines").toList();
+        Files.write(path, input, StandardCharsets.UTF_16);
+        assertEquals(input, StreamEx.ofMappedLines(path, StandardCharsets.UTF_16).toList());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testMalformed() throws IOException {
+        Path path = tmp.newFile().toPath();
+        Files.write(path, new byte[] { 'a', '\n', (byte) 0xFF, '\n' });
+        try (StreamEx<String> stream = StreamEx.ofMappedLines(path)) {
+            stream.toList();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class MergeJoinSpliteratorTest {
+    private static List<String> expected(List<Integer> left, List<Integer> right, boolean keepLeft,
+            boolean keepRight) {
+        List<String> result = new ArrayList<>();
+        int i = 0, j = 0;
+        // reference implementation: nested loops over the groups of equal keys
+        while (i < left.size() || j < right.size()) {
+            int key = i == left.size() ? right.get(j) : j == right.size() ? left.get(i) : Math.min(left.get(i),
+                right.get(j));
+            int li = i, rj = j;
+            while (i < left.size() && left.get(i) == key)
+                i++;
+            while (j < right.size() && right.get(j) == key)
+                j++;
+            if (i > li && j > rj) {
+                for (int a = li; a < i; a++)
+                    for (int b = rj; b < j; b++)
+                        result.add(left.get(a) + "-" + right.get(b) + ":" + a + "," + b);
+            } else if (i > li && keepLeft) {
+                for (int a = li; a < i; a++)
+                    result.add(left.get(a) + "-null:" + a);
+            } else if (j > rj && keepRight) {
+                for (int b = rj; b < j; b++)
+                    result.add("null-" + right.get(b) + ":" + b);
+            }
+        }
+        return result;
+    }
+
+    private static String format(int[] a, int[] b) {
+        if (a == null)
+            return "null-" + b[0] + ":" + b[1];
+        if (b == null)
+            return a[0] + "-null:" + a[1];
+        return a[0] + "-" + b[0] + ":" + a[1] + "," + b[1];
+    }
+
+    @Test
+    public void testSpliterator() {
+        Random r = new Random(1);
+        for (int n : new int[] { 0, 1, 10, 100, 300 }) {
+            for (int range : new int[] { n / 10 + 3, 30, 3000 }) {
+                List<Integer> left = IntStreamEx.of(r, n, 0, range).sorted().boxed().toList();
+                List<Integer> right = IntStreamEx.of(r, n / 2 + 1, 0, range).sorted().boxed().toList();
+                // indices make the pairs distinguishable
+                List<int[]> li = IntStreamEx.ofIndices(left).mapToObj(i -> new int[] { left.get(i), i }).toList();
+                List<int[]> ri = IntStreamEx.ofIndices(right).mapToObj(i -> new int[] { right.get(i), i }).toList();
+                for (boolean keepLeft : new boolean[] { false, true }) {
+                    for (boolean keepRight : new boolean[] { false, true }) {
+                        if (keepRight && !keepLeft)
+                            continue;
+                        checkSpliterator(n + "/" + range + "/" + keepLeft + "/" + keepRight, expected(left, right,
+                            keepLeft, keepRight), () -> new MergeJoinSpliterator<>(li.spliterator(), ri.spliterator(),
+                                (a, b) -> Integer.compare(a[0], b[0]), MergeJoinSpliteratorTest::format, keepLeft,
+                                keepRight));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInnerShortCircuit() {
+        // inner join stops when the right side is exhausted
+        assertEquals(asList(2), StreamEx.of(1, 2, 3).mergeJoin(StreamEx.of(2), Function.identity(), Function
+                .identity(), Integer::compare, (a, b) -> a).toList());
+        assertEquals(asList(2), StreamEx.iterate(1, x -> x + 1).mergeJoin(StreamEx.of(2), Function.identity(),
+            Function.identity(), Integer::compare, (a, b) -> a).toList());
+    }
+}
@@ -108,6 +108,79 @@ public class MoreCollectorsTest {
         });
     }
 
+    @Test
+    public void testApproximateDistinctCount() {
+        for (int n : new int[] { 0, 1, 10, 1000, 200000 }) {
+            Supplier<Stream<String>> base = () -> IntStreamEx.range(n * 2).mapToObj(i -> "x" + i % n);
+            long estimate = base.get().collect(MoreCollectors.approximateDistinctCount(Function.identity()));
+            checkCollector("approximateDistinctCount(" + n + ")", estimate, base, MoreCollectors
+                    .approximateDistinctCount(Function.identity()));
+            if (n <= 10)
+                assertEquals(n, estimate);
+            else
+                assertEquals(n, estimate, n * 0.05);
+        }
+        List<Integer> input = IntStreamEx.range(10000).boxed().toList();
+        assertEquals(5000, StreamEx.of(input).collect(MoreCollectors.approximateDistinctCount(x -> x / 2 * 2, 18)),
+            5000 * 0.05);
+        assertEquals(5000, StreamEx.of(input).collect(MoreCollectors.approximateDistinctCount(x -> x / 2, 4)),
+            5000 * 0.8);
+        assertEquals(2, (long) StreamEx.of("a", null, "a", null).collect(MoreCollectors.approximateDistinctCount(
+            Function.identity())));
+    }
+
+    @Test
+    public void testApproximateDistinctCountByHash() {
+        // all these values have the same hash code
+        Supplier<Stream<Long>> base = () -> LongStreamEx.range(20000).map(i -> i << 32 | i).boxed();
+        assertEquals(1L, (long) base.get().collect(MoreCollectors.approximateDistinctCount(Function.identity())));
+        long estimate = base.get().collect(MoreCollectors.approximateDistinctCountByHash(Long::longValue, 14));
+        assertEquals(20000, estimate, 20000 * 0.05);
+        checkCollector("approximateDistinctCountByHash", estimate, base, MoreCollectors
+                .approximateDistinctCountByHash(Long::longValue, 14));
+        assertEquals(10000, StreamEx.of(base.get()).collect(MoreCollectors.approximateDistinctCountByHash(
+            x -> x >>> 33, 14)), 10000 * 0.05);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApproximateDistinctCountByHashPrecision() {
+        MoreCollectors.approximateDistinctCountByHash(Long::longValue, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testApproximateDistinctCountPrecision() {
+        MoreCollectors.approximateDistinctCount(Function.identity(), 19);
+    }
+
+    @Test
+    public void testCountingBy() {
+        List<String> input = IntStreamEx.range(20000).mapToObj(i -> "w" + i % 1234).toList();
+        Map<String, Long> expected = input.stream().collect(Collectors.groupingBy(Function.identity(), Collectors
+                .counting()));
+        checkCollector("countingBy", expected, input::stream, MoreCollectors.countingBy(Function.identity()));
+        checkCollectorEmpty("countingBy", Collections.emptyMap(), MoreCollectors.countingBy(Function.identity()));
+
+        Map<Integer, Long> sums = input.stream().collect(Collectors.groupingBy(String::length, Collectors
+                .summingLong(s -> s.charAt(1))));
+        checkCollector("summingLongBy", sums, input::stream, MoreCollectors.summingLongBy(String::length,
+            s -> s.charAt(1)));
+
+        List<Double> doubles = IntStreamEx.range(10000).mapToObj(i -> i % 10 * 0.1).toList();
+        Map<Double, Double> doubleSums = new HashMap<>();
+        for (int i = 0; i < 10; i++)
+            doubleSums.put(i * 0.1, i * 0.1 * 1000);
+        streamEx(doubles::stream, s -> {
+            Map<Double, Double> res = s.get().collect(MoreCollectors.summingDoubleBy(Function.identity(), x -> x));
+            assertEquals(doubleSums.keySet(), res.keySet());
+            doubleSums.forEach((k, v) -> assertEquals(v, res.get(k), 1e-9));
+        });
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testCountingByNullKey() {
+        StreamEx.of("a", null).collect(MoreCollectors.countingBy(Function.identity()));
+    }
+
     @Test
     public void testDistinctBy() {
         List<String> input = asList("a", "bb", "c", "cc", "eee", "bb", "bc", "ddd", "ca", "ce", "cf", "ded", "dump");
@@ -779,4 +852,135 @@ public class MoreCollectorsTest {
         checkShortCircuitCollector("ifAllMatch: empty stream", Optional.of(Collections.emptyList()), 0, Stream::empty,
                 MoreCollectors.ifAllMatch(i -> true, Collectors.toList()));
     }
+
+    @Test
+    public void testReservoirSample() {
+        List<Integer> ints = IntStreamEx.range(100).boxed().toList();
+        checkShortCircuitCollector("reservoirSample(0)", asList(), 0, ints::stream, MoreCollectors.reservoirSample(0,
+            new SplittableRandom(1)));
+        assertEquals(ints, StreamEx.of(ints).collect(MoreCollectors.reservoirSample(100, new SplittableRandom(1)))
+                .stream().sorted().collect(Collectors.toList()));
+        assertEquals(ints, StreamEx.of(ints).parallel().collect(MoreCollectors.reservoirSample(1000,
+            new SplittableRandom(1))).stream().sorted().collect(Collectors.toList()));
+        assertEquals(StreamEx.of(ints).collect(MoreCollectors.reservoirSample(10, new SplittableRandom(42))), StreamEx
+                .of(ints).collect(MoreCollectors.reservoirSample(10, new SplittableRandom(42))));
+
+        for (boolean parallel : new boolean[] { false, true }) {
+            SplittableRandom random = new SplittableRandom(1);
+            int[] counts = new int[100];
+            for (int i = 0; i < 2000; i++) {
+                List<Integer> sample = (parallel ? IntStreamEx.range(100).parallel() : IntStreamEx.range(100)).boxed().collect(
+                    MoreCollectors.reservoirSample(10, random));
+                assertEquals(10, sample.size());
+                assertEquals(10, new HashSet<>(sample).size());
+                sample.forEach(x -> counts[x]++);
+            }
+            // every element is expected to be selected 200 times
+            IntStreamEx.of(counts).forEach(c -> assertTrue(String.valueOf(c), c > 130 && c < 270));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReservoirSampleNegative() {
+        MoreCollectors.reservoirSample(-1, new SplittableRandom());
+    }
+
+    @Test
+    public void testWeightedSample() {
+        List<Integer> ints = IntStreamEx.range(100).boxed().toList();
+        checkShortCircuitCollector("weightedSample(0)", asList(), 0, ints::stream, MoreCollectors.weightedSample(0,
+            x -> x, new SplittableRandom(1)));
+        for (boolean parallel : new boolean[] { false, true }) {
+            SplittableRandom random = new SplittableRandom(1);
+            // zero weights are never selected
+            assertEquals(IntStreamEx.range(50, 100).boxed().toList(), (parallel ? StreamEx.of(ints).parallel() : StreamEx.of(ints)).collect(
+                MoreCollectors.weightedSample(80, x -> x < 50 ? 0 : 1, random)).stream().sorted().collect(
+                Collectors.toList()));
+            int[] counts = new int[4];
+            for (int i = 0; i < 4000; i++) {
+                List<Integer> sample = (parallel ? IntStreamEx.range(4).parallel() : IntStreamEx.range(4)).boxed().collect(
+                    MoreCollectors.weightedSample(1, x -> x + 1, random));
+                assertEquals(1, sample.size());
+                counts[sample.get(0)]++;
+            }
+            // expected counts are 400, 800, 1200, 1600
+            for (int i = 0; i < 4; i++) {
+                assertTrue(Arrays.toString(counts), Math.abs(counts[i] - 400 * (i + 1)) < 150);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWeightedSampleNegativeWeight() {
+        StreamEx.of(1, 2, -3).collect(MoreCollectors.weightedSample(1, x -> x, new SplittableRandom()));
+    }
+
+    @Test
+    public void testHeavyHitters() {
+        checkShortCircuitCollector("heavyHitters(0)", Collections.emptyMap(), 0, () -> Stream.of(1, 2, 3),
+            MoreCollectors.heavyHitters(0, 0.1));
+        withRandom(r -> {
+            // element i occurs 10000/i times
+            List<Integer> input = IntStreamEx.rangeClosed(1, 1000).flatMap(i -> IntStreamEx.constant(i, 10000 / i))
+                    .boxed().toList();
+            Collections.shuffle(input, r);
+            long n = input.size();
+            for (StreamEx<Integer> s : asList(StreamEx.of(input), StreamEx.of(input).parallel())) {
+                Map<Integer, Long> result = s.collect(MoreCollectors.heavyHitters(5, 0.001));
+                assertEquals(asList(1, 2, 3, 4, 5), new ArrayList<>(result.keySet()));
+                result.forEach((k, v) -> {
+                    assertTrue(k + ": " + v, v >= 10000 / k);
+                    assertTrue(k + ": " + v, v <= 10000 / k + n * 0.001);
+                });
+            }
+            // exact counts when all the elements are tracked
+            List<Integer> small = StreamEx.of(input).filter(x -> x <= 100).toList();
+            Map<Integer, Long> expected = StreamEx.of(small).sorted().groupingBy(Function.identity(),
+                LinkedHashMap::new, Collectors.counting());
+            checkCollector("heavyHitters-exact", expected, small::stream, MoreCollectors.heavyHitters(100, 0.01));
+        });
+        Map<String, Map<Integer, Long>> grouped = EntryStream.of("a", 1, "b", 2, "a", 1, "a", 3, "b", 2).grouping(
+            MoreCollectors.heavyHitters(1, 0.5));
+        assertEquals(Collections.singletonMap(1, 2L), grouped.get("a"));
+        assertEquals(Collections.singletonMap(2, 2L), grouped.get("b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHeavyHittersEpsilon() {
+        MoreCollectors.heavyHitters(10, 0);
+    }
+
+    @Test
+    public void testCountMinSketch() {
+        withRandom(r -> {
+            List<Integer> input = IntStreamEx.of(r, 100000, 0, 10000).map(x -> x * x % 10007).boxed().toList();
+            Map<Integer, Long> counts = StreamEx.of(input).groupingBy(Function.identity(), Collectors.counting());
+            for (StreamEx<Integer> s : asList(StreamEx.of(input), StreamEx.of(input).parallel())) {
+                CountMinSketch<Integer> sketch = s.collect(MoreCollectors.countMinSketch(0.001, 0.01));
+                assertEquals(2719, sketch.width());
+                assertEquals(5, sketch.depth());
+                assertEquals(input.size(), sketch.totalCount());
+                assertEquals("CountMinSketch{width=2719, depth=5, total=100000}", sketch.toString());
+                long bad = IntStreamEx.range(-10000, 20000).boxed().filter(x -> {
+                    long actual = counts.getOrDefault(x, 0L);
+                    long estimate = sketch.estimateCount(x);
+                    assertTrue(x + ": " + actual + " vs " + estimate, estimate >= actual);
+                    return estimate > actual + 0.001 * input.size();
+                }).count();
+                assertTrue(String.valueOf(bad), bad < 300);
+            }
+        });
+        CountMinSketch<String> sketch = StreamEx.of("a", null, "b", null).collect(MoreCollectors.countMinSketch(0.1,
+            0.1));
+        assertEquals(2, sketch.estimateCount(null));
+        Map<Boolean, CountMinSketch<Integer>> grouped = EntryStream.of(true, 1, false, 2, true, 1).grouping(
+            MoreCollectors.countMinSketch(0.1, 0.1));
+        assertEquals(2, grouped.get(true).estimateCount(1));
+        assertEquals(2, grouped.get(true).totalCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCountMinSketchDelta() {
+        MoreCollectors.countMinSketch(0.1, 1);
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author Tagir Valeev
+ */
+public class ObjLongMapTest {
+    @Test
+    public void testObjLongMap() {
+        ObjLongMap<String> map = new ObjLongMap<>();
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            String key = "k" + i % 3001;
+            map.add(key, i);
+            expected.merge(key, (long) i, Long::sum);
+        }
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertNull(map.get("x"));
+        assertNull(map.get(null));
+        assertFalse(map.containsKey(null));
+        assertTrue(map.containsKey("k0"));
+
+        ObjLongMap<String> other = new ObjLongMap<>();
+        other.add("k0", 1);
+        other.add("x", 2);
+        map.addAll(other);
+        expected.merge("k0", 1L, Long::sum);
+        expected.put("x", 2L);
+        assertEquals(expected, map);
+        Map<String, Long> copy = new HashMap<>();
+        map.forEach(copy::put);
+        assertEquals(expected, copy);
+    }
+
+    @Test
+    public void testObjDoubleMap() {
+        ObjDoubleMap<Integer> map = new ObjDoubleMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.add(i % 100, 0.1);
+        }
+        assertEquals(100, map.size());
+        // compensated summation is exact here
+        for (int i = 0; i < 100; i++)
+            assertEquals(1.0, map.get(i), 0.0);
+
+        ObjDoubleMap<Integer> other = new ObjDoubleMap<>();
+        other.add(0, 0.1);
+        other.add(-1, Double.POSITIVE_INFINITY);
+        other.add(-1, 1);
+        map.addAll(other);
+        assertEquals(1.1, map.get(0), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, map.get(-1), 0.0);
+        map.add(-1, Double.NEGATIVE_INFINITY);
+        assertTrue(Double.isNaN(map.get(-1)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullKey() {
+        new ObjLongMap<String>().add(null, 1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        new ObjLongMap<String>().put("a", 1L);
+    }
+}
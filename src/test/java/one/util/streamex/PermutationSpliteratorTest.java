@@ -15,7 +15,9 @@
  */
 package one.util.streamex;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.Spliterator;
@@ -115,4 +117,69 @@ public class PermutationSpliteratorTest {
             assertEquals(String.valueOf(i), PERMUTATIONS_4, String.join(",", strings));
         }));
     }
+
+    @Test
+    public void testReuse() {
+        assertEquals(PERMUTATIONS_4, String.join(",", collect(new PermutationSpliterator(4, true))));
+        withRandom(r -> repeat(100, i -> {
+            List<String> strings = new ArrayList<>();
+            collectRandomSplit(new PermutationSpliterator(4, true), r, strings);
+            assertEquals(String.valueOf(i), PERMUTATIONS_4, String.join(",", strings));
+        }));
+        List<int[]> arrays = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+        StreamEx.forEachPermutation(3, is -> {
+            arrays.add(is);
+            strings.add(IntStreamEx.of(is).mapToObj(String::valueOf).joining());
+        });
+        assertEquals(PERMUTATIONS_3, String.join(",", strings));
+        assertEquals(1, StreamEx.of(arrays).distinct(System::identityHashCode).count());
+        assertEquals(PERMUTATIONS_4, StreamEx.ofPermutations(4, true).parallel().map(
+            is -> IntStreamEx.of(is).mapToObj(String::valueOf).joining()).joining(","));
+    }
+
+    @Test
+    public void testWindow() {
+        List<String> all = Arrays.asList(PERMUTATIONS_4.split(","));
+        for (int start = 0; start <= 25; start++) {
+            assertEquals(all.get(Math.min(start, 23)), IntStreamEx.of(StreamEx.nthPermutation(4, BigInteger.valueOf(
+                Math.min(start, 23)))).mapToObj(String::valueOf).joining());
+            for (int count = 0; count <= 25; count++) {
+                List<String> expected = all.subList(Math.min(start, 24), Math.min(start + count, 24));
+                Spliterator<int[]> spliterator = new PermutationSpliterator(4, BigInteger.valueOf(start), count,
+                        false);
+                assertEquals(expected.size(), spliterator.estimateSize());
+                assertEquals(expected, collect(spliterator));
+                int s = start, c = count;
+                withRandom(r -> repeat(10, i -> {
+                    List<String> strings = new ArrayList<>();
+                    collectRandomSplit(new PermutationSpliterator(4, BigInteger.valueOf(s), c, false), r, strings);
+                    assertEquals(expected, strings);
+                }));
+            }
+        }
+    }
+
+    @Test
+    public void testBigWindow() {
+        BigInteger total = PermutationSpliterator.factorial(25);
+        assertEquals(new BigInteger("15511210043330985984000000"), total);
+        int[] last = IntStreamEx.rangeClosed(24, 0, -1).toArray();
+        assertArrayEquals(last, StreamEx.nthPermutation(25, total.subtract(BigInteger.ONE)));
+        assertArrayEquals(IntStreamEx.range(25).toArray(), StreamEx.nthPermutation(25, BigInteger.ZERO));
+        List<int[]> tail = StreamEx.ofPermutations(25, total.subtract(BigInteger.valueOf(3)), 10).toList();
+        assertEquals(3, tail.size());
+        assertArrayEquals(last, tail.get(2));
+        BigInteger mid = total.shiftRight(1);
+        List<String> expected = StreamEx.ofPermutations(25, mid, 1000).map(Arrays::toString).toList();
+        assertEquals(expected, StreamEx.ofPermutations(25, mid, 1000).parallel().map(Arrays::toString).toList());
+        assertEquals(expected.get(999), Arrays.toString(StreamEx.nthPermutation(25, mid.add(BigInteger.valueOf(
+            999)))));
+        assertEquals(0, StreamEx.ofPermutations(25, total, 10).count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNthPermutationOutOfRange() {
+        StreamEx.nthPermutation(4, BigInteger.valueOf(24));
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class PipelineMetricsTest {
+    @Test
+    public void testSpliterator() {
+        List<Integer> input = IntStreamEx.range(1000).boxed().toList();
+        checkSpliterator("ref", input, () -> new InstrumentedSpliterator.OfRef<>(input.spliterator(),
+                new PipelineMetrics().stage("test")));
+        checkSpliterator("int", input, () -> StreamEx.of(
+            new InstrumentedSpliterator.OfInt(IntStream.range(0, 1000).spliterator(), new PipelineMetrics()
+                    .stage("test"))).spliterator());
+    }
+
+    @Test
+    public void testSequential() {
+        PipelineMetrics metrics = new PipelineMetrics();
+        List<Integer> result = IntStreamEx.range(100).instrument(metrics, "source").filter(x -> x % 2 == 0)
+                .instrument(metrics, "filter").boxed().instrument(metrics, "boxed").toList();
+        assertEquals(50, result.size());
+        List<PipelineMetrics.Stage> stages = metrics.getStages();
+        assertEquals(3, stages.size());
+        assertEquals("source", stages.get(0).getName());
+        assertEquals(100, stages.get(0).getElementCount());
+        assertEquals(50, stages.get(1).getElementCount());
+        assertEquals(50, stages.get(2).getElementCount());
+        for (PipelineMetrics.Stage stage : stages) {
+            assertEquals(0, stage.getSplitCount());
+            assertEquals(1, stage.getElementsPerThread().size());
+        }
+        assertTrue(stages.get(2).getUpstreamNanos() >= stages.get(0).getUpstreamNanos());
+        assertTrue(metrics.toString().startsWith("source: elements=100, upstream="));
+        assertEquals(3, metrics.toString().split("\n").length);
+    }
+
+    @Test
+    public void testShortCircuit() {
+        PipelineMetrics metrics = new PipelineMetrics();
+        assertEquals(10, StreamEx.iterate(0, x -> x + 1).instrument(metrics, "source").map(x -> x * 2).instrument(
+            metrics, "map").findFirst(x -> x > 8).get().intValue());
+        assertEquals(6, metrics.getStages().get(0).getElementCount());
+        assertEquals(6, metrics.getStages().get(1).getElementCount());
+    }
+
+    @Test
+    public void testParallel() {
+        PipelineMetrics metrics = new PipelineMetrics();
+        withRandom(r -> {
+            List<Integer> input = IntStreamEx.of(r, 100000).boxed().toList();
+            assertEquals(StreamEx.of(input).map(x -> x / 2).toList(), StreamEx.of(input).parallel().instrument(
+                metrics, "source").map(x -> x / 2).instrument(metrics, "map").toList());
+        });
+        for (PipelineMetrics.Stage stage : metrics.getStages()) {
+            assertEquals(100000, stage.getElementCount());
+            assertTrue(stage.getSplitCount() > 0);
+            assertEquals(100000L, StreamEx.ofValues(stage.getElementsPerThread()).mapToLong(x -> x).sum());
+        }
+        PipelineMetrics longMetrics = new PipelineMetrics();
+        assertEquals(499500, LongStreamEx.range(1000).parallel().instrument(longMetrics, "long").sum());
+        assertEquals(1000, longMetrics.getStages().get(0).getElementCount());
+        PipelineMetrics doubleMetrics = new PipelineMetrics();
+        assertEquals(1000, DoubleStreamEx.constant(1.0, 1000).parallel().instrument(doubleMetrics, "double").sum(),
+            0.0);
+        assertEquals(1000, doubleMetrics.getStages().get(0).getElementCount());
+    }
+}
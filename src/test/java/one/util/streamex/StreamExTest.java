@@ -29,6 +29,8 @@ import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -390,6 +392,16 @@ public class StreamExTest {
         });
     }
 
+    @Test
+    public void testCountingBy() {
+        streamEx(() -> StreamEx.of("a", "bb", "dd", "ccc", "a"), supplier -> {
+            Map<Integer, Long> counts = supplier.get().countingBy(String::length);
+            assertEquals(EntryStream.of(1, 2L, 2, 2L, 3, 1L).toMap(), counts);
+            assertEquals(counts, supplier.get().groupingBy(String::length, Collectors.counting()));
+        });
+        assertTrue(StreamEx.empty().countingBy(x -> x).isEmpty());
+    }
+
     @Test
     public void testPartitioning() {
         Map<Boolean, List<String>> map = StreamEx.of("a", "bb", "c", "dd").partitioningBy(s -> s.length() > 1);
@@ -1259,6 +1271,120 @@ public class StreamExTest {
                 .counting()).maxBy(Function.identity()).get()));
     }
 
+    @Test
+    public void testChunked() {
+        List<Integer> input = IntStreamEx.range(1, 11).boxed().toList();
+        streamEx(input::stream, s -> assertEquals(asList(asList(1, 2, 3), asList(4, 5, 6), asList(7, 8, 9), asList(
+            10)), s.get().chunked(3).toList()));
+        streamEx(input::stream, s -> assertEquals(asList(input), s.get().chunked(10).toList()));
+        streamEx(input::stream, s -> assertEquals(asList(input), s.get().chunked(Integer.MAX_VALUE).toList()));
+        streamEx(Stream::empty, s -> assertEquals(Collections.emptyList(), s.get().chunked(5).toList()));
+        List<Integer> big = IntStreamEx.range(100000).boxed().toList();
+        streamEx(big::stream, s -> assertEquals(big, s.get().chunked(1000).peek(
+            chunk -> assertEquals(1000, chunk.size())).flatMap(List::stream).toList()));
+        assertEquals(asList(asList(1, 2), asList(3)), StreamEx.of(1, 2, 3).chunked(2).limit(5).toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChunkedIllegalSize() {
+        StreamEx.of(1, 2, 3).chunked(0);
+    }
+
+    @Test
+    public void testSample() {
+        List<Integer> input = IntStreamEx.range(100000).boxed().toList();
+        assertEquals(0, StreamEx.of(input).sample(0).count());
+        assertEquals(input, StreamEx.of(input).sample(1).toList());
+        assertEquals(input, StreamEx.of(input).parallel().sample(1).toList());
+        assertEquals(StreamEx.of(input).sample(0.3, new SplittableRandom(1)).toList(), StreamEx.of(input).sample(0.3,
+            new SplittableRandom(1)).toList());
+        for (double fraction : new double[] { 0.001, 0.1, 0.5, 0.9 }) {
+            // expected standard deviation is less than 160
+            long expected = Math.round(input.size() * fraction);
+            List<Integer> sample = StreamEx.of(input).sample(fraction, new SplittableRandom(1)).toList();
+            assertTrue(sample.size() + " vs " + expected, Math.abs(sample.size() - expected) < 800);
+            assertTrue(StreamEx.of(sample).pairMap((a, b) -> a < b).allMatch(Boolean::booleanValue));
+            List<Integer> parallel = StreamEx.of(input).parallel().sample(fraction, new SplittableRandom(1)).toList();
+            assertTrue(parallel.size() + " vs " + expected, Math.abs(parallel.size() - expected) < 800);
+            assertTrue(StreamEx.of(parallel).pairMap((a, b) -> a < b).allMatch(Boolean::booleanValue));
+            assertEquals(parallel.size(), StreamEx.of(input).parallel().sample(fraction, new SplittableRandom(1))
+                    .count());
+        }
+        int[] counts = new int[10];
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 10000; i++) {
+            IntStreamEx.range(10).boxed().sample(0.2, random).forEach(x -> counts[x]++);
+        }
+        // every element is expected to be selected 2000 times
+        IntStreamEx.of(counts).forEach(c -> assertTrue(String.valueOf(c), c > 1800 && c < 2200));
+        assertTrue(StreamEx.of(input).sample(0.5).limit(10).toList().size() == 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSampleIllegalFraction() {
+        StreamEx.of(1, 2, 3).sample(1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSampleNaN() {
+        StreamEx.of(1, 2, 3).sample(Double.NaN);
+    }
+
+    @Test
+    public void testWindow() {
+        List<Integer> input = IntStreamEx.range(1, 8).boxed().toList();
+        streamEx(input::stream, s -> assertEquals(asList(asList(1, 2, 3), asList(2, 3, 4), asList(3, 4, 5), asList(4,
+            5, 6), asList(5, 6, 7)), s.get().window(3, 1).toList()));
+        streamEx(input::stream, s -> assertEquals(asList(asList(1, 2, 3), asList(3, 4, 5), asList(5, 6, 7)), s.get()
+                .window(3, 2).toList()));
+        streamEx(input::stream, s -> assertEquals(asList(asList(1, 2), asList(5, 6)), s.get().window(2, 4).toList()));
+        streamEx(input::stream, s -> assertEquals(asList(input), s.get().window(10, 1).toList()));
+        streamEx(Stream::empty, s -> assertEquals(Collections.emptyList(), s.get().window(2, 1).toList()));
+        List<Integer> big = IntStreamEx.range(100000).boxed().toList();
+        streamEx(big::stream, s -> assertEquals(StreamEx.ofSubLists(big, 1000, 7).toList(), s.get().window(1000, 7)
+                .toList()));
+        assertEquals(asList(asList(1, 2), asList(2, 3)), StreamEx.iterate(1, x -> x + 1).window(2, 1).limit(2)
+                .toList());
+        List<Integer> window = StreamEx.of(1, 2, 3).window(2, 1).findFirst().get();
+        try {
+            window.set(0, 5);
+            fail("Window must be read-only");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWindowBy() {
+        List<Long> events = asList(1L, 2L, 5L, 9L, 10L, 11L, 25L);
+        Map<Long, List<Long>> tumbling = new LinkedHashMap<>();
+        tumbling.put(0L, asList(1L, 2L, 5L, 9L));
+        tumbling.put(10L, asList(10L, 11L));
+        tumbling.put(20L, asList(25L));
+        streamEx(events::stream, s -> assertEquals(tumbling, s.get().windowBy(x -> x, 10, 10).toCustomMap(
+            LinkedHashMap::new)));
+        Map<Long, List<Long>> sliding = new LinkedHashMap<>();
+        sliding.put(-5L, asList(1L, 2L));
+        sliding.put(0L, asList(1L, 2L, 5L, 9L));
+        sliding.put(5L, asList(5L, 9L, 10L, 11L));
+        sliding.put(10L, asList(10L, 11L));
+        sliding.put(20L, asList(25L));
+        sliding.put(25L, asList(25L));
+        streamEx(events::stream, s -> assertEquals(sliding, s.get().windowBy(x -> x, 10, 5).toCustomMap(
+            LinkedHashMap::new)));
+        assertEquals(Collections.emptyMap(), StreamEx.<Long> empty().windowBy(x -> x, 10, 5).toMap());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWindowByUnordered() {
+        StreamEx.of(1L, 3L, 2L).windowBy(x -> x, 10, 10).count();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowIllegalStep() {
+        StreamEx.of(1, 2, 3).window(2, 0);
+    }
+
     @Test
     public void testGroupRuns() {
         List<String> input = asList("aaa", "bb", "baz", "bar", "foo", "fee", "abc");
@@ -1725,6 +1851,61 @@ public class StreamExTest {
                 "\n")));
     }
 
+    @Test
+    public void testMapConcurrent() {
+        List<Integer> input = IntStreamEx.range(200).boxed().toList();
+        List<Integer> expected = StreamEx.of(input).map(x -> x * 2).toList();
+        streamEx(input::stream, s -> assertEquals(expected, s.get().mapConcurrent(8, x -> x * 2).toList()));
+        streamEx(input::stream, s -> assertEquals(new HashSet<>(expected), s.get().mapConcurrentUnordered(8,
+            x -> x * 2).toSet()));
+
+        AtomicInteger running = new AtomicInteger(), maxRunning = new AtomicInteger();
+        Function<Integer, Integer> slow = x -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(x % 3);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            running.decrementAndGet();
+            return x;
+        };
+        assertEquals(input, StreamEx.of(input).mapConcurrent(4, slow).toList());
+        assertTrue(maxRunning.get() <= 4);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            assertEquals(input, StreamEx.of(input).mapConcurrent(16, pool, x -> x).toList());
+            assertEquals(new HashSet<>(input), StreamEx.of(input).mapConcurrentUnordered(16, pool, slow).toSet());
+        } finally {
+            pool.shutdown();
+        }
+
+        // laziness: at most maxConcurrency elements are read ahead
+        AtomicInteger read = new AtomicInteger();
+        try (StreamEx<Integer> stream = StreamEx.of(input).peek(x -> read.incrementAndGet()).mapConcurrent(5,
+            x -> x)) {
+            assertEquals(asList(0, 1, 2), stream.limit(3).toList());
+        }
+        assertTrue(read.get() <= 8);
+
+        try {
+            StreamEx.of(input).mapConcurrent(4, x -> {
+                if (x == 100)
+                    throw new IllegalStateException("boom");
+                return x;
+            }).toList();
+            fail("no exception");
+        } catch (IllegalStateException e) {
+            assertEquals("boom", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapConcurrentIllegalArgument() {
+        StreamEx.of(1, 2, 3).mapConcurrent(0, x -> x);
+    }
+
     @Test
     public void testPeekFirst() {
         List<String> input = asList("A", "B", "C", "D");
@@ -1840,6 +2021,69 @@ public class StreamExTest {
                 .get().withFirst((a, b) -> a + "+" + (b - a)).toList()));
     }
 
+    @Test
+    public void testMergeJoin() {
+        List<String> left = asList("a1", "b1", "b2", "d1", "e1");
+        List<String> right = asList("b3", "b4", "c1", "d2");
+        Function<String, Character> first = str -> str.charAt(0);
+        Comparator<Character> natural = Comparator.naturalOrder();
+        BiFunction<String, String, String> concat = (a, b) -> a + "+" + b;
+        streamEx(left::stream, s -> {
+            assertEquals(asList("b1+b3", "b1+b4", "b2+b3", "b2+b4", "d1+d2"), s.get().mergeJoin(right.stream(),
+                first, first, natural, concat).toList());
+            assertEquals(asList("a1+null", "b1+b3", "b1+b4", "b2+b3", "b2+b4", "d1+d2", "e1+null"), s.get()
+                    .leftMergeJoin(right.stream(), first, first, natural, concat).toList());
+            assertEquals(asList("a1+null", "b1+b3", "b1+b4", "b2+b3", "b2+b4", "null+c1", "d1+d2", "e1+null"), s
+                    .get().outerMergeJoin(right.stream(), first, first, natural, concat).toList());
+        });
+        assertEquals(asList("null+x"), StreamEx.<String> empty().outerMergeJoin(Stream.of("x"), first, first,
+            natural, concat).toList());
+        assertEquals(Collections.emptyList(), StreamEx.<String> empty().leftMergeJoin(Stream.of("x"), first, first,
+            natural, concat).toList());
+
+        // streams of different types joined by the common key
+        List<Integer> codes = asList(98, 100, 102);
+        Function<Integer, Character> toChar = code -> (char) code.intValue();
+        BiFunction<String, Integer, String> pair = (str, code) -> str + "=" + code;
+        streamEx(left::stream, s -> {
+            assertEquals(asList("b1=98", "b2=98", "d1=100"), s.get().mergeJoin(codes.stream(), first, toChar,
+                natural, pair).toList());
+            assertEquals(asList("a1=null", "b1=98", "b2=98", "d1=100", "e1=null"), s.get().leftMergeJoin(codes
+                    .stream(), first, toChar, natural, pair).toList());
+            assertEquals(asList("a1=null", "b1=98", "b2=98", "d1=100", "e1=null", "null=102"), s.get()
+                    .outerMergeJoin(codes.stream(), first, toChar, natural, pair).toList());
+        });
+
+        AtomicInteger closed = new AtomicInteger();
+        StreamEx.of(1, 2).onClose(closed::incrementAndGet).mergeJoin(Stream.of(2).onClose(closed::incrementAndGet),
+            Function.identity(), Function.identity(), Integer::compare, Integer::sum).close();
+        assertEquals(2, closed.get());
+    }
+
+    @Test
+    public void testHashJoin() {
+        List<String> probe = asList("e1", "b1", "a1", "b2", "d1");
+        List<String> build = asList("b3", "d2", "c1", "b4");
+        streamEx(probe::stream, s -> {
+            assertEquals(asList("b1+b3", "b1+b4", "b2+b3", "b2+b4", "d1+d2"), s.get().hashJoin(build.stream(),
+                str -> str.charAt(0), str -> str.charAt(0)).join("+").toList());
+            assertEquals(asList("b1+b3", "b1+b4", "b2+b3", "b2+b4", "d1+d2"), s.get().hashJoin(build
+                    .parallelStream(), str -> str.charAt(0), str -> str.charAt(0)).join("+").toList());
+        });
+        assertEquals(Collections.emptyList(), StreamEx.of("a").hashJoin(Stream.<String> empty(), x -> x, x -> x)
+                .toList());
+        assertEquals(asList("a=1", "a=2"), StreamEx.of("a").hashJoin(StreamEx.of(1, 2), x -> x.length(), x -> 1)
+                .join("=").toList());
+        // infinite probe stream
+        assertEquals(asList(5, 10), StreamEx.iterate(1, x -> x + 1).hashJoin(Stream.of(5, 10, 99), x -> x, x -> x)
+                .keys().limit(2).toList());
+
+        AtomicInteger closed = new AtomicInteger();
+        StreamEx.of(1, 2).onClose(closed::incrementAndGet).hashJoin(Stream.of(2).onClose(closed::incrementAndGet),
+            x -> x, x -> x).close();
+        assertEquals(2, closed.get());
+    }
+
     @Test
     public void testZipWith() {
         List<String> input = asList("John", "Mary", "Jane", "Jimmy");
@@ -1938,6 +2182,19 @@ public class StreamExTest {
 
         streamEx(() -> IntStreamEx.range(10000).boxed().unordered(), s -> assertEquals(49995000, s.get().prefix(
             Integer::sum).mapToInt(Integer::intValue).max().getAsInt()));
+
+        List<Integer> expected = IntStreamEx.range(100000).boxed().prefix(Integer::sum).toList();
+        streamEx(() -> IntStreamEx.range(100000).boxed(), s -> assertEquals(expected, s.get().parallelPrefix(
+            Integer::sum).toList()));
+        assertEquals(asList(1, 2, 3, 4), StreamEx.iterate(1, x -> x).parallel().parallelPrefix(Integer::sum).limit(4)
+                .toList());
+        assertEquals(asList(null, null), StreamEx.of(null, null).parallel().parallelPrefix((a, b) -> a).toList());
+
+        // prefix must stay lazy for short-circuiting terminal operations
+        AtomicInteger pulled = new AtomicInteger();
+        assertEquals(asList(0, 1, 3), IntStreamEx.range(5_000_000).boxed().parallel().peek(x -> pulled
+                .incrementAndGet()).prefix(Integer::sum).limit(3).toList());
+        assertTrue(String.valueOf(pulled.get()), pulled.get() < 100_000);
     }
 
     /**
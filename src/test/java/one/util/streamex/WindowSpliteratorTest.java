@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015, 2017 StreamEx contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package one.util.streamex;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Spliterator;
+
+import org.junit.Test;
+
+import static one.util.streamex.TestHelpers.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author Tagir Valeev
+ */
+public class WindowSpliteratorTest {
+    private static List<Entry<Long, List<Integer>>> expectedTime(List<Integer> input, long width, long slide) {
+        List<Entry<Long, List<Integer>>> result = new ArrayList<>();
+        if (input.isEmpty())
+            return result;
+        long first = Math.floorDiv(input.get(0) - width, slide) * slide;
+        for (long start = first; start <= input.get(input.size() - 1); start += slide) {
+            long s = start;
+            List<Integer> window = StreamEx.of(input).filter(x -> x >= s && x < s + width).toList();
+            if (!window.isEmpty())
+                result.add(new SimpleImmutableEntry<>(start, window));
+        }
+        return result;
+    }
+
+    @Test
+    public void testCount() {
+        for (int size : new int[] { 1, 2, 3, 7, 10, 1000 }) {
+            for (int step : new int[] { 1, 2, 3, 5, 7, 11, 2000 }) {
+                for (int count : new int[] { 0, 1, 5, 10, 99, 1000 }) {
+                    List<Integer> input = IntStreamEx.range(count).boxed().toList();
+                    List<List<Integer>> expected = count == 0 ? new ArrayList<>() : StreamEx.ofSubLists(input, size,
+                        step).toList();
+                    String msg = count + "/" + size + "/" + step;
+                    checkSpliterator("sized " + msg, expected, () -> new WindowSpliterator.OfCount<>(input
+                            .spliterator(), size, step));
+                    checkSpliterator("unsized " + msg, expected, () -> new WindowSpliterator.OfCount<>(input
+                            .stream().filter(x -> true).spliterator(), size, step));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTime() {
+        withRandom(r -> {
+            for (int count : new int[] { 0, 1, 5, 100, 1000 }) {
+                List<Integer> input = IntStreamEx.of(r, count, -500, 500).sorted().boxed().toList();
+                for (long[] ws : new long[][] { { 1, 1 }, { 10, 10 }, { 10, 3 }, { 3, 10 }, { 100, 1 } }) {
+                    checkSpliterator("time " + count + "/" + ws[0] + "/" + ws[1], expectedTime(input, ws[0], ws[1]),
+                        () -> new WindowSpliterator.OfTime<>(input.spliterator(), x -> x, ws[0], ws[1]));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testSplitOverlap() {
+        List<Integer> input = IntStreamEx.range(100).boxed().toList();
+        Spliterator<List<Integer>> spliterator = new WindowSpliterator.OfCount<>(input.spliterator(), 10, 3);
+        Spliterator<List<Integer>> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        List<List<Integer>> result = new ArrayList<>();
+        prefix.forEachRemaining(result::add);
+        // ArrayList splits at 50: the prefix emits windows starting before 50
+        assertEquals(48, result.get(result.size() - 1).get(0).intValue());
+        spliterator.forEachRemaining(result::add);
+        assertEquals(StreamEx.ofSubLists(input, 10, 3).toList(), result);
+    }
+}